@@ -0,0 +1,126 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
+import com.bm_nttdata.report_ms.model.ReportView;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark del cálculo de saldos promedio de las cuentas de un cliente, tal como lo hace
+ * {@code calculateAccountBalances}: un promedio por cuenta y la agrupación por tipo de cuenta.
+ * Compara el núcleo de agregación sobre la serie de montos sin escala, sobre la lista de
+ * objetos {@code DailyBalanceDto} y la reducción de BigDecimal sobre streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceAggregationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int accounts;
+
+    private List<AccountDto> accountList;
+    private List<List<DailyBalanceDto>> dailyBalances;
+    private List<DailyBalanceSeries> dailyBalanceSeries;
+    private BalanceReportMapper mapper;
+    private AggregationKernel aggregationKernel;
+
+    /**
+     * Genera las cuentas y sus saldos diarios.
+     */
+    @Setup
+    public void setUp() {
+        mapper = ReportBenchmarkData.balanceReportMapper();
+        aggregationKernel = ReportBenchmarkData.aggregationKernel();
+        accountList = ReportBenchmarkData.accounts(accounts);
+        dailyBalances = new ArrayList<>(accounts);
+        dailyBalanceSeries = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            dailyBalances.add(ReportBenchmarkData.dailyBalances(i));
+            dailyBalanceSeries.add(ReportBenchmarkData.dailyBalanceSeries(i));
+        }
+    }
+
+    /**
+     * Construcción de los saldos de las cuentas, con sus promedios y métricas, y
+     * agrupación por tipo de cuenta.
+     *
+     * @return saldos agrupados por tipo de cuenta
+     */
+    @Benchmark
+    public DailyBalanceReportDtoAccounts accountBalances() {
+        List<AccountBalanceDto> balances = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            AccountDto account = accountList.get(i);
+            balances.add(mapper.toAccountBalance(account,
+                    AccountBalanceDto.AccountTypeEnum.fromValue(account.getAccountType()),
+                    dailyBalanceSeries.get(i), ReportView.FULL));
+        }
+        return mapper.toAccountBalances(balances);
+    }
+
+    /**
+     * Promedios con el núcleo de agregación sobre la serie de montos sin escala.
+     *
+     * @param blackhole consumidor de los resultados
+     */
+    @Benchmark
+    public void aggregationKernel(Blackhole blackhole) {
+        for (int i = 0; i < accounts; i++) {
+            blackhole.consume(aggregationKernel.average(dailyBalanceSeries.get(i)));
+        }
+    }
+
+    /**
+     * Promedios con el núcleo de agregación sobre la lista de objetos de saldo diario.
+     *
+     * @param blackhole consumidor de los resultados
+     */
+    @Benchmark
+    public void aggregationKernelObjects(Blackhole blackhole) {
+        for (int i = 0; i < accounts; i++) {
+            blackhole.consume(aggregationKernel.average(
+                    dailyBalances.get(i), DailyBalanceDto::getBalanceAmount));
+        }
+    }
+
+    /**
+     * Promedios con reducción de BigDecimal sobre streams, como referencia.
+     *
+     * @param blackhole consumidor de los resultados
+     */
+    @Benchmark
+    public void bigDecimalStreams(Blackhole blackhole) {
+        for (int i = 0; i < accounts; i++) {
+            List<DailyBalanceDto> balances = dailyBalances.get(i);
+            BigDecimal total = balances.stream()
+                    .map(DailyBalanceDto::getBalanceAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            blackhole.consume(total.divide(
+                    BigDecimal.valueOf(balances.size()), 2, RoundingMode.HALF_EVEN));
+        }
+    }
+}
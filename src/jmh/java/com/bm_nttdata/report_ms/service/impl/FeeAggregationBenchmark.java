@@ -0,0 +1,97 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.aggregation.MoneyAccumulator;
+import com.bm_nttdata.report_ms.config.FeeCollectionProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark de la agrupación de cuentas por tipo y del cálculo de totales del reporte
+ * de comisiones bancarias, sin las llamadas al microservicio de cuentas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeeAggregationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int accounts;
+
+    @Param({"5", "20"})
+    private int feesPerAccount;
+
+    private List<AccountDto> accountList;
+    private Map<String, List<FeeDetailDto>> fees;
+    private AggregationKernel aggregationKernel;
+    private FeeCollectionEngine engine;
+
+    /**
+     * Genera las cuentas y sus comisiones.
+     */
+    @Setup
+    public void setUp() {
+        aggregationKernel = ReportBenchmarkData.aggregationKernel();
+        engine = new FeeCollectionEngine(
+                null, null, new FeeCollectionProperties(), aggregationKernel);
+        accountList = ReportBenchmarkData.accounts(accounts);
+        fees = new HashMap<>();
+        for (int i = 0; i < accounts; i++) {
+            fees.put(accountList.get(i).getId(), ReportBenchmarkData.fees(i, feesPerAccount));
+        }
+    }
+
+    /**
+     * Agrupa las cuentas por tipo, calcula el total de cada cuenta y el total del reporte.
+     *
+     * @param blackhole consumidor de los resultados
+     */
+    @Benchmark
+    public void groupAndTotal(Blackhole blackhole) {
+        MoneyAccumulator totalFeeAmount = aggregationKernel.accumulator();
+        int totalNumberOfFees = 0;
+        for (Map.Entry<AccountFeeDto.AccountTypeEnum, List<AccountDto>> entry
+                : engine.groupByType(accountList, (account, type) -> account).entrySet()) {
+            List<AccountFeeDto> accountFees = new ArrayList<>(entry.getValue().size());
+            for (AccountDto account : entry.getValue()) {
+                List<FeeDetailDto> feeList = fees.get(account.getId());
+                AccountFeeDto accountFee = new AccountFeeDto()
+                        .accountId(account.getId())
+                        .accountType(entry.getKey())
+                        .customerId(account.getCustomerId())
+                        .feeDetails(feeList)
+                        .numberOfFees(feeList.size())
+                        .totalFees(aggregationKernel.sum(feeList, FeeDetailDto::getFeeAmount));
+                accountFees.add(accountFee);
+                totalNumberOfFees += accountFee.getNumberOfFees();
+                for (FeeDetailDto fee : feeList) {
+                    totalFeeAmount.add(fee.getFeeAmount());
+                }
+            }
+            blackhole.consume(accountFees);
+        }
+        blackhole.consume(totalFeeAmount.sum());
+        blackhole.consume(totalNumberOfFees);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos sintéticos para los benchmarks del reporte.
+ * Genera cuentas repartidas entre los cinco tipos de cuenta, entre 28 y 31 saldos diarios
+ * por producto y un número fijo de comisiones por cuenta. Los datos son deterministas para
+ * que las ejecuciones sean comparables entre sí.
+ */
+final class ReportBenchmarkData {
+
+    static final LocalDate MONTH = LocalDate.of(2024, 1, 1);
+
+    private static final AccountFeeDto.AccountTypeEnum[] ACCOUNT_TYPES =
+            AccountFeeDto.AccountTypeEnum.values();
+
+    private ReportBenchmarkData() {
+    }
+
+    static AggregationKernel aggregationKernel() {
+        return new AggregationKernel(new AggregationProperties());
+    }
+
+    static BalanceReportMapper balanceReportMapper() {
+        return new BalanceReportMapper(
+                aggregationKernel(), new ReportMetrics(new SimpleMeterRegistry()));
+    }
+
+    static CustomerDto customer() {
+        CustomerDto customer = new CustomerDto();
+        customer.setId("customer-1");
+        customer.setName("Benchmark Customer");
+        customer.setCustomerType("PERSONAL");
+        return customer;
+    }
+
+    static List<AccountDto> accounts(int count) {
+        List<AccountDto> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AccountDto account = new AccountDto();
+            account.setId("account-" + i);
+            account.setCustomerId("customer-" + (i % 50));
+            account.setAccountType(ACCOUNT_TYPES[i % ACCOUNT_TYPES.length].getValue());
+            account.setAccountNumber(String.format("%020d", i));
+            account.setBalance(BigDecimal.valueOf(1000 + i));
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    static List<DailyBalanceDto> dailyBalances(int seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int days = 28 + seed % 4;
+        List<DailyBalanceDto> balances = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            balances.add(new DailyBalanceDto()
+                    .balanceDate(MONTH.plusDays(day))
+                    .balanceAmount(BigDecimal.valueOf(random.nextLong(1_000_000_00L), 2)));
+        }
+        return balances;
+    }
+
+    static DailyBalanceSeries dailyBalanceSeries(int seed) {
+        return DailyBalanceSeries.of(dailyBalances(seed));
+    }
+
+    static List<FeeDetailDto> fees(int seed, int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        FeeDetailDto.FeeTypeEnum[] feeTypes = FeeDetailDto.FeeTypeEnum.values();
+        List<FeeDetailDto> fees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            fees.add(new FeeDetailDto()
+                    .operationType("WITHDRAWAL")
+                    .date(MONTH.plusDays(i % 28))
+                    .feeType(feeTypes[i % feeTypes.length])
+                    .feeAmount(BigDecimal.valueOf(random.nextLong(1, 5000), 2)));
+        }
+        return fees;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.config.ResponseFormatConfig;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark de la serialización de los reportes con un ObjectMapper configurado como el
+ * de la aplicación, en cada formato de respuesta (JSON, CBOR y Smile) y con o sin
+ * compresión gzip, con y sin los saldos diarios de cada producto. Al terminar cada
+ * combinación se imprime el tamaño de los reportes serializados, para comparar el costo
+ * de CPU con los bytes enviados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int products;
+
+    @Param({"1000"})
+    private int feeAccounts;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private String format;
+
+    @Param({"NONE", "GZIP"})
+    private String compression;
+
+    @Param({"FULL", "SUMMARY"})
+    private String view;
+
+    private ObjectMapper objectMapper;
+    private DailyBalanceReportDto dailyBalanceReport;
+    private BankFeeReportDto bankFeeReport;
+
+    /**
+     * Construye los reportes a serializar.
+     */
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new ResponseFormatConfig().dailyBalanceProjectionCustomizer().customize(builder);
+        objectMapper = switch (format) {
+            case "CBOR" -> builder.factory(new CBORFactory()).build();
+            case "SMILE" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        BalanceReportMapper mapper = ReportBenchmarkData.balanceReportMapper();
+
+        List<AccountBalanceDto> balances = new ArrayList<>(products);
+        List<AccountDto> accounts = ReportBenchmarkData.accounts(products);
+        for (int i = 0; i < products; i++) {
+            AccountDto account = accounts.get(i);
+            balances.add(mapper.toAccountBalance(account,
+                    AccountBalanceDto.AccountTypeEnum.fromValue(account.getAccountType()),
+                    ReportBenchmarkData.dailyBalanceSeries(i), ReportView.valueOf(view)));
+        }
+        dailyBalanceReport = mapper.toReport("customer-1", ReportBenchmarkData.MONTH,
+                ReportBenchmarkData.customer(), mapper.toAccountBalances(balances),
+                List.of(), List.of());
+
+        BankFeeReportDtoAccountFees accountFees = new BankFeeReportDtoAccountFees();
+        accountFees.setSavings(new ArrayList<>());
+        accountFees.setChecking(new ArrayList<>());
+        accountFees.setFixedTerm(new ArrayList<>());
+        accountFees.setSavingsVip(new ArrayList<>());
+        accountFees.setCheckingPyme(new ArrayList<>());
+        BigDecimal total = BigDecimal.ZERO;
+        int totalFees = 0;
+        for (AccountDto account : ReportBenchmarkData.accounts(feeAccounts)) {
+            List<FeeDetailDto> fees = ReportBenchmarkData.fees(account.hashCode(), 5);
+            AccountFeeDto accountFee = new AccountFeeDto()
+                    .accountId(account.getId())
+                    .accountType(AccountFeeDto.AccountTypeEnum.fromValue(account.getAccountType()))
+                    .customerId(account.getCustomerId())
+                    .feeDetails(fees)
+                    .numberOfFees(fees.size())
+                    .totalFees(fees.stream()
+                            .map(FeeDetailDto::getFeeAmount)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add));
+            switch (accountFee.getAccountType()) {
+                case SAVINGS -> accountFees.getSavings().add(accountFee);
+                case CHECKING -> accountFees.getChecking().add(accountFee);
+                case FIXED_TERM -> accountFees.getFixedTerm().add(accountFee);
+                case SAVINGS_VIP -> accountFees.getSavingsVip().add(accountFee);
+                default -> accountFees.getCheckingPyme().add(accountFee);
+            }
+            total = total.add(accountFee.getTotalFees());
+            totalFees += fees.size();
+        }
+        bankFeeReport = new BankFeeReportDto()
+                .startDate(ReportBenchmarkData.MONTH)
+                .endDate(ReportBenchmarkData.MONTH.plusDays(30))
+                .accountFees(accountFees)
+                .totalFeesAmount(total)
+                .totalFeesNumber(totalFees);
+    }
+
+    /**
+     * Imprime el tamaño de los reportes serializados en el formato y la compresión medidos.
+     *
+     * @throws IOException si falla la serialización
+     */
+    @TearDown
+    public void printSizes() throws IOException {
+        System.out.printf("%n%s/%s products=%d view=%s: dailyBalanceReport=%d bytes, "
+                        + "bankFeeReport=%d bytes%n", format, compression, products, view,
+                serialize(dailyBalanceReport).length, serialize(bankFeeReport).length);
+    }
+
+    /**
+     * Serializa el reporte de saldos diarios.
+     *
+     * @return reporte serializado
+     * @throws IOException si falla la serialización
+     */
+    @Benchmark
+    public byte[] dailyBalanceReport() throws IOException {
+        return serialize(dailyBalanceReport);
+    }
+
+    /**
+     * Serializa el reporte de comisiones bancarias.
+     *
+     * @return reporte serializado
+     * @throws IOException si falla la serialización
+     */
+    @Benchmark
+    public byte[] bankFeeReport() throws IOException {
+        return serialize(bankFeeReport);
+    }
+
+    private byte[] serialize(Object report) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = "GZIP".equals(compression)
+                ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, report);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,281 @@
+package com.bm_nttdata.report_ms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Servidor local que reemplaza a account-ms, credit-ms y customer-ms durante la prueba
+ * de carga. Implementa los endpoints usados por {@code AccountClient}, {@code CreditClient}
+ * y {@code CustomerClient} con datos sintéticos deterministas. Cada respuesta se retrasa
+ * según el modelo de latencia sin ocupar un hilo durante la espera, y una proporción
+ * configurable de respuestas devuelve un error 503.
+ */
+final class DownstreamStubServer implements AutoCloseable {
+
+    private static final String[] ACCOUNT_TYPES =
+        {"SAVINGS", "CHECKING", "FIXED_TERM", "SAVINGS_VIP", "CHECKING_PYME"};
+    private static final String[] FEE_TYPES =
+        {"MAINTENANCE_FEE", "TRANSACTION_EXCESS", "LATE_PAYMENT"};
+
+    private static final Pattern CUSTOMER = Pattern.compile("/customers/([^/]+)");
+    private static final Pattern DAILY_BALANCE =
+            Pattern.compile("/(accounts|credits|credit-cards)/([^/]+)/daily-balance");
+    private static final Pattern DAILY_BALANCE_BATCH =
+            Pattern.compile("/(accounts|credits|credit-cards)/daily-balance/batch");
+    private static final Pattern FEES = Pattern.compile("/accounts/([^/]+)/fees");
+
+    private final LoadTestConfig config;
+    private final LatencyModel latency;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newFixedThreadPool(8);
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(4);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    DownstreamStubServer(LoadTestConfig config) throws IOException {
+        this.config = config;
+        this.latency = new LatencyModel(config.latencyMedian, config.latencyP99);
+        this.server = HttpServer.create(
+                new InetSocketAddress("127.0.0.1", config.stubPort), 4096);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(handlers);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) {
+        requests.incrementAndGet();
+        long delay = latency.nextNanos();
+        if (ThreadLocalRandom.current().nextDouble() < config.errorRate) {
+            errors.incrementAndGet();
+            responder.schedule(() -> respond(exchange, 503, "{\"error\":\"injected\"}"),
+                    delay, TimeUnit.NANOSECONDS);
+            return;
+        }
+        Object body;
+        int status = 200;
+        try {
+            body = route(exchange);
+            if (body == null) {
+                status = 404;
+                body = Map.of("error", "not found");
+            }
+        } catch (Exception e) {
+            status = 400;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        }
+        try {
+            String json = objectMapper.writeValueAsString(body);
+            int finalStatus = status;
+            responder.schedule(() -> respond(exchange, finalStatus, json),
+                    delay, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            respond(exchange, 500, "{}");
+        }
+    }
+
+    private Object route(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        String path = uri.getPath();
+        Map<String, String> query = query(uri.getRawQuery());
+        Matcher matcher;
+
+        if ("POST".equals(exchange.getRequestMethod())) {
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = objectMapper.readTree(in);
+            }
+            List<String> ids = new ArrayList<>();
+            request.path("ids").forEach(id -> ids.add(id.asText()));
+            Map<String, Object> results = new LinkedHashMap<>();
+            if (DAILY_BALANCE_BATCH.matcher(path).matches()) {
+                LocalDate month = LocalDate.parse(request.path("searchMonth").asText());
+                ids.forEach(id -> results.put(id, dailyBalances(id, month)));
+                return results;
+            }
+            if ("/accounts/fees/batch".equals(path)) {
+                LocalDate start = LocalDate.parse(request.path("startDate").asText());
+                LocalDate end = LocalDate.parse(request.path("endDate").asText());
+                ids.forEach(id -> results.put(id, fees(id, start, end)));
+                return results;
+            }
+            return null;
+        }
+
+        if ((matcher = CUSTOMER.matcher(path)).matches()) {
+            return Map.of("id", matcher.group(1), "name", "Customer " + matcher.group(1),
+                    "customerType", "PERSONAL", "documentNumber", matcher.group(1));
+        }
+        if ((matcher = DAILY_BALANCE.matcher(path)).matches()) {
+            return dailyBalances(matcher.group(2), LocalDate.parse(query.get("searchMonth")));
+        }
+        if ((matcher = FEES.matcher(path)).matches()) {
+            return fees(matcher.group(1), LocalDate.parse(query.get("startDate")),
+                    LocalDate.parse(query.get("endDate")));
+        }
+        switch (path) {
+            case "/accounts":
+                return accounts(query.get("customerId"), config.accountsPerCustomer);
+            case "/accounts/by-status":
+                return accounts("active", config.activeAccounts);
+            case "/accounts/by-status/page":
+                return activeAccountsPage(query.get("after"), Integer.parseInt(query.get("limit")));
+            case "/credits":
+                return credits(query.get("customerId"));
+            case "/credit-cards":
+                return creditCards(query.get("customerId"));
+            default:
+                return null;
+        }
+    }
+
+    private List<Map<String, Object>> accounts(String customerId, int count) {
+        List<Map<String, Object>> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(account(customerId, i));
+        }
+        return accounts;
+    }
+
+    private Map<String, Object> activeAccountsPage(String after, int limit) {
+        int start = after == null
+                ? 0 : Integer.parseInt(after.substring(after.indexOf("-a") + 2)) + 1;
+        int end = Math.min(config.activeAccounts, start + limit);
+        List<Map<String, Object>> accounts = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            accounts.add(account("active", i));
+        }
+        Map<String, Object> page = new HashMap<>();
+        page.put("accounts", accounts);
+        page.put("nextCursor", end < config.activeAccounts ? "active-a" + (end - 1) : null);
+        return page;
+    }
+
+    private static Map<String, Object> account(String customerId, int i) {
+        Map<String, Object> account = new HashMap<>();
+        account.put("id", customerId + "-a" + i);
+        account.put("customerId", customerId);
+        account.put("accountType", ACCOUNT_TYPES[i % ACCOUNT_TYPES.length]);
+        account.put("accountNumber", String.format("%014d", i));
+        account.put("balance", BigDecimal.valueOf(1000 + i));
+        return account;
+    }
+
+    private List<Map<String, Object>> credits(String customerId) {
+        List<Map<String, Object>> credits = new ArrayList<>();
+        for (int i = 0; i < config.creditsPerCustomer; i++) {
+            credits.add(Map.of("id", customerId + "-cr" + i, "customerId", customerId,
+                    "creditType", "PERSONAL", "amount", BigDecimal.valueOf(10000),
+                    "balance", BigDecimal.valueOf(5000), "status", "ACTIVE"));
+        }
+        return credits;
+    }
+
+    private List<Map<String, Object>> creditCards(String customerId) {
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (int i = 0; i < config.cardsPerCustomer; i++) {
+            cards.add(Map.of("id", customerId + "-cc" + i, "customerId", customerId,
+                    "cardType", "PERSONAL_CREDIT_CARD", "cardNumber", "4111" + i,
+                    "creditLimit", BigDecimal.valueOf(5000),
+                    "availableCredit", BigDecimal.valueOf(2500), "status", "ACTIVE"));
+        }
+        return cards;
+    }
+
+    private List<Map<String, Object>> dailyBalances(String productId, LocalDate month) {
+        LocalDate first = month.withDayOfMonth(1);
+        int days = first.lengthOfMonth();
+        long seed = productId.hashCode();
+        List<Map<String, Object>> balances = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            long cents = Math.floorMod(seed * 31 + day, 1_000_000L);
+            balances.add(Map.of("balanceDate", first.plusDays(day).toString(),
+                    "balanceAmount", BigDecimal.valueOf(cents, 2)));
+        }
+        return balances;
+    }
+
+    private List<Map<String, Object>> fees(String accountId, LocalDate start, LocalDate end) {
+        long days = Math.max(1, end.toEpochDay() - start.toEpochDay() + 1);
+        List<Map<String, Object>> fees = new ArrayList<>(config.feesPerAccount);
+        for (int i = 0; i < config.feesPerAccount; i++) {
+            long cents = 100 + Math.floorMod(accountId.hashCode() + i, 400);
+            fees.add(Map.of("operationType", "WITHDRAWAL",
+                    "date", start.plusDays(i % days).toString(),
+                    "feeType", FEE_TYPES[i % FEE_TYPES.length],
+                    "feeAmount", BigDecimal.valueOf(cents, 2)));
+        }
+        return fees;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(pair.substring(0, separator), java.net.URLDecoder.decode(
+                        pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // El cliente cerró la conexión; no afecta a la prueba.
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bm_nttdata.report_ms.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribución log-normal de latencias definida por su mediana y su percentil 99.
+ * Reproduce la cola larga típica de los microservicios reales: la mayoría de las respuestas
+ * se acercan a la mediana y una pequeña parte tarda mucho más.
+ */
+final class LatencyModel {
+
+    private static final double Z_99 = 2.326;
+
+    private final double mu;
+    private final double sigma;
+
+    LatencyModel(Duration median, Duration p99) {
+        double medianNanos = Math.max(1, median.toNanos());
+        double p99Nanos = Math.max(medianNanos, p99.toNanos());
+        this.mu = Math.log(medianNanos);
+        this.sigma = Math.log(p99Nanos / medianNanos) / Z_99;
+    }
+
+    /**
+     * Obtiene una latencia aleatoria de la distribución.
+     *
+     * @return latencia en nanosegundos
+     */
+    long nextNanos() {
+        return (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+}
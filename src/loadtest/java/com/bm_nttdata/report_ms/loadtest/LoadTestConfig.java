@@ -0,0 +1,99 @@
+package com.bm_nttdata.report_ms.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de una ejecución de la prueba de carga.
+ * Se construye a partir de argumentos {@code clave=valor}; las claves no indicadas toman
+ * los valores por defecto.
+ */
+final class LoadTestConfig {
+
+    /** Escenario: balance, fees o mixed. */
+    final String scenario;
+    /** Solicitudes por segundo que se intentan enviar. */
+    final int rate;
+    /** Duración de la fase de medición. */
+    final Duration duration;
+    /** Duración del calentamiento, cuyas mediciones se descartan. */
+    final Duration warmup;
+    /** Máximo de solicitudes en curso; las que lo exceden se cuentan como descartadas. */
+    final int maxInFlight;
+    /** URL base de report-ms; si está vacía se inicia report-ms en este mismo proceso. */
+    final String target;
+    /** Puerto de report-ms cuando se inicia en este proceso. */
+    final int reportPort;
+    /** Puerto de los stubs de los microservicios. */
+    final int stubPort;
+
+    /** Número de clientes distintos consultados en el escenario de saldos. */
+    final int customers;
+    /** Cuentas por cliente. */
+    final int accountsPerCustomer;
+    /** Créditos por cliente. */
+    final int creditsPerCustomer;
+    /** Tarjetas de crédito por cliente. */
+    final int cardsPerCustomer;
+    /** Cuentas activas devueltas al reporte de comisiones. */
+    final int activeAccounts;
+    /** Comisiones por cuenta en el periodo del reporte de comisiones. */
+    final int feesPerAccount;
+
+    /** Latencia mediana de los stubs. */
+    final Duration latencyMedian;
+    /** Percentil 99 de la latencia de los stubs, que define la cola larga. */
+    final Duration latencyP99;
+    /** Proporción de respuestas de error de los stubs, entre 0 y 1. */
+    final double errorRate;
+
+    private LoadTestConfig(Map<String, String> values) {
+        scenario = values.getOrDefault("scenario", "mixed");
+        rate = Integer.parseInt(values.getOrDefault("rate", "50"));
+        duration = Duration.parse("PT" + values.getOrDefault("duration", "60s"));
+        warmup = Duration.parse("PT" + values.getOrDefault("warmup", "10s"));
+        maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", "2000"));
+        target = values.getOrDefault("target", "");
+        reportPort = Integer.parseInt(values.getOrDefault("report-port", "18085"));
+        stubPort = Integer.parseInt(values.getOrDefault("stub-port", "18099"));
+        customers = Integer.parseInt(values.getOrDefault("customers", "1000"));
+        accountsPerCustomer = Integer.parseInt(values.getOrDefault("accounts-per-customer", "5"));
+        creditsPerCustomer = Integer.parseInt(values.getOrDefault("credits-per-customer", "2"));
+        cardsPerCustomer = Integer.parseInt(values.getOrDefault("cards-per-customer", "2"));
+        activeAccounts = Integer.parseInt(values.getOrDefault("active-accounts", "200"));
+        feesPerAccount = Integer.parseInt(values.getOrDefault("fees-per-account", "5"));
+        latencyMedian = Duration.parse("PT" + values.getOrDefault("latency-median", "0.020s"));
+        latencyP99 = Duration.parse("PT" + values.getOrDefault("latency-p99", "0.200s"));
+        errorRate = Double.parseDouble(values.getOrDefault("error-rate", "0.0"));
+    }
+
+    /**
+     * Construye la configuración a partir de los argumentos de la línea de comandos.
+     *
+     * @param args argumentos {@code clave=valor}; también se aceptan con prefijo {@code --}
+     * @return configuración de la prueba
+     */
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument: " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    @Override
+    public String toString() {
+        return "scenario=" + scenario + ", rate=" + rate + "/s, duration=" + duration
+                + ", warmup=" + warmup + ", customers=" + customers
+                + ", products/customer=" + accountsPerCustomer + "+" + creditsPerCustomer
+                + "+" + cardsPerCustomer + ", activeAccounts=" + activeAccounts
+                + ", fees/account=" + feesPerAccount + ", latency p50=" + latencyMedian
+                + " p99=" + latencyP99 + ", errorRate=" + errorRate;
+    }
+}
@@ -0,0 +1,114 @@
+package com.bm_nttdata.report_ms.loadtest;
+
+import com.bm_nttdata.report_ms.ReportMsApplication;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.LongFunction;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Prueba de carga de extremo a extremo de report-ms.
+ * Levanta stubs locales de account-ms, credit-ms y customer-ms con latencias y errores
+ * configurables, inicia report-ms en el mismo proceso apuntando a ellos (o usa una instancia
+ * externa indicada con {@code target}), y genera carga de lazo abierto sobre los reportes de
+ * saldos promedio y de comisiones. Al terminar muestra el throughput y las latencias
+ * p50/p99/p99.9 de la fase de medición.
+ *
+ * <p>Uso: {@code mvn -Ploadtest verify -Dloadtest.args="rate=100 duration=60s"}.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    /**
+     * Punto de entrada de la prueba de carga.
+     *
+     * @param args argumentos {@code clave=valor}, ver {@link LoadTestConfig}
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        ConfigurableApplicationContext application = null;
+        try (DownstreamStubServer stub = new DownstreamStubServer(config)) {
+            stub.start();
+            String target = config.target;
+            if (target.isEmpty()) {
+                application = startReportService(config, stub.baseUrl());
+                target = "http://127.0.0.1:" + config.reportPort;
+            }
+
+            LongFunction<URI> requests = requests(config, target + "/api/v1");
+            OpenLoopDriver driver = new OpenLoopDriver(config.maxInFlight, Duration.ofSeconds(30));
+            if (!config.warmup.isZero()) {
+                print("warmup", driver.run(config.rate, config.warmup, requests));
+            }
+            long stubRequests = stub.requests();
+            long stubErrors = stub.errors();
+            OpenLoopDriver.Result result = driver.run(config.rate, config.duration, requests);
+            print("measurement", result);
+            System.out.printf(Locale.ROOT, "downstream calls: %d (%.1f per report), "
+                            + "injected errors: %d%n",
+                    stub.requests() - stubRequests,
+                    (stub.requests() - stubRequests)
+                            / (double) Math.max(1, result.latencies().getTotalCount()),
+                    stub.errors() - stubErrors);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startReportService(
+            LoadTestConfig config, String stubUrl) {
+
+        return new SpringApplicationBuilder(ReportMsApplication.class)
+                .properties(
+                        "server.port=" + config.reportPort,
+                        "spring.config.import=",
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        "account-service.url=" + stubUrl,
+                        "credit-service.url=" + stubUrl,
+                        "customer-service.url=" + stubUrl,
+                        "report.fees.rollup.directory=target/loadtest/fee-rollups",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    /**
+     * Genera las solicitudes del escenario. En el escenario mixto se alternan nueve reportes
+     * de saldos por cada reporte de comisiones, que es mucho más costoso.
+     */
+    private static LongFunction<URI> requests(LoadTestConfig config, String baseUrl) {
+        LocalDate month = LocalDate.now().minusMonths(1).withDayOfMonth(1);
+        LocalDate feesEnd = LocalDate.now().minusDays(1);
+        LocalDate feesStart = feesEnd.minusDays(29);
+        LongFunction<URI> balance = i -> URI.create(baseUrl + "/reports/customers/c"
+                + (i % config.customers) + "/average-balances?month=" + month);
+        LongFunction<URI> fees = i -> URI.create(baseUrl + "/reports/bank-fees?startDate="
+                + feesStart + "&endDate=" + feesEnd);
+        return switch (config.scenario) {
+            case "balance" -> balance;
+            case "fees" -> fees;
+            case "mixed" -> i -> i % 10 == 9 ? fees.apply(i) : balance.apply(i);
+            default -> throw new IllegalArgumentException(
+                    "Unknown scenario: " + config.scenario);
+        };
+    }
+
+    private static void print(String phase, OpenLoopDriver.Result result) {
+        System.out.printf(Locale.ROOT,
+                "%-11s scheduled=%d completed=%d dropped=%d throughput=%.1f req/s "
+                        + "p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms statuses=%s%n",
+                phase, result.scheduled(), result.latencies().getTotalCount(), result.dropped(),
+                result.throughput(), result.percentileMillis(50), result.percentileMillis(99),
+                result.percentileMillis(99.9), result.maxMillis(), result.statusCounts());
+    }
+}
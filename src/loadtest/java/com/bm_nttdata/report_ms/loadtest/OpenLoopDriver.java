@@ -0,0 +1,122 @@
+package com.bm_nttdata.report_ms.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Generador de carga de lazo abierto: envía solicitudes a una tasa fija sin esperar a que
+ * terminen las anteriores. La latencia se mide desde el instante en que la solicitud debía
+ * enviarse según la planificación, de modo que los retrasos del propio generador o del
+ * servidor no ocultan el tiempo de espera real (omisión coordinada).
+ */
+final class OpenLoopDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    OpenLoopDriver(int maxInFlight, Duration requestTimeout) {
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+    }
+
+    /**
+     * Ejecuta una fase de carga.
+     *
+     * @param rate solicitudes por segundo
+     * @param duration duración de la fase
+     * @param requests genera la URI de la solicitud con el número de secuencia indicado
+     * @return resultados de la fase
+     */
+    Result run(int rate, Duration duration, LongFunction<URI> requests) {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong dropped = new AtomicLong();
+        long total = Math.max(1, rate * duration.toMillis() / 1000);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(requests.apply(i))
+                    .timeout(requestTimeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        recorder.recordValue(
+                                Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+                        String status = error == null
+                                ? String.valueOf(response.statusCode())
+                                : error.getClass().getSimpleName();
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+        long elapsed = System.nanoTime() - start;
+        inFlight.release(maxInFlight);
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(recorder.getIntervalHistogram(), statusCounts, dropped.get(),
+                total, elapsed);
+    }
+
+    /**
+     * Resultados de una fase de carga.
+     *
+     * @param latencies histograma de latencias en nanosegundos
+     * @param statusCounts respuestas por código de estado o tipo de error
+     * @param dropped solicitudes no enviadas por superar el máximo en curso
+     * @param scheduled solicitudes planificadas
+     * @param elapsedNanos duración real de la fase hasta la última respuesta
+     */
+    record Result(Histogram latencies, Map<String, Long> statusCounts, long dropped,
+                  long scheduled, long elapsedNanos) {
+
+        double throughput() {
+            return latencies.getTotalCount() / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        double maxMillis() {
+            return latencies.getMaxValue() / 1e6;
+        }
+    }
+}
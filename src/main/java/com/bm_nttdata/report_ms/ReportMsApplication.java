@@ -2,10 +2,14 @@ package com.bm_nttdata.report_ms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableFeignClients
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class ReportMsApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,85 @@
+package com.bm_nttdata.report_ms.aggregation;
+
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Núcleo de cálculo de totales y promedios de montos de los reportes.
+ * Acumula en aritmética de punto fijo mediante {@link MoneyAccumulator} y aplica a los
+ * resultados la escala y el modo de redondeo configurados.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregationKernel {
+
+    private final AggregationProperties properties;
+
+    /**
+     * Crea un acumulador vacío con la política de escala y redondeo configurada.
+     *
+     * @return acumulador de montos
+     */
+    public MoneyAccumulator accumulator() {
+        return new MoneyAccumulator(properties.getScale(), properties.getRoundingMode());
+    }
+
+    /**
+     * Suma los montos de los elementos de una lista.
+     *
+     * @param items elementos a sumar
+     * @param amount función que obtiene el monto de cada elemento
+     * @param <T> tipo de los elementos
+     * @return suma redondeada; cero si la lista está vacía
+     */
+    public <T> BigDecimal sum(List<T> items, Function<T, BigDecimal> amount) {
+        return accumulate(items, amount).sum();
+    }
+
+    /**
+     * Calcula el promedio de los montos de los elementos de una lista.
+     *
+     * @param items elementos a promediar
+     * @param amount función que obtiene el monto de cada elemento
+     * @param <T> tipo de los elementos
+     * @return promedio redondeado; cero si la lista está vacía
+     */
+    public <T> BigDecimal average(List<T> items, Function<T, BigDecimal> amount) {
+        return accumulate(items, amount).average(items.size());
+    }
+
+    /**
+     * Calcula el promedio de los montos de una serie de saldos diarios. Si los montos de
+     * la serie están en representación compacta se suman sin crear objetos.
+     *
+     * @param series serie de saldos diarios
+     * @return promedio redondeado; cero si la serie está vacía
+     */
+    public BigDecimal average(DailyBalanceSeries series) {
+        MoneyAccumulator accumulator = accumulator();
+        int size = series.size();
+        if (series.hasUnscaledAmounts()) {
+            int scale = series.scale();
+            for (int i = 0; i < size; i++) {
+                accumulator.addUnscaled(series.unscaledAmount(i), scale);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                accumulator.add(series.amount(i));
+            }
+        }
+        return accumulator.average(size);
+    }
+
+    private <T> MoneyAccumulator accumulate(List<T> items, Function<T, BigDecimal> amount) {
+        MoneyAccumulator accumulator = accumulator();
+        for (int i = 0; i < items.size(); i++) {
+            accumulator.add(amount.apply(items.get(i)));
+        }
+        return accumulator;
+    }
+}
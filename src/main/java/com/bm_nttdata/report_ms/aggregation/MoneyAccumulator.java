@@ -0,0 +1,128 @@
+package com.bm_nttdata.report_ms.aggregation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Acumulador de montos en aritmética de punto fijo.
+ * La suma se mantiene como un entero largo en unidades de la mayor escala recibida, por
+ * lo que la suma en sí no crea objetos: agregar un monto sin escala con
+ * {@link #addUnscaled(long, int)} no crea ninguno, y agregar un BigDecimal solo obtiene su
+ * valor sin escala. Si la suma deja de caber en un entero largo, o un monto no puede
+ * representarse en él, el acumulador pasa a usar BigDecimal sin perder precisión.
+ * La suma es siempre exacta; el redondeo solo se aplica al obtener los resultados.
+ * No es seguro para uso concurrente.
+ */
+public final class MoneyAccumulator {
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int resultScale;
+    private final RoundingMode roundingMode;
+    private long unscaledSum;
+    private int sumScale;
+    private BigDecimal promotedSum;
+
+    MoneyAccumulator(int resultScale, RoundingMode roundingMode) {
+        this.resultScale = resultScale;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Agrega un monto a la suma. Los montos nulos se ignoran.
+     *
+     * @param amount monto a agregar
+     * @return este acumulador
+     */
+    public MoneyAccumulator add(BigDecimal amount) {
+        if (amount == null) {
+            return this;
+        }
+        if (promotedSum != null) {
+            promotedSum = promotedSum.add(amount);
+            return this;
+        }
+        int amountScale = amount.scale();
+        BigInteger unscaledAmount = amount.unscaledValue();
+        if (amountScale < 0 || amountScale > MAX_LONG_DIGITS
+                || unscaledAmount.bitLength() >= Long.SIZE) {
+            promote().add(amount);
+            return this;
+        }
+        return addUnscaled(unscaledAmount.longValue(), amountScale);
+    }
+
+    /**
+     * Agrega un monto expresado como entero sin escala y su escala, sin crear objetos
+     * mientras la suma quepa en un entero largo.
+     *
+     * @param unscaledAmount monto sin escala
+     * @param amountScale escala del monto
+     * @return este acumulador
+     */
+    public MoneyAccumulator addUnscaled(long unscaledAmount, int amountScale) {
+        if (promotedSum != null || amountScale < 0 || amountScale > MAX_LONG_DIGITS) {
+            return add(BigDecimal.valueOf(unscaledAmount, amountScale));
+        }
+        try {
+            if (amountScale > sumScale) {
+                unscaledSum = Math.multiplyExact(
+                        unscaledSum, POWERS_OF_TEN[amountScale - sumScale]);
+                sumScale = amountScale;
+            }
+            long scaledAmount = amountScale < sumScale
+                    ? Math.multiplyExact(unscaledAmount, POWERS_OF_TEN[sumScale - amountScale])
+                    : unscaledAmount;
+            unscaledSum = Math.addExact(unscaledSum, scaledAmount);
+        } catch (ArithmeticException e) {
+            promote().add(BigDecimal.valueOf(unscaledAmount, amountScale));
+        }
+        return this;
+    }
+
+    /**
+     * Obtiene la suma exacta de los montos agregados.
+     *
+     * @return suma sin redondear
+     */
+    public BigDecimal exactSum() {
+        return promotedSum != null ? promotedSum : BigDecimal.valueOf(unscaledSum, sumScale);
+    }
+
+    /**
+     * Obtiene la suma de los montos agregados ajustada a la escala configurada.
+     *
+     * @return suma redondeada
+     */
+    public BigDecimal sum() {
+        return exactSum().setScale(resultScale, roundingMode);
+    }
+
+    /**
+     * Obtiene el promedio de la suma entre el divisor indicado, ajustado a la escala
+     * configurada. Si el divisor es cero el promedio es cero.
+     *
+     * @param divisor número de elementos del promedio
+     * @return promedio redondeado
+     */
+    public BigDecimal average(long divisor) {
+        if (divisor == 0) {
+            return BigDecimal.ZERO.setScale(resultScale);
+        }
+        return exactSum().divide(BigDecimal.valueOf(divisor), resultScale, roundingMode);
+    }
+
+    private MoneyAccumulator promote() {
+        promotedSum = BigDecimal.valueOf(unscaledSum, sumScale);
+        return this;
+    }
+}
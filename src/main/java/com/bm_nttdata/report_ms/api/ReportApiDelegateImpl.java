@@ -1,19 +1,53 @@
 package com.bm_nttdata.report_ms.api;
 
+import com.bm_nttdata.report_ms.config.ReportVersionProperties;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
 import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeSummaryDto;
 import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
 import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportJobDto;
+import com.bm_nttdata.report_ms.model.ReportJobRequestDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.bm_nttdata.report_ms.service.BalanceReportBatchService;
+import com.bm_nttdata.report_ms.service.FeeRollupService;
+import com.bm_nttdata.report_ms.service.ReportJobService;
 import com.bm_nttdata.report_ms.service.ReportService;
+import com.bm_nttdata.report_ms.store.ReportVersionIndex;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
 
 /**
  * Implementación de los métodos generados por OpenApi Generator.
@@ -21,18 +55,81 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ReportApiDelegateImpl implements ReportApiDelegate {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final FeeRollupService feeRollupService;
+    private final BalanceReportBatchService balanceReportBatchService;
+    private final ReportVersionIndex reportVersionIndex;
+    private final ReportVersionProperties versionProperties;
+    private final SettlementCalendar settlementCalendar;
+    private final NativeWebRequest request;
+    private final ObjectWriter ndjsonWriter;
+
+    /**
+     * Construye la implementación de las operaciones de reportes.
+     *
+     * @param reportService servicio de generación de reportes
+     * @param reportJobService servicio de generación asíncrona de reportes
+     * @param feeRollupService servicio de acumulados diarios de comisiones
+     * @param balanceReportBatchService servicio del reporte de saldos de varios clientes
+     * @param reportVersionIndex índice de las versiones de los reportes
+     * @param versionProperties propiedades de las versiones de los reportes
+     * @param settlementCalendar regla de cierre de los períodos
+     * @param request solicitud HTTP en curso
+     * @param objectMapper mapeador JSON de la aplicación
+     */
+    public ReportApiDelegateImpl(
+            ReportService reportService,
+            ReportJobService reportJobService,
+            FeeRollupService feeRollupService,
+            BalanceReportBatchService balanceReportBatchService,
+            ReportVersionIndex reportVersionIndex,
+            ReportVersionProperties versionProperties,
+            SettlementCalendar settlementCalendar,
+            NativeWebRequest request,
+            ObjectMapper objectMapper) {
+        this.reportService = reportService;
+        this.reportJobService = reportJobService;
+        this.feeRollupService = feeRollupService;
+        this.balanceReportBatchService = balanceReportBatchService;
+        this.reportVersionIndex = reportVersionIndex;
+        this.versionProperties = versionProperties;
+        this.settlementCalendar = settlementCalendar;
+        this.request = request;
+        this.ndjsonWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writer()
+                .withRootValueSeparator("\n");
+    }
+
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.of(request);
+    }
 
     @Override
     @CircuitBreaker(name = "balanceReport", fallbackMethod = "getBalanceReportFallback")
     public ResponseEntity<DailyBalanceReportDto> getCustomerAverageBalances(
-            String customerId, LocalDate month) {
-        log.info("Getting average balances for client {} for month {}", customerId, month);
-        DailyBalanceReportDto report = reportService.generateDailyBalanceReport(customerId, month);
-        return ResponseEntity.ok(report);
+            String customerId,
+            LocalDate month,
+            List<ReportSection> sections,
+            Boolean partial,
+            ReportView view) {
+        log.info("Getting average balances for client {} for month {}, sections {}, partial {}, "
+                + "view {}", customerId, month, sections, partial, view);
+        Set<ReportSection> requested = sections == null || sections.isEmpty()
+                ? EnumSet.allOf(ReportSection.class) : EnumSet.copyOf(sections);
+        ReportView reportView = view == null ? ReportView.FULL : view;
+        return versioned(
+                ReportVersionIndex.balanceReportKey(customerId, month, requested, reportView),
+                settlementCalendar.isClosed(YearMonth.from(month)),
+                () -> reportService.generateDailyBalanceReport(customerId, month, requested,
+                        Boolean.TRUE.equals(partial), reportView),
+                report -> report.getSections() == null || report.getSections().stream()
+                        .noneMatch(section -> section.getStatus()
+                                == ReportSectionStatusDto.StatusEnum.FAILED));
     }
 
     @Override
@@ -40,18 +137,251 @@ public class ReportApiDelegateImpl implements ReportApiDelegate {
     public ResponseEntity<BankFeeReportDto> getBankFeesReport(
             LocalDate startDate, LocalDate endDate) {
         log.info("Getting fees charged from {} to {}", startDate, endDate);
-        BankFeeReportDto bankFeeReport = reportService.getBankFeesReport(startDate, endDate);
-        return ResponseEntity.ok(bankFeeReport);
+        String versionKey = ReportVersionIndex.bankFeesReportKey(startDate, endDate);
+        boolean closed = settlementCalendar.isClosed(endDate);
+        if (acceptsNdjson()) {
+            Optional<String> version = knownVersion(versionKey, closed);
+            if (version.isPresent() && matchesIfNoneMatch(version.get())) {
+                return notModified(version.get());
+            }
+            version.ifPresent(this::setVersionHeaders);
+            streamBankFeesReport(startDate, endDate);
+            return null;
+        }
+        return versioned(versionKey, closed,
+                () -> reportService.getBankFeesReport(startDate, endDate), report -> true);
+    }
+
+    @Override
+    @CircuitBreaker(name = "bankFeesReport", fallbackMethod = "getBankFeesSummaryFallback")
+    public ResponseEntity<BankFeeSummaryDto> getBankFeesSummary(
+            LocalDate startDate, LocalDate endDate) {
+        log.info("Getting fee totals from {} to {}", startDate, endDate);
+        return ResponseEntity.ok(feeRollupService.getBankFeesSummary(startDate, endDate));
+    }
+
+    @Override
+    public ResponseEntity<DailyBalanceReportBatchRecordDto> getCustomersAverageBalancesBatch(
+            DailyBalanceReportBatchRequestDto dailyBalanceReportBatchRequestDto) {
+        log.info("Getting average balances batch {}", dailyBalanceReportBatchRequestDto);
+        streamNdjson(
+                sink -> balanceReportBatchService.streamDailyBalanceReports(
+                        dailyBalanceReportBatchRequestDto, sink::accept),
+                e -> log.error("Balance report batch stream interrupted. Month: {}, Error: {}",
+                        dailyBalanceReportBatchRequestDto.getMonth(), e.getMessage()));
+        return null;
+    }
+
+    @Override
+    public ResponseEntity<ReportJobDto> submitReportJob(ReportJobRequestDto reportJobRequestDto) {
+        log.info("Submitting report job {}", reportJobRequestDto);
+        ReportJobDto job = reportJobService.submit(reportJobRequestDto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "reports/jobs/" + job.getJobId())
+                .body(job);
+    }
+
+    @Override
+    public ResponseEntity<ReportJobDto> getReportJob(String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    @Override
+    public ResponseEntity<Resource> getReportJobResult(String jobId) {
+        log.info("Downloading result of report job {}", jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reportJobService.getResult(jobId));
+    }
+
+    /**
+     * Responde un reporte con su versión ({@code ETag}) y su política de caché. Si el
+     * período está cerrado y la versión conocida del reporte coincide con la cabecera
+     * {@code If-None-Match}, se responde 304 sin generar el reporte. Los reportes completos
+     * de períodos cerrados no cambian, por lo que se marcan como inmutables y se recuerda
+     * su versión; los demás se deben volver a validar en cada uso, y Spring responde 304
+     * tras generarlos si su versión coincide.
+     */
+    private <T> ResponseEntity<T> versioned(
+            String versionKey, boolean closed, Supplier<T> generator, Predicate<T> complete) {
+        if (!versionProperties.isEnabled()) {
+            return ResponseEntity.ok(generator.get());
+        }
+        Optional<String> known = knownVersion(versionKey, closed);
+        if (known.isPresent() && matchesIfNoneMatch(known.get())) {
+            return notModified(known.get());
+        }
+        T report = generator.get();
+        String version = reportVersionIndex.versionOf(report);
+        boolean immutable = closed && complete.test(report);
+        if (immutable) {
+            reportVersionIndex.put(versionKey, version);
+        }
+        return ResponseEntity.ok()
+                .eTag(version)
+                .cacheControl(immutable
+                        ? immutableCacheControl() : CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(report);
+    }
+
+    private Optional<String> knownVersion(String versionKey, boolean closed) {
+        return versionProperties.isEnabled() && closed
+                ? reportVersionIndex.find(versionKey) : Optional.empty();
+    }
+
+    private <T> ResponseEntity<T> notModified(String version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version)
+                .cacheControl(immutableCacheControl())
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    /**
+     * Agrega la versión de un reporte de un período cerrado a una respuesta que se escribe
+     * directamente, como el reporte de comisiones en NDJSON.
+     */
+    private void setVersionHeaders(String version) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        response.setHeader(HttpHeaders.ETAG, version);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutableCacheControl().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    private CacheControl immutableCacheControl() {
+        return CacheControl.maxAge(versionProperties.getClosedMaxAge())
+                .cachePrivate()
+                .immutable();
+    }
+
+    /**
+     * Indica si alguna de las versiones de la cabecera {@code If-None-Match} coincide con
+     * la indicada. Se usa la comparación débil, que ignora el prefijo {@code W/}.
+     */
+    private boolean matchesIfNoneMatch(String version) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        String opaqueVersion = stripWeakPrefix(version);
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                String trimmed = candidate.trim();
+                if ("*".equals(trimmed) || opaqueVersion.equals(stripWeakPrefix(trimmed))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String version) {
+        return version.startsWith("W/") ? version.substring(2) : version;
+    }
+
+    /**
+     * Escribe el reporte de comisiones bancarias directamente en la respuesta HTTP,
+     * un registro NDJSON por línea, a medida que se calcula cada cuenta.
+     * Si el error ocurre después de enviar registros, la respuesta termina sin el
+     * registro de resumen, lo que indica al cliente que el reporte está incompleto.
+     */
+    private void streamBankFeesReport(LocalDate startDate, LocalDate endDate) {
+        streamNdjson(
+                sink -> reportService.streamBankFeesReport(startDate, endDate, sink::accept),
+                e -> log.error("Bank fee report stream interrupted. StartDate: {}, EndDate: {}, "
+                        + "Error: {}", startDate, endDate, e.getMessage()));
+    }
+
+    /**
+     * Escribe en la respuesta HTTP los registros que entrega el productor, un registro
+     * NDJSON por línea, enviando cada uno en cuanto se recibe. Los errores anteriores al
+     * primer registro se propagan para que se respondan como cualquier otro error.
+     */
+    private void streamNdjson(
+            Consumer<Consumer<Object>> producer, Consumer<Exception> interruptionHandler) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try {
+            // El escritor se cierra solo al terminar: cerrarlo antes de tratar un error
+            // confirmaría la respuesta aunque aún no se haya enviado ningún registro.
+            SequenceWriter records = ndjsonWriter.writeValues(response.getOutputStream());
+            producer.accept(record -> {
+                try {
+                    records.write(record);
+                    records.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            records.close();
+        } catch (IOException | RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.setContentType(null);
+                throw e instanceof RuntimeException runtimeException
+                        ? runtimeException : new UncheckedIOException((IOException) e);
+            }
+            interruptionHandler.accept(e);
+        }
+    }
+
+    /**
+     * Indica si el cliente prefiere recibir el reporte en formato NDJSON según la
+     * cabecera {@code Accept}.
+     */
+    private boolean acceptsNdjson() {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Las solicitudes cuyo plazo vence no usan la respuesta alternativa del circuit
+     * breaker: el cliente recibe un 504 en lugar de un 200 con un mensaje de error.
+     */
+    private ResponseEntity<DailyBalanceReportDto> getBalanceReportFallback(
+            String clientId,
+            LocalDate month,
+            List<ReportSection> sections,
+            Boolean partial,
+            ReportView view,
+            DeadlineExceededException e) {
+        log.warn("Deadline exceeded for balance report. ClientId: {}, Month: {}",
+                clientId, month);
+        throw e;
     }
 
     private ResponseEntity<DailyBalanceReportDto> getBalanceReportFallback(
-            String clientId, LocalDate month, Exception e) {
+            String clientId,
+            LocalDate month,
+            List<ReportSection> sections,
+            Boolean partial,
+            ReportView view,
+            Exception e) {
         log.error("Fallback for balance report. ClientId: {}, Month: {}, Error: {}",
                 clientId, month, e.getMessage());
         return new ResponseEntity(
                 "We are experiencing some errors. Please try again later", HttpStatus.OK);
     }
 
+    private ResponseEntity<BankFeeReportDto> getBankFeesReportFallback(
+            LocalDate startDate, LocalDate endDate, DeadlineExceededException e) {
+        log.warn("Deadline exceeded for bank fee report. StartDate: {}, EndDate: {}",
+                startDate, endDate);
+        throw e;
+    }
+
     private ResponseEntity<BankFeeReportDto> getBankFeesReportFallback(
             LocalDate startDate, LocalDate endDate, Exception e) {
         log.error("Fallback for bank fee report. StartDate: {}, EndDate: {}, Error: {}",
@@ -60,4 +390,18 @@ public class ReportApiDelegateImpl implements ReportApiDelegate {
                 "We are experiencing some errors. Please try again later", HttpStatus.OK);
     }
 
+    private ResponseEntity<BankFeeSummaryDto> getBankFeesSummaryFallback(
+            LocalDate startDate, LocalDate endDate, DeadlineExceededException e) {
+        log.warn("Deadline exceeded for bank fee summary. StartDate: {}, EndDate: {}",
+                startDate, endDate);
+        throw e;
+    }
+
+    private ResponseEntity<BankFeeSummaryDto> getBankFeesSummaryFallback(
+            LocalDate startDate, LocalDate endDate, Exception e) {
+        log.error("Fallback for bank fee summary. StartDate: {}, EndDate: {}, Error: {}",
+                startDate, endDate, e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.bm_nttdata.report_ms.api;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.DeadlineProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Fija el plazo de cada solicitud de reporte y lo asocia al hilo que la atiende.
+ * Solo se aplica a las rutas configuradas; por defecto, al reporte de saldos de un cliente.
+ * El plazo se toma de la cabecera configurada, acotado entre el mínimo y el máximo
+ * permitidos, o del plazo por defecto si la cabecera no está presente o no es válida.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final DeadlineProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return properties.getPaths().stream().noneMatch(path -> pathMatcher.match(path, uri));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (Deadline.Binding ignored = Deadline.after(timeout(request)).bind()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private Duration timeout(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header == null || header.isBlank()) {
+            return properties.getDefaultTimeout();
+        }
+        try {
+            Duration requested = DurationStyle.detectAndParse(header.trim());
+            if (requested.compareTo(properties.getMinTimeout()) < 0) {
+                return properties.getMinTimeout();
+            }
+            if (requested.compareTo(properties.getMaxTimeout()) > 0) {
+                return properties.getMaxTimeout();
+            }
+            return requested;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid {} header: {}", properties.getHeader(), header);
+            return properties.getDefaultTimeout();
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.bm_nttdata.report_ms.client;
 
 import com.bm_nttdata.report_ms.dto.AccountDto;
-import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.dto.AccountPageDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceBatchRequestDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.dto.FeeBatchRequestDto;
 import com.bm_nttdata.report_ms.model.FeeDetailDto;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 /**
@@ -33,10 +39,10 @@ public interface AccountClient {
      *
      * @param id identificador único de la cuenta bancaria
      * @param searchMonth mes del cual se quiere obtener la informacion
-     * @return lista de saldos diarios encontrados para el mes de busqueda
+     * @return serie de saldos diarios encontrados para el mes de busqueda
      */
     @GetMapping("/accounts/{id}/daily-balance")
-    List<DailyBalanceDto> getAllDailyBalances(
+    DailyBalanceSeries getAllDailyBalances(
             @PathVariable("id") String id,
             @RequestParam(value = "searchMonth")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
@@ -51,6 +57,21 @@ public interface AccountClient {
     List<AccountDto> getActiveAccounts(
             @RequestParam(value = "status") String status);
 
+    /**
+     * Obtiene una página de las cuentas bancarias con el estatus indicado, ordenadas por
+     * su identificador.
+     *
+     * @param status estatus de cuentas a buscar
+     * @param after cursor devuelto con la página anterior; vacío para la primera página
+     * @param limit número máximo de cuentas de la página
+     * @return página de cuentas y cursor de la página siguiente
+     */
+    @GetMapping("/accounts/by-status/page")
+    AccountPageDto getAccountsPage(
+            @RequestParam(value = "status") String status,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit") int limit);
+
     /**
      * Obtiene todas las comisiones cobradas a cuentas bancarias en un pediodo de tiempo.
      *
@@ -66,4 +87,25 @@ public interface AccountClient {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(value = "endDate")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    /**
+     * Obtiene en una sola llamada los saldos diarios de varias cuentas bancarias.
+     *
+     * @param request identificadores de las cuentas y mes de búsqueda
+     * @return saldos diarios encontrados para el mes de búsqueda, por identificador de cuenta
+     */
+    @PostMapping("/accounts/daily-balance/batch")
+    Map<String, DailyBalanceSeries> getAllDailyBalancesBatch(
+            @RequestBody DailyBalanceBatchRequestDto request);
+
+    /**
+     * Obtiene en una sola llamada las comisiones cobradas a varias cuentas bancarias
+     * en un periodo de tiempo.
+     *
+     * @param request identificadores de las cuentas y periodo de búsqueda
+     * @return comisiones encontradas en el periodo, por identificador de cuenta
+     */
+    @PostMapping("/accounts/fees/batch")
+    Map<String, List<FeeDetailDto>> getAllAccountFeesBatch(
+            @RequestBody FeeBatchRequestDto request);
 }
@@ -0,0 +1,115 @@
+package com.bm_nttdata.report_ms.client;
+
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.AccountPagingProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.AccountPageDto;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Punto de acceso a las cuentas bancarias activas que recorren los reportes de comisiones.
+ * Con la paginación habilitada las cuentas se piden a account-ms por páginas con un cursor,
+ * a medida que se recorren, y la página siguiente se pide mientras se procesa la actual.
+ * Así, en memoria solo hay dos páginas de cuentas y las consultas de comisiones empiezan
+ * antes de recibir todas las cuentas. Sin paginación se piden todas en una sola llamada.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveAccountSource {
+
+    private static final String ACTIVE = "ACTIVE";
+
+    private final AccountClient accountClient;
+    private final FanOutExecutor fanOutExecutor;
+    private final AccountPagingProperties properties;
+    private final ReportMetrics reportMetrics;
+
+    /**
+     * Obtiene las cuentas bancarias activas. Con la paginación habilitada cada recorrido
+     * vuelve a pedir las páginas desde el principio, dentro del plazo de la solicitud del
+     * hilo que lo inicia, y su iterador es un {@link CloseableIterator} que se debe cerrar
+     * si el recorrido se abandona antes del final.
+     *
+     * @param report nombre del reporte, para las métricas de la consulta
+     * @return cuentas bancarias activas, ordenadas por identificador si se piden por páginas
+     */
+    public Iterable<AccountDto> activeAccounts(String report) {
+        if (!properties.isEnabled()) {
+            List<AccountDto> accounts = reportMetrics.timeStage(report, "active_accounts",
+                    () -> accountClient.getActiveAccounts(ACTIVE));
+            reportMetrics.recordFanOut(report, "accounts", accounts.size());
+            return accounts;
+        }
+        return () -> new PrefetchingIterator(report);
+    }
+
+    /**
+     * Recorre las páginas de cuentas activas pidiendo la página siguiente en cuanto se
+     * recibe la actual. Al cerrarlo se descarta la página siguiente si aún no se pidió.
+     */
+    private final class PrefetchingIterator implements CloseableIterator<AccountDto> {
+
+        private final String report;
+        private final FanOutScope scope = fanOutExecutor.openScope(1);
+        private Iterator<AccountDto> page = Collections.emptyIterator();
+        private CompletableFuture<AccountPageDto> nextPage;
+        private int accounts;
+
+        private PrefetchingIterator(String report) {
+            this.report = report;
+            this.nextPage = fetch(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext()) {
+                if (nextPage == null) {
+                    return false;
+                }
+                AccountPageDto received = FanOutScope.await(nextPage);
+                List<AccountDto> pageAccounts = received.getAccounts() == null
+                        ? List.of() : received.getAccounts();
+                accounts += pageAccounts.size();
+                nextPage = received.getNextCursor() == null || pageAccounts.isEmpty()
+                        ? null : fetch(received.getNextCursor());
+                if (nextPage == null) {
+                    scope.close();
+                    reportMetrics.recordFanOut(report, "accounts", accounts);
+                }
+                page = pageAccounts.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public AccountDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        @Override
+        public void close() {
+            if (nextPage != null) {
+                nextPage.cancel(false);
+                nextPage = null;
+            }
+            page = Collections.emptyIterator();
+            scope.close();
+        }
+
+        private CompletableFuture<AccountPageDto> fetch(String cursor) {
+            return scope.submit(() -> reportMetrics.timeStage(report, "active_accounts_page",
+                    () -> accountClient.getAccountsPage(ACTIVE, cursor, properties.getSize())));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bm_nttdata.report_ms.client;
+
+import java.util.Iterator;
+
+/**
+ * Iterador que retiene recursos mientras se recorre, como las consultas de las páginas
+ * siguientes. Se libera solo al llegar al final; quien abandona el recorrido antes debe
+ * cerrarlo.
+ *
+ * @param <T> tipo de los elementos
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    /**
+     * Libera los recursos del recorrido. Después de cerrarlo no entrega más elementos.
+     */
+    @Override
+    void close();
+}
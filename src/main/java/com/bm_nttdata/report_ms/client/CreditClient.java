@@ -2,14 +2,18 @@ package com.bm_nttdata.report_ms.client;
 
 import com.bm_nttdata.report_ms.dto.CreditCardDto;
 import com.bm_nttdata.report_ms.dto.CreditDto;
-import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceBatchRequestDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
 import feign.FeignException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 /**
@@ -35,10 +39,10 @@ public interface CreditClient {
      *
      * @param id identificador único del crédito
      * @param searchMonth mes del cual se quiere obtener la informacion
-     * @return lista de saldos diarios encontrados para el mes de busqueda
+     * @return serie de saldos diarios encontrados para el mes de busqueda
      */
     @GetMapping("/credits/{id}/daily-balance")
-    List<DailyBalanceDto> getAllCreditDailyBalances(
+    DailyBalanceSeries getAllCreditDailyBalances(
             @PathVariable("id") String id,
             @RequestParam(value = "searchMonth")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
@@ -59,11 +63,31 @@ public interface CreditClient {
      *
      * @param id identificador único del crédito
      * @param searchMonth mes del cual se quiere obtener la informacion
-     * @return lista de saldos diarios encontrados para el mes de busqueda
+     * @return serie de saldos diarios encontrados para el mes de busqueda
      */
     @GetMapping("/credit-cards/{id}/daily-balance")
-    List<DailyBalanceDto> getAllCreditCardDailyBalances(
+    DailyBalanceSeries getAllCreditCardDailyBalances(
             @PathVariable("id") String id,
             @RequestParam(value = "searchMonth")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
+
+    /**
+     * Obtiene en una sola llamada los saldos diarios de varios créditos.
+     *
+     * @param request identificadores de los créditos y mes de búsqueda
+     * @return saldos diarios encontrados para el mes de búsqueda, por identificador de crédito
+     */
+    @PostMapping("/credits/daily-balance/batch")
+    Map<String, DailyBalanceSeries> getAllCreditDailyBalancesBatch(
+            @RequestBody DailyBalanceBatchRequestDto request);
+
+    /**
+     * Obtiene en una sola llamada los saldos diarios de varias tarjetas de crédito.
+     *
+     * @param request identificadores de las tarjetas y mes de búsqueda
+     * @return saldos diarios encontrados para el mes de búsqueda, por identificador de tarjeta
+     */
+    @PostMapping("/credit-cards/daily-balance/batch")
+    Map<String, DailyBalanceSeries> getAllCreditCardDailyBalancesBatch(
+            @RequestBody DailyBalanceBatchRequestDto request);
 }
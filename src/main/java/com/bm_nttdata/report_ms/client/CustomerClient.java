@@ -2,9 +2,11 @@ package com.bm_nttdata.report_ms.client;
 
 import com.bm_nttdata.report_ms.dto.CustomerDto;
 import feign.FeignException;
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Cliente Feign para la comunicación con el microservicio de clientes.
@@ -23,4 +25,23 @@ public interface CustomerClient {
      */
     @GetMapping("/customers/{id}")
     CustomerDto getCustomerById(@PathVariable("id") String id);
+
+    /**
+     * Obtiene los clientes de un segmento.
+     *
+     * @param customerType tipo de cliente del segmento
+     * @return lista de clientes del segmento
+     * @throws FeignException cuando ocurre un error en la comunicación con el servicio
+     */
+    @GetMapping("/customers")
+    List<CustomerDto> getCustomersByType(@RequestParam("customerType") String customerType);
+
+    /**
+     * Obtiene todos los clientes.
+     *
+     * @return lista de clientes
+     * @throws FeignException cuando ocurre un error en la comunicación con el servicio
+     */
+    @GetMapping("/customers")
+    List<CustomerDto> getCustomers();
 }
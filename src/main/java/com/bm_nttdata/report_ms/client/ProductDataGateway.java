@@ -0,0 +1,166 @@
+package com.bm_nttdata.report_ms.client;
+
+import com.bm_nttdata.report_ms.client.batch.MicroBatcher;
+import com.bm_nttdata.report_ms.client.cache.DailyBalanceCache;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.BatchingProperties;
+import com.bm_nttdata.report_ms.dto.DailyBalanceBatchRequestDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.dto.FeeBatchRequestDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Punto de acceso a los datos por producto (saldos diarios y comisiones) de los
+ * microservicios de cuentas y créditos. Según la configuración, cada consulta se envía
+ * de forma individual o se agrupa con las consultas concurrentes de otros reportes
+ * en una llamada por lotes. Los saldos diarios se sirven desde {@link DailyBalanceCache}
+ * cuando ya fueron consultados. Si un lote de saldos diarios omite un producto, su consulta
+ * falla en lugar de tomarlo como un mes sin saldos, para no guardar en caché un promedio
+ * incorrecto; en cambio, las cuentas omitidas en un lote de comisiones no tienen comisiones
+ * en el periodo.
+ */
+@Component
+public class ProductDataGateway {
+
+    private final AccountClient accountClient;
+    private final CreditClient creditClient;
+    private final BatchingProperties batchingProperties;
+    private final DailyBalanceCache dailyBalanceCache;
+    private final MicroBatcher<LocalDate, DailyBalanceSeries> accountBalanceBatcher;
+    private final MicroBatcher<LocalDate, DailyBalanceSeries> creditBalanceBatcher;
+    private final MicroBatcher<LocalDate, DailyBalanceSeries> creditCardBalanceBatcher;
+    private final MicroBatcher<FeePeriod, List<FeeDetailDto>> accountFeeBatcher;
+
+    /**
+     * Construye el punto de acceso a los datos por producto.
+     *
+     * @param accountClient cliente del microservicio de cuentas
+     * @param creditClient cliente del microservicio de créditos
+     * @param batchingProperties propiedades de agrupación por lotes
+     * @param dailyBalanceCache caché de saldos diarios
+     * @param batchWindowScheduler planificador de ventanas de agrupación
+     * @param batchDispatchExecutor pool de envío de lotes
+     */
+    public ProductDataGateway(
+            AccountClient accountClient,
+            CreditClient creditClient,
+            BatchingProperties batchingProperties,
+            DailyBalanceCache dailyBalanceCache,
+            @Qualifier("batchWindowScheduler") ThreadPoolTaskScheduler batchWindowScheduler,
+            @Qualifier("batchDispatchExecutor") Executor batchDispatchExecutor) {
+        this.accountClient = accountClient;
+        this.creditClient = creditClient;
+        this.batchingProperties = batchingProperties;
+        this.dailyBalanceCache = dailyBalanceCache;
+
+        ScheduledExecutorService scheduler = batchWindowScheduler.getScheduledExecutor();
+        this.accountBalanceBatcher = new MicroBatcher<>("account daily balance",
+                batchingProperties.getWindow(), batchingProperties.getMaxBatchSize(),
+                (month, ids) -> accountClient.getAllDailyBalancesBatch(
+                        new DailyBalanceBatchRequestDto(ids, month)),
+                scheduler, batchDispatchExecutor);
+        this.creditBalanceBatcher = new MicroBatcher<>("credit daily balance",
+                batchingProperties.getWindow(), batchingProperties.getMaxBatchSize(),
+                (month, ids) -> creditClient.getAllCreditDailyBalancesBatch(
+                        new DailyBalanceBatchRequestDto(ids, month)),
+                scheduler, batchDispatchExecutor);
+        this.creditCardBalanceBatcher = new MicroBatcher<>("credit card daily balance",
+                batchingProperties.getWindow(), batchingProperties.getMaxBatchSize(),
+                (month, ids) -> creditClient.getAllCreditCardDailyBalancesBatch(
+                        new DailyBalanceBatchRequestDto(ids, month)),
+                scheduler, batchDispatchExecutor);
+        this.accountFeeBatcher = new MicroBatcher<>("account fee",
+                batchingProperties.getWindow(), batchingProperties.getMaxBatchSize(),
+                (period, ids) -> withEmptyDefaults(ids, accountClient.getAllAccountFeesBatch(
+                        new FeeBatchRequestDto(ids, period.startDate(), period.endDate())),
+                        List.of()),
+                scheduler, batchDispatchExecutor);
+    }
+
+    /**
+     * Obtiene los saldos diarios de una cuenta bancaria.
+     *
+     * @param id identificador único de la cuenta bancaria
+     * @param month mes del cual se quiere obtener la información
+     * @return serie de saldos diarios del mes
+     */
+    public DailyBalanceSeries getAccountDailyBalances(String id, LocalDate month) {
+        return dailyBalanceCache.get(ProductType.ACCOUNT, id, month, () -> {
+            if (batchingProperties.isEnabled()) {
+                return FanOutScope.await(accountBalanceBatcher.load(month, id));
+            }
+            return accountClient.getAllDailyBalances(id, month);
+        });
+    }
+
+    /**
+     * Obtiene los saldos diarios de un crédito.
+     *
+     * @param id identificador único del crédito
+     * @param month mes del cual se quiere obtener la información
+     * @return serie de saldos diarios del mes
+     */
+    public DailyBalanceSeries getCreditDailyBalances(String id, LocalDate month) {
+        return dailyBalanceCache.get(ProductType.CREDIT, id, month, () -> {
+            if (batchingProperties.isEnabled()) {
+                return FanOutScope.await(creditBalanceBatcher.load(month, id));
+            }
+            return creditClient.getAllCreditDailyBalances(id, month);
+        });
+    }
+
+    /**
+     * Obtiene los saldos diarios de una tarjeta de crédito.
+     *
+     * @param id identificador único de la tarjeta de crédito
+     * @param month mes del cual se quiere obtener la información
+     * @return serie de saldos diarios del mes
+     */
+    public DailyBalanceSeries getCreditCardDailyBalances(String id, LocalDate month) {
+        return dailyBalanceCache.get(ProductType.CREDIT_CARD, id, month, () -> {
+            if (batchingProperties.isEnabled()) {
+                return FanOutScope.await(creditCardBalanceBatcher.load(month, id));
+            }
+            return creditClient.getAllCreditCardDailyBalances(id, month);
+        });
+    }
+
+    /**
+     * Obtiene las comisiones cobradas a una cuenta bancaria en un periodo.
+     *
+     * @param id identificador único de la cuenta bancaria
+     * @param startDate fecha inicial del periodo
+     * @param endDate fecha final del periodo
+     * @return lista de comisiones cobradas en el periodo
+     */
+    public List<FeeDetailDto> getAccountFees(String id, LocalDate startDate, LocalDate endDate) {
+        if (batchingProperties.isEnabled()) {
+            return FanOutScope.await(
+                    accountFeeBatcher.load(new FeePeriod(startDate, endDate), id));
+        }
+        return accountClient.getAllAccountFees(id, startDate, endDate);
+    }
+
+    /**
+     * Completa la respuesta de un lote de comisiones con listas vacías para las cuentas que
+     * el microservicio omitió por no tener comisiones en el periodo.
+     */
+    private static <V> Map<String, V> withEmptyDefaults(
+            List<String> ids, Map<String, V> results, V empty) {
+        Map<String, V> completed = new HashMap<>(results == null ? Map.of() : results);
+        ids.forEach(id -> completed.putIfAbsent(id, empty));
+        return completed;
+    }
+
+    private record FeePeriod(LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.bm_nttdata.report_ms.client;
+
+/**
+ * Tipos de producto cuyos datos diarios se consultan a los microservicios.
+ */
+public enum ProductType {
+    ACCOUNT,
+    CREDIT,
+    CREDIT_CARD
+}
@@ -0,0 +1,133 @@
+package com.bm_nttdata.report_ms.client.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrupa las consultas individuales por identificador que llegan dentro de una ventana
+ * de tiempo corta y las envía como una sola llamada por lotes.
+ * Las consultas se agrupan además por una clave de grupo (por ejemplo el mes o el periodo
+ * de búsqueda), ya que cada llamada por lotes comparte esos parámetros.
+ *
+ * @param <G> tipo de la clave de grupo
+ * @param <V> tipo del resultado por identificador
+ */
+@Slf4j
+public class MicroBatcher<G, V> {
+
+    private final String name;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final BiFunction<G, List<String>, Map<String, V>> loader;
+    private final ScheduledExecutorService scheduler;
+    private final Executor dispatcher;
+    private final Map<G, Batch<V>> openBatches = new HashMap<>();
+
+    /**
+     * Construye un agrupador de consultas.
+     *
+     * @param name nombre del agrupador, usado en los logs
+     * @param window tiempo máximo de espera de un lote
+     * @param maxBatchSize número máximo de identificadores por lote
+     * @param loader función que resuelve un lote completo
+     * @param scheduler planificador de los cierres de ventana
+     * @param dispatcher ejecutor en el que se envían los lotes
+     */
+    public MicroBatcher(
+            String name,
+            Duration window,
+            int maxBatchSize,
+            BiFunction<G, List<String>, Map<String, V>> loader,
+            ScheduledExecutorService scheduler,
+            Executor dispatcher) {
+        this.name = name;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.loader = loader;
+        this.scheduler = scheduler;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Solicita el resultado de un identificador. Las solicitudes repetidas del mismo
+     * identificador dentro de un lote comparten una única entrada.
+     *
+     * @param group clave de grupo de la consulta
+     * @param id identificador del producto
+     * @return futuro con el resultado del identificador
+     */
+    public CompletableFuture<V> load(G group, String id) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        Batch<V> ready = null;
+        synchronized (openBatches) {
+            Batch<V> batch = openBatches.get(group);
+            if (batch == null) {
+                batch = new Batch<>();
+                openBatches.put(group, batch);
+                scheduleFlush(group, batch);
+            }
+            batch.waiters.computeIfAbsent(id, key -> new ArrayList<>()).add(result);
+            if (batch.waiters.size() >= maxBatchSize) {
+                openBatches.remove(group);
+                ready = batch;
+            }
+        }
+        if (ready != null) {
+            dispatch(group, ready);
+        }
+        return result;
+    }
+
+    private void scheduleFlush(G group, Batch<V> batch) {
+        scheduler.schedule(() -> {
+            boolean flush;
+            synchronized (openBatches) {
+                flush = openBatches.remove(group, batch);
+            }
+            if (flush) {
+                dispatch(group, batch);
+            }
+        }, window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch(G group, Batch<V> batch) {
+        List<String> ids = new ArrayList<>(batch.waiters.keySet());
+        dispatcher.execute(() -> {
+            try {
+                log.debug("Dispatching {} batch for {} with {} ids", name, group, ids.size());
+                Map<String, V> loaded = loader.apply(group, ids);
+                Map<String, V> results = loaded == null ? Map.of() : loaded;
+                batch.waiters.forEach((id, waiters) -> {
+                    V value = results.get(id);
+                    waiters.forEach(waiter -> {
+                        if (value == null) {
+                            waiter.completeExceptionally(new IllegalStateException(
+                                    "No " + name + " result returned for id " + id));
+                        } else {
+                            waiter.complete(value);
+                        }
+                    });
+                });
+            } catch (RuntimeException e) {
+                log.error("Error while dispatching {} batch for {}: {}",
+                        name, group, e.getMessage());
+                batch.waiters.values().forEach(
+                        waiters -> waiters.forEach(waiter -> waiter.completeExceptionally(e)));
+            }
+        });
+    }
+
+    private static final class Batch<V> {
+        private final Map<String, List<CompletableFuture<V>>> waiters = new LinkedHashMap<>();
+    }
+}
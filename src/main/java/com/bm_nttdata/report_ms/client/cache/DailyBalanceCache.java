@@ -0,0 +1,155 @@
+package com.bm_nttdata.report_ms.client.cache;
+
+import com.bm_nttdata.report_ms.client.ProductType;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.DailyBalanceCacheProperties;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché de saldos diarios por producto y mes.
+ * Los saldos de un mes cerrado según {@link SettlementCalendar} no cambian, por lo que se
+ * conservan hasta que la caché alcanza su tamaño máximo. Los de los meses aún abiertos se
+ * conservan solo durante un tiempo corto. Las cargas se hacen fuera de la caché, en el hilo
+ * que consulta, de modo que una carga lenta no bloquea otras entradas; las cargas fallidas
+ * no se conservan. Las estadísticas de aciertos, fallos y desalojos se publican en
+ * Micrometer con el nombre {@code dailyBalances}.
+ */
+@Component
+public class DailyBalanceCache {
+
+    private static final String CACHE_NAME = "dailyBalances";
+
+    private final DailyBalanceCacheProperties properties;
+    private final SettlementCalendar settlementCalendar;
+    private final AsyncCache<DailyBalanceKey, DailyBalanceSeries> closedMonths;
+    private final AsyncCache<DailyBalanceKey, DailyBalanceSeries> currentMonth;
+
+    /**
+     * Construye la caché de saldos diarios y registra sus métricas.
+     *
+     * @param properties propiedades de la caché de saldos diarios
+     * @param settlementCalendar regla de cierre de los períodos
+     * @param meterRegistry registro de métricas
+     */
+    public DailyBalanceCache(DailyBalanceCacheProperties properties,
+            SettlementCalendar settlementCalendar, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.settlementCalendar = settlementCalendar;
+        this.closedMonths = Caffeine.newBuilder()
+                .maximumSize(properties.getClosedMonthMaxSize())
+                .recordStats()
+                .buildAsync();
+        this.currentMonth = Caffeine.newBuilder()
+                .maximumSize(properties.getCurrentMonthMaxSize())
+                .expireAfterWrite(properties.getCurrentMonthTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(
+                meterRegistry, closedMonths, CACHE_NAME, Tags.of("period", "closed"));
+        CaffeineCacheMetrics.monitor(
+                meterRegistry, currentMonth, CACHE_NAME, Tags.of("period", "current"));
+    }
+
+    /**
+     * Obtiene los saldos diarios de un producto para un mes, consultándolos con el
+     * proveedor indicado solo si no están en caché. Las consultas concurrentes de la
+     * misma entrada esperan a una única carga, como máximo hasta el plazo de su solicitud.
+     * Si la carga falla, el error se propaga a todas y la entrada no se guarda.
+     *
+     * @param productType tipo de producto
+     * @param productId identificador del producto
+     * @param month mes de búsqueda
+     * @param loader proveedor de los saldos cuando no están en caché
+     * @return saldos diarios del producto en el mes
+     */
+    public DailyBalanceSeries get(
+            ProductType productType,
+            String productId,
+            LocalDate month,
+            Supplier<DailyBalanceSeries> loader) {
+
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        YearMonth yearMonth = YearMonth.from(month);
+        DailyBalanceKey key = new DailyBalanceKey(productType, productId, yearMonth);
+        CompletableFuture<DailyBalanceSeries> created = new CompletableFuture<>();
+        CompletableFuture<DailyBalanceSeries> cached =
+                cacheFor(yearMonth).get(key, (ignored, executor) -> created);
+        if (cached != created) {
+            return FanOutScope.await(cached);
+        }
+        try {
+            DailyBalanceSeries dailyBalances = loader.get();
+            created.complete(dailyBalances);
+            return dailyBalances;
+        } catch (Throwable e) {
+            // Cualquier error, incluidos los Error, debe completar la entrada; de lo
+            // contrario las consultas que esperan a esta carga quedarían bloqueadas.
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene los saldos diarios de un producto para un mes si están en caché, sin
+     * consultarlos. Pensado para los clientes reactivos, que no pueden bloquear su hilo
+     * esperando una carga.
+     *
+     * @param productType tipo de producto
+     * @param productId identificador del producto
+     * @param month mes de búsqueda
+     * @return saldos diarios en caché, o {@code null} si no están, aún se están cargando o
+     *         la caché está desactivada
+     */
+    public DailyBalanceSeries getIfPresent(
+            ProductType productType, String productId, LocalDate month) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        YearMonth yearMonth = YearMonth.from(month);
+        CompletableFuture<DailyBalanceSeries> cached = cacheFor(yearMonth)
+                .getIfPresent(new DailyBalanceKey(productType, productId, yearMonth));
+        return cached == null || !cached.isDone() || cached.isCompletedExceptionally()
+                ? null : cached.join();
+    }
+
+    /**
+     * Guarda en caché los saldos diarios de un producto para un mes.
+     *
+     * @param productType tipo de producto
+     * @param productId identificador del producto
+     * @param month mes de búsqueda
+     * @param dailyBalances saldos diarios del producto en el mes
+     */
+    public void put(
+            ProductType productType,
+            String productId,
+            LocalDate month,
+            DailyBalanceSeries dailyBalances) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth yearMonth = YearMonth.from(month);
+        cacheFor(yearMonth).put(new DailyBalanceKey(productType, productId, yearMonth),
+                CompletableFuture.completedFuture(dailyBalances));
+    }
+
+    private AsyncCache<DailyBalanceKey, DailyBalanceSeries> cacheFor(YearMonth yearMonth) {
+        return settlementCalendar.isClosed(yearMonth) ? closedMonths : currentMonth;
+    }
+
+    private record DailyBalanceKey(ProductType productType, String productId, YearMonth month) {
+    }
+}
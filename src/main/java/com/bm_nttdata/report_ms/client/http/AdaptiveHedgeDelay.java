@@ -0,0 +1,85 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import com.bm_nttdata.report_ms.config.HedgingProperties;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Espera antes de enviar una solicitud de respaldo para una operación, calculada como
+ * un percentil de sus latencias más recientes. Las latencias se guardan en un buffer
+ * circular de tamaño fijo y el percentil se recalcula al cerrar cada ventana de
+ * medición. Mientras no haya suficientes mediciones no se envían solicitudes de respaldo.
+ */
+final class AdaptiveHedgeDelay {
+
+    /** Valor que indica que aún no hay umbral. */
+    static final long UNKNOWN = -1;
+
+    private final HedgingProperties properties;
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final long windowNanos;
+    private volatile long delayNanos = UNKNOWN;
+    private volatile long windowEnd;
+
+    AdaptiveHedgeDelay(HedgingProperties properties) {
+        this.properties = properties;
+        this.samples = new AtomicLongArray(Math.max(1, properties.getSampleSize()));
+        this.windowNanos = properties.getWindow().toNanos();
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Registra la latencia de una respuesta.
+     *
+     * @param latencyNanos latencia en nanosegundos
+     */
+    void record(long latencyNanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), Math.max(1, latencyNanos));
+    }
+
+    /**
+     * Obtiene la espera actual antes de enviar una solicitud de respaldo.
+     *
+     * @return espera en nanosegundos o {@link #UNKNOWN} si aún no hay umbral
+     */
+    long delayNanos() {
+        long now = System.nanoTime();
+        if (now - windowEnd >= 0) {
+            roll(now);
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Obtiene la espera actual en milisegundos, para las métricas.
+     *
+     * @return espera en milisegundos o {@code NaN} si aún no hay umbral
+     */
+    double delayMillis() {
+        long delay = delayNanos;
+        return delay == UNKNOWN ? Double.NaN : delay / 1e6;
+    }
+
+    private synchronized void roll(long now) {
+        if (now - windowEnd < 0) {
+            return;
+        }
+        windowEnd = now + windowNanos;
+        int count = (int) Math.min(recorded.get(), samples.length());
+        if (count < properties.getMinSamples()) {
+            return;
+        }
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            latencies[i] = samples.get(i);
+        }
+        Arrays.sort(latencies);
+        int rank = (int) Math.ceil(properties.getPercentile() / 100.0 * count) - 1;
+        long percentile = latencies[Math.min(count - 1, Math.max(0, rank))];
+        delayNanos = Math.min(properties.getMaxDelay().toNanos(),
+                Math.max(properties.getMinDelay().toNanos(), percentile));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import java.io.IOException;
+
+/**
+ * Transporte de los clientes Feign que limita las llamadas simultáneas a cada
+ * microservicio con un bulkhead propio, identificado por el nombre de su cliente Feign.
+ * Así, un microservicio lento solo puede ocupar sus propios permisos y no los hilos que
+ * necesitan las consultas a los demás. Si no hay permisos libres dentro de la espera
+ * configurada, la llamada falla con {@code BulkheadFullException} sin llegar a enviarse.
+ */
+public class BulkheadFeignClient implements Client {
+
+    private final Client delegate;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    /**
+     * Construye el transporte con bulkheads por microservicio.
+     *
+     * @param delegate transporte que realiza las llamadas
+     * @param bulkheadRegistry registro de bulkheads
+     */
+    public BulkheadFeignClient(Client delegate, BulkheadRegistry bulkheadRegistry) {
+        this.delegate = delegate;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Bulkhead bulkhead =
+                bulkheadRegistry.bulkhead(request.requestTemplate().feignTarget().name());
+        bulkhead.acquirePermission();
+        try {
+            return delegate.execute(request, options);
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.DeadlineProperties;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envía a los microservicios el tiempo restante del plazo de la solicitud, en
+ * milisegundos, para que puedan abandonar el trabajo que ya no será esperado.
+ * Las llamadas cuyo plazo ya venció no se envían.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlinePropagationInterceptor implements RequestInterceptor {
+
+    private final DeadlineProperties properties;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        Deadline deadline = Deadline.current();
+        if (!properties.isEnabled() || !deadline.isBounded()) {
+            return;
+        }
+        deadline.check(template.method() + " " + template.path());
+        template.header(properties.getHeader(), String.valueOf(deadline.remainingMillis()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import feign.Capability;
+import feign.Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica a todos los clientes Feign, con cualquier transporte HTTP, el bulkhead de su
+ * microservicio. Los bulkheads se configuran con
+ * {@code resilience4j.bulkhead.instances.<nombre del cliente Feign>}. El transporte con
+ * solicitudes de respaldo ya aplica el bulkhead a cada llamada que envía, original o de
+ * respaldo, por lo que no se vuelve a envolver.
+ */
+@Component
+@RequiredArgsConstructor
+public class DownstreamBulkheadCapability implements Capability {
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        if (client instanceof HedgingFeignClient) {
+            return client;
+        }
+        return new BulkheadFeignClient(client, bulkheadRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bm_nttdata.report_ms.client.http;
+
+/**
+ * Presupuesto de solicitudes de respaldo de un microservicio.
+ * Cada solicitud original suma una fracción de crédito y cada solicitud de respaldo
+ * consume un crédito completo, por lo que las solicitudes de respaldo no superan esa
+ * fracción de la carga, aunque el microservicio esté lento en todas las llamadas.
+ */
+final class HedgeBudget {
+
+    private final double ratio;
+    private final double maxCredits;
+    private double credits;
+
+    HedgeBudget(double ratio, int burst) {
+        this.ratio = Math.max(0, ratio);
+        this.maxCredits = Math.max(1, burst);
+        this.credits = this.maxCredits;
+    }
+
+    /**
+     * Registra una solicitud original.
+     */
+    synchronized void deposit() {
+        credits = Math.min(maxCredits, credits + ratio);
+    }
+
+    /**
+     * Intenta reservar el crédito de una solicitud de respaldo.
+     *
+     * @return {@code true} si hay crédito disponible
+     */
+    synchronized boolean tryWithdraw() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        return true;
+    }
+
+    /**
+     * Devuelve el crédito reservado para una solicitud de respaldo que no se envió.
+     */
+    synchronized void refund() {
+        credits = Math.min(maxCredits, credits + 1);
+    }
+}
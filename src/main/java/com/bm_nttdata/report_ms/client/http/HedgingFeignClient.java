@@ -0,0 +1,350 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.HedgingProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+/**
+ * Transporte de los clientes Feign que envía una solicitud de respaldo (hedging) cuando
+ * una consulta idempotente tarda más que el percentil configurado de su latencia reciente.
+ * La solicitud de respaldo se dirige, si existe, a otra instancia del microservicio
+ * registrada en Eureka, y se usa la primera respuesta correcta. El número de solicitudes
+ * de respaldo está limitado por un presupuesto por microservicio para no multiplicar la
+ * carga cuando el microservicio está lento en general.
+ *
+ * <p>La llamada original se hace en el hilo que la solicita; solo la solicitud de
+ * respaldo se programa en el pool, al vencer la espera de su operación. Si el respaldo
+ * responde primero, se cancela la llamada original en curso. Cada llamada enviada, original
+ * o de respaldo, pasa por el transporte delegado, que aplica el bulkhead del microservicio.
+ */
+@Slf4j
+public class HedgingFeignClient implements Client {
+
+    private final Client delegate;
+    private final HedgingProperties properties;
+    private final Executor executor;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> operations;
+    private final Map<OperationKey, AdaptiveHedgeDelay> delays = new ConcurrentHashMap<>();
+    private final Map<String, HedgeBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<OperationKey, Outcomes> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el transporte con solicitudes de respaldo.
+     *
+     * @param delegate transporte que realiza cada llamada
+     * @param properties propiedades de las solicitudes de respaldo
+     * @param executor pool que ejecuta las solicitudes de respaldo
+     * @param discoveryClient cliente de descubrimiento de instancias
+     * @param meterRegistry registro de métricas
+     */
+    public HedgingFeignClient(
+            Client delegate,
+            HedgingProperties properties,
+            Executor executor,
+            ObjectProvider<DiscoveryClient> discoveryClient,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.executor = executor;
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        this.operations = Set.copyOf(properties.getOperations());
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET
+                || request.requestTemplate().methodMetadata() == null) {
+            return delegate.execute(request, options);
+        }
+        String operation = request.requestTemplate().methodMetadata().method().getName();
+        if (!operations.contains(operation)) {
+            return delegate.execute(request, options);
+        }
+
+        String clientName = request.requestTemplate().feignTarget().name();
+        OperationKey key = new OperationKey(clientName, operation);
+        AdaptiveHedgeDelay delay = delays.computeIfAbsent(key, this::registerDelay);
+        HedgeBudget budget = budgets.computeIfAbsent(clientName, name ->
+                new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetBurst()));
+        Outcomes outcome =
+                outcomes.computeIfAbsent(key, name -> new Outcomes(meterRegistry, name));
+        budget.deposit();
+
+        long delayNanos = delay.delayNanos();
+        Deadline deadline = Deadline.current();
+        if (delayNanos == AdaptiveHedgeDelay.UNKNOWN || delayNanos >= deadline.remainingNanos()) {
+            outcome.notHedged.increment();
+            return timed(request, options, delay);
+        }
+
+        try (InFlightCall primaryCall = InFlightCall.track()) {
+            Hedge hedge = new Hedge(
+                    request, options, delay, budget, outcome, deadline, primaryCall);
+            Executor launcher = task -> {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    hedge.rejected();
+                }
+            };
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, launcher)
+                    .execute(hedge);
+
+            Response response;
+            try {
+                response = timed(request, options, delay);
+            } catch (IOException | RuntimeException primaryError) {
+                if (hedge.primaryFinished()) {
+                    try {
+                        return await(hedge.response);
+                    } catch (IOException | RuntimeException hedgeError) {
+                        primaryError.addSuppressed(hedgeError);
+                    }
+                }
+                throw primaryError;
+            }
+            if (!hedge.primaryFinished()) {
+                return response;
+            }
+            if (hedge.won.compareAndSet(false, true)) {
+                outcome.primaryWon.increment();
+                return response;
+            }
+            // La solicitud de respaldo respondió antes: se libera la conexión original.
+            response.close();
+            return await(hedge.response);
+        }
+    }
+
+    /**
+     * Dirige la solicitud a otra instancia registrada del microservicio. Si no hay otra
+     * instancia, la solicitud se repite contra la misma URL, que puede estar atendida
+     * por varias instancias detrás de un balanceador.
+     */
+    private Request toAlternateInstance(String clientName, Request request) {
+        DiscoveryClient discovery = discoveryClient.getIfAvailable();
+        if (discovery == null) {
+            return request;
+        }
+        try {
+            URI original = URI.create(request.url());
+            List<ServiceInstance> alternates = discovery.getInstances(clientName).stream()
+                    .filter(instance -> !(instance.getHost().equalsIgnoreCase(original.getHost())
+                            && instance.getPort() == original.getPort()))
+                    .toList();
+            if (alternates.isEmpty()) {
+                return request;
+            }
+            URI target = alternates.get(ThreadLocalRandom.current().nextInt(alternates.size()))
+                    .getUri();
+            String url = target.getScheme() + "://" + target.getRawAuthority()
+                    + request.url().substring(
+                            request.url().indexOf(original.getRawAuthority())
+                                    + original.getRawAuthority().length());
+            return Request.create(request.httpMethod(), url, request.headers(),
+                    request.body(), request.charset(), request.requestTemplate());
+        } catch (RuntimeException e) {
+            log.debug("Hedging {} to the same URL: {}", clientName, e.getMessage());
+            return request;
+        }
+    }
+
+    private Response timed(Request request, Request.Options options, AdaptiveHedgeDelay delay)
+            throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        delay.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private Response call(Request request, Request.Options options, AdaptiveHedgeDelay delay) {
+        try {
+            return timed(request, options, delay);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Espera la respuesta dentro del plazo de la solicitud. Si el plazo vence antes, la
+     * respuesta se cierra cuando llegue para no retener su conexión.
+     */
+    private static Response await(CompletableFuture<Response> response) throws IOException {
+        try {
+            return FanOutScope.await(response);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            response.thenAccept(Response::close);
+            throw e;
+        }
+    }
+
+    private AdaptiveHedgeDelay registerDelay(OperationKey key) {
+        AdaptiveHedgeDelay delay = new AdaptiveHedgeDelay(properties);
+        Gauge.builder("report.hedge.delay", delay, AdaptiveHedgeDelay::delayMillis)
+                .tag("client", key.clientName())
+                .tag("operation", key.operation())
+                .baseUnit("milliseconds")
+                .description("Current wait before a hedged request is sent")
+                .register(meterRegistry);
+        return delay;
+    }
+
+    /**
+     * Operación de un microservicio, identificada por su cliente Feign y su método.
+     */
+    private record OperationKey(String clientName, String operation) {
+    }
+
+    /**
+     * Solicitud de respaldo de una llamada, que se lanza cuando vence la espera si la
+     * llamada original, hecha en el hilo que la solicita, aún no ha terminado y el
+     * presupuesto lo permite. Si responde primero, cancela la llamada original para que
+     * ese hilo use su respuesta.
+     */
+    private final class Hedge implements Runnable {
+
+        private static final int PENDING = 0;
+        private static final int SKIPPED = 1;
+        private static final int SENT = 2;
+        private static final int PRIMARY_DONE = 3;
+
+        private final Request request;
+        private final Request.Options options;
+        private final AdaptiveHedgeDelay delay;
+        private final HedgeBudget budget;
+        private final Outcomes outcome;
+        private final Deadline deadline;
+        private final InFlightCall primaryCall;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final AtomicBoolean won = new AtomicBoolean();
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+
+        private Hedge(
+                Request request,
+                Request.Options options,
+                AdaptiveHedgeDelay delay,
+                HedgeBudget budget,
+                Outcomes outcome,
+                Deadline deadline,
+                InFlightCall primaryCall) {
+            this.request = request;
+            this.options = options;
+            this.delay = delay;
+            this.budget = budget;
+            this.outcome = outcome;
+            this.deadline = deadline;
+            this.primaryCall = primaryCall;
+        }
+
+        @Override
+        public void run() {
+            if (state.get() != PENDING) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                if (state.compareAndSet(PENDING, SKIPPED)) {
+                    outcome.budgetExhausted.increment();
+                }
+                return;
+            }
+            if (!state.compareAndSet(PENDING, SENT)) {
+                budget.refund();
+                return;
+            }
+            try {
+                String clientName = request.requestTemplate().feignTarget().name();
+                Request hedgeRequest = toAlternateInstance(clientName, request);
+                Response hedgeResponse =
+                        deadline.call(() -> call(hedgeRequest, options, delay));
+                if (won.compareAndSet(false, true)) {
+                    outcome.hedgeWon.increment();
+                    response.complete(hedgeResponse);
+                    primaryCall.cancel();
+                } else {
+                    hedgeResponse.close();
+                }
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Registra que el pool no tenía hilos libres para la solicitud de respaldo.
+         */
+        private void rejected() {
+            if (state.compareAndSet(PENDING, SKIPPED)) {
+                outcome.budgetExhausted.increment();
+            }
+        }
+
+        /**
+         * Registra el fin de la llamada original e impide que se lance el respaldo.
+         *
+         * @return {@code true} si la solicitud de respaldo ya se había enviado
+         */
+        private boolean primaryFinished() {
+            int previous = state.compareAndExchange(PENDING, PRIMARY_DONE);
+            if (previous == PENDING) {
+                outcome.notHedged.increment();
+            }
+            return previous == SENT;
+        }
+    }
+
+    /**
+     * Contadores del resultado de las llamadas de una operación.
+     */
+    private static final class Outcomes {
+
+        private final Counter notHedged;
+        private final Counter primaryWon;
+        private final Counter hedgeWon;
+        private final Counter budgetExhausted;
+
+        private Outcomes(MeterRegistry meterRegistry, OperationKey key) {
+            this.notHedged = counter(meterRegistry, key, "not_hedged");
+            this.primaryWon = counter(meterRegistry, key, "primary_won");
+            this.hedgeWon = counter(meterRegistry, key, "hedge_won");
+            this.budgetExhausted = counter(meterRegistry, key, "budget_exhausted");
+        }
+
+        private static Counter counter(
+                MeterRegistry meterRegistry, OperationKey key, String outcome) {
+            return Counter.builder("report.hedge.requests")
+                    .tag("client", key.clientName())
+                    .tag("operation", key.operation())
+                    .tag("outcome", outcome)
+                    .description("Hedgeable downstream calls by outcome")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import okhttp3.Call;
+
+/**
+ * Llamada OkHttp en curso en un hilo, que otro hilo puede cancelar.
+ * El hilo que va a llamar abre el seguimiento con {@link #track()}; el transporte OkHttp
+ * registra la llamada al crearla, en ese mismo hilo, y {@link #cancel()} la interrumpe
+ * aunque aún no se haya creado. Sin seguimiento abierto, el registro no hace nada.
+ */
+final class InFlightCall implements AutoCloseable {
+
+    private static final ThreadLocal<InFlightCall> CURRENT = new ThreadLocal<>();
+
+    private volatile Call call;
+    private volatile boolean cancelled;
+
+    private InFlightCall() {
+    }
+
+    /**
+     * Abre el seguimiento de la próxima llamada del hilo actual.
+     *
+     * @return seguimiento, que se cierra al terminar la llamada
+     */
+    static InFlightCall track() {
+        InFlightCall inFlightCall = new InFlightCall();
+        CURRENT.set(inFlightCall);
+        return inFlightCall;
+    }
+
+    /**
+     * Registra la llamada creada en el hilo actual, si su seguimiento está abierto.
+     *
+     * @param call llamada OkHttp
+     */
+    static void register(Call call) {
+        InFlightCall inFlightCall = CURRENT.get();
+        if (inFlightCall == null) {
+            return;
+        }
+        inFlightCall.call = call;
+        if (inFlightCall.cancelled) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Cancela la llamada registrada o, si aún no se ha creado, la que se registre después.
+     */
+    void cancel() {
+        cancelled = true;
+        Call registered = call;
+        if (registered != null) {
+            registered.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,224 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.HttpClientProperties;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Transporte HTTP de los clientes Feign basado en OkHttp.
+ * Mantiene un cliente OkHttp con su propio pool de conexiones por cada microservicio,
+ * identificado por el nombre de su cliente Feign. Cada pool publica en Micrometer el
+ * número de conexiones abiertas e inactivas y el tiempo que cada llamada espera hasta
+ * obtener una conexión. Las llamadas hechas con un plazo de solicitud esperan la respuesta
+ * como máximo el tiempo que le queda a ese plazo.
+ *
+ * <p>El pool de OkHttp solo limita las conexiones inactivas que conserva; las llamadas
+ * síncronas de Feign no pasan por el límite por host de su despachador. Por eso cada
+ * microservicio tiene además un semáforo con {@code max-connections} permisos que limita
+ * las llamadas, y con ello las conexiones, en curso hacia él. Una llamada sin permiso
+ * libre espera como máximo su tiempo de conexión y, si no lo obtiene, falla con
+ * {@code IOException} sin llegar a enviarse, igual que una conexión que no se establece.
+ */
+@Slf4j
+public class PooledFeignClient implements Client {
+
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Downstream> delegates = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el transporte HTTP de los clientes Feign.
+     *
+     * @param properties propiedades del transporte HTTP
+     * @param meterRegistry registro de métricas
+     */
+    public PooledFeignClient(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String clientName = request.requestTemplate().feignTarget().name();
+        Downstream downstream =
+                delegates.computeIfAbsent(clientName, name -> createDelegate(name, options));
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return downstream.execute(request, options);
+        }
+        try {
+            return downstream.execute(request, withinDeadline(options, deadline));
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException("Request deadline exceeded while calling "
+                        + clientName + ": " + e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reduce el tiempo de lectura de la llamada al tiempo restante del plazo. OkHttp
+     * reutiliza el pool de conexiones del cliente para la llamada con tiempos propios.
+     */
+    private static Request.Options withinDeadline(Request.Options options, Deadline deadline) {
+        long remainingMillis = Math.max(1, deadline.remainingMillis());
+        if (remainingMillis >= options.readTimeoutMillis()) {
+            return options;
+        }
+        return new Request.Options(
+                Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                remainingMillis, TimeUnit.MILLISECONDS, options.isFollowRedirects());
+    }
+
+    /**
+     * Crea el cliente de un microservicio. Los tiempos de espera se toman de las opciones
+     * de su primera llamada, que son las configuradas para el cliente Feign, de modo que
+     * las llamadas siguientes reutilizan el cliente sin reconstruirlo.
+     */
+    private Downstream createDelegate(String clientName, Request.Options options) {
+        HttpClientProperties.Pool pool = properties.forClient(clientName);
+        ConnectionPool connectionPool = new ConnectionPool(pool.getMaxIdleConnections(),
+                pool.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("report.http.pool.connections", connectionPool,
+                        ConnectionPool::connectionCount)
+                .tag("client", clientName)
+                .tag("state", "total")
+                .description("Open connections in the downstream connection pool")
+                .register(meterRegistry);
+        Gauge.builder("report.http.pool.connections", connectionPool,
+                        ConnectionPool::idleConnectionCount)
+                .tag("client", clientName)
+                .tag("state", "idle")
+                .description("Idle connections in the downstream connection pool")
+                .register(meterRegistry);
+        Gauge.builder("report.http.pool.max.idle", pool,
+                        HttpClientProperties.Pool::getMaxIdleConnections)
+                .tag("client", clientName)
+                .description("Maximum idle connections kept in the downstream connection pool")
+                .register(meterRegistry);
+        Semaphore connections = pool.getMaxConnections() > 0
+                ? new Semaphore(pool.getMaxConnections(), true)
+                : null;
+        if (connections != null) {
+            Gauge.builder("report.http.pool.max.connections", pool,
+                            HttpClientProperties.Pool::getMaxConnections)
+                    .tag("client", clientName)
+                    .description("Maximum concurrent calls, and connections, to the downstream")
+                    .register(meterRegistry);
+            Gauge.builder("report.http.pool.in.use", connections,
+                            semaphore -> pool.getMaxConnections()
+                                    - semaphore.availablePermits())
+                    .tag("client", clientName)
+                    .description("Calls to the downstream currently holding a connection permit")
+                    .register(meterRegistry);
+        }
+        Timer acquireTimer = Timer.builder("report.http.pool.acquire")
+                .tag("client", clientName)
+                .description("Time from call start until a pooled or new connection is acquired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .protocols(protocols(pool.getProtocol()))
+                .connectTimeout(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(options.readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .followRedirects(options.isFollowRedirects())
+                .eventListenerFactory(call -> {
+                    InFlightCall.register(call);
+                    return new AcquireListener(acquireTimer);
+                })
+                .build();
+
+        log.info("Created HTTP connection pool for {}: maxConnections={}, maxIdle={}, "
+                        + "keepAlive={}, protocol={}", clientName, pool.getMaxConnections(),
+                pool.getMaxIdleConnections(), pool.getKeepAlive(), pool.getProtocol());
+        return new Downstream(
+                clientName, new feign.okhttp.OkHttpClient(okHttpClient), connections);
+    }
+
+    private static List<Protocol> protocols(HttpClientProperties.Protocol protocol) {
+        return switch (protocol) {
+            case HTTP_2 -> List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+            case H2_PRIOR_KNOWLEDGE -> List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+            default -> List.of(Protocol.HTTP_1_1);
+        };
+    }
+
+    /**
+     * Cliente OkHttp de un microservicio junto con el semáforo que limita sus llamadas en
+     * curso; sin semáforo las llamadas no se limitan.
+     */
+    private record Downstream(String clientName, Client client, Semaphore connections) {
+
+        Response execute(Request request, Request.Options options) throws IOException {
+            if (connections == null) {
+                return client.execute(request, options);
+            }
+            acquire(options.connectTimeoutMillis());
+            try {
+                return client.execute(request, options);
+            } finally {
+                connections.release();
+            }
+        }
+
+        private void acquire(long timeoutMillis) throws IOException {
+            try {
+                if (!connections.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Connection limit reached for " + clientName
+                            + " after waiting " + timeoutMillis + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(
+                        "Interrupted while waiting for a connection to " + clientName);
+            }
+        }
+    }
+
+    /**
+     * Mide el tiempo de espera por una conexión de cada llamada.
+     */
+    private static final class AcquireListener extends EventListener {
+
+        private final Timer acquireTimer;
+        private long callStart;
+
+        private AcquireListener(Timer acquireTimer) {
+            this.acquireTimer = acquireTimer;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            acquireTimer.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bm_nttdata.report_ms.client.reactive;
+
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente reactivo del microservicio de cuentas bancarias.
+ * Expone las mismas operaciones de consulta que {@code AccountClient} sin bloquear
+ * el hilo que realiza la llamada.
+ */
+public interface ReactiveAccountClient {
+
+    /**
+     * Obtiene las cuentas bancarias de un cliente.
+     *
+     * @param customerId identificador único del cliente
+     * @return cuentas bancarias del cliente
+     */
+    @GetExchange("/accounts")
+    Mono<List<AccountDto>> getCustomerAccounts(@RequestParam("customerId") String customerId);
+
+    /**
+     * Obtiene los saldos diarios de una cuenta bancaria.
+     *
+     * @param id identificador único de la cuenta bancaria
+     * @param searchMonth mes del cual se quiere obtener la información
+     * @return serie de saldos diarios encontrados para el mes de búsqueda
+     */
+    @GetExchange("/accounts/{id}/daily-balance")
+    Mono<DailyBalanceSeries> getAllDailyBalances(
+            @PathVariable("id") String id,
+            @RequestParam("searchMonth")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
+}
@@ -0,0 +1,65 @@
+package com.bm_nttdata.report_ms.client.reactive;
+
+import com.bm_nttdata.report_ms.dto.CreditCardDto;
+import com.bm_nttdata.report_ms.dto.CreditDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente reactivo del microservicio de créditos.
+ * Expone las mismas operaciones de consulta que {@code CreditClient} sin bloquear
+ * el hilo que realiza la llamada.
+ */
+public interface ReactiveCreditClient {
+
+    /**
+     * Obtiene los créditos de un cliente.
+     *
+     * @param customerId identificador único del cliente
+     * @return créditos del cliente
+     */
+    @GetExchange("/credits")
+    Mono<List<CreditDto>> getCustomerCredits(@RequestParam("customerId") String customerId);
+
+    /**
+     * Obtiene los saldos diarios de un crédito.
+     *
+     * @param id identificador único del crédito
+     * @param searchMonth mes del cual se quiere obtener la información
+     * @return serie de saldos diarios encontrados para el mes de búsqueda
+     */
+    @GetExchange("/credits/{id}/daily-balance")
+    Mono<DailyBalanceSeries> getAllCreditDailyBalances(
+            @PathVariable("id") String id,
+            @RequestParam("searchMonth")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
+
+    /**
+     * Obtiene las tarjetas de crédito de un cliente.
+     *
+     * @param customerId identificador único del cliente
+     * @return tarjetas de crédito del cliente
+     */
+    @GetExchange("/credit-cards")
+    Mono<List<CreditCardDto>> getCustomerCreditCards(
+            @RequestParam("customerId") String customerId);
+
+    /**
+     * Obtiene los saldos diarios de una tarjeta de crédito.
+     *
+     * @param id identificador único de la tarjeta de crédito
+     * @param searchMonth mes del cual se quiere obtener la información
+     * @return serie de saldos diarios encontrados para el mes de búsqueda
+     */
+    @GetExchange("/credit-cards/{id}/daily-balance")
+    Mono<DailyBalanceSeries> getAllCreditCardDailyBalances(
+            @PathVariable("id") String id,
+            @RequestParam("searchMonth")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate searchMonth);
+}
@@ -0,0 +1,23 @@
+package com.bm_nttdata.report_ms.client.reactive;
+
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.service.annotation.GetExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente reactivo del microservicio de clientes.
+ * Expone las mismas operaciones de consulta que {@code CustomerClient} sin bloquear
+ * el hilo que realiza la llamada.
+ */
+public interface ReactiveCustomerClient {
+
+    /**
+     * Obtiene la información de un cliente por su identificador.
+     *
+     * @param id Identificador único del cliente
+     * @return DTO con la información del cliente
+     */
+    @GetExchange("/customers/{id}")
+    Mono<CustomerDto> getCustomerById(@PathVariable("id") String id);
+}
@@ -0,0 +1,153 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Instante límite para terminar una solicitud de reporte.
+ * La solicitud HTTP fija su plazo al llegar y lo asocia al hilo que la atiende; los
+ * ámbitos de ejecución lo trasladan a los hilos que hacen las llamadas a los
+ * microservicios, que lo consultan para acotar sus esperas y lo envían aguas abajo.
+ * Cuando no hay plazo asociado, {@link #current()} devuelve {@link #NONE}.
+ */
+public final class Deadline {
+
+    /** Plazo sin límite. */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE, false);
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Crea un plazo que vence después del tiempo indicado.
+     *
+     * @param timeout tiempo disponible desde ahora
+     * @return plazo de la solicitud
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Obtiene el plazo asociado al hilo actual.
+     *
+     * @return plazo del hilo o {@link #NONE} si no tiene
+     */
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? NONE : deadline;
+    }
+
+    /**
+     * Asocia este plazo al hilo actual hasta cerrar el resultado, que restaura el anterior.
+     *
+     * @return asociación del plazo con el hilo
+     */
+    public Binding bind() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Ejecuta una tarea con este plazo asociado al hilo actual.
+     *
+     * @param task tarea a ejecutar
+     * @param <T> tipo del resultado
+     * @return resultado de la tarea
+     */
+    public <T> T call(Supplier<T> task) {
+        try (Binding ignored = bind()) {
+            return task.get();
+        }
+    }
+
+    /**
+     * Reserva para una etapa una fracción del tiempo restante. El plazo resultante nunca
+     * vence después de este, y un plazo sin límite sigue sin límite.
+     *
+     * @param fraction fracción del tiempo restante, entre 0 y 1
+     * @return plazo de la etapa
+     */
+    public Deadline share(double fraction) {
+        if (!bounded || fraction >= 1) {
+            return this;
+        }
+        long now = System.nanoTime();
+        long remaining = Math.max(0, expiresAtNanos - now);
+        return new Deadline(now + (long) (remaining * Math.max(0, fraction)), true);
+    }
+
+    /**
+     * Indica si el plazo tiene límite.
+     *
+     * @return {@code true} si el plazo vence en algún momento
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Indica si el plazo ya venció.
+     *
+     * @return {@code true} si no queda tiempo
+     */
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Obtiene el tiempo restante hasta el vencimiento, nunca negativo.
+     *
+     * @return tiempo restante en nanosegundos
+     */
+    public long remainingNanos() {
+        return bounded ? Math.max(0, expiresAtNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Obtiene el tiempo restante hasta el vencimiento, nunca negativo.
+     *
+     * @return tiempo restante en milisegundos
+     */
+    public long remainingMillis() {
+        return bounded ? remainingNanos() / 1_000_000 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Verifica que el plazo no haya vencido antes de iniciar una etapa.
+     *
+     * @param stage nombre de la etapa, usado en el mensaje de error
+     * @throws DeadlineExceededException si el plazo ya venció
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(
+                    "Request deadline exceeded before " + stage);
+        }
+    }
+
+    /**
+     * Asociación de un plazo con el hilo actual.
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Punto de entrada para ejecutar las llamadas a los microservicios de una solicitud
+ * de reporte. Cada solicitud abre su propio {@link FanOutScope}, de forma que el
+ * límite de concurrencia se aplica por solicitud y no de forma global. El ámbito toma
+ * el plazo asociado al hilo que lo abre.
+ */
+@Component
+public class FanOutExecutor {
+
+    private final Executor executor;
+    private final FanOutProperties properties;
+
+    /**
+     * Construye el ejecutor de llamadas concurrentes.
+     *
+     * @param executor pool de hilos de reportes
+     * @param properties propiedades de ejecución de reportes
+     */
+    public FanOutExecutor(
+            @Qualifier("reportTaskExecutor") Executor executor, FanOutProperties properties) {
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Abre un nuevo ámbito de ejecución para una solicitud de reporte.
+     * En modo secuencial las tareas se ejecutan inmediatamente en el hilo que las envía.
+     *
+     * @return ámbito de ejecución de la solicitud
+     */
+    public FanOutScope openScope() {
+        return openScope(properties.getMaxConcurrencyPerRequest());
+    }
+
+    /**
+     * Abre un nuevo ámbito de ejecución con un límite de concurrencia específico.
+     *
+     * @param maxConcurrency número máximo de tareas simultáneas del ámbito
+     * @return ámbito de ejecución de la solicitud
+     */
+    public FanOutScope openScope(int maxConcurrency) {
+        if (properties.getMode() == FanOutProperties.Mode.SEQUENTIAL) {
+            return FanOutScope.sequential(Deadline.current());
+        }
+        return FanOutScope.parallel(executor, maxConcurrency, Deadline.current());
+    }
+}
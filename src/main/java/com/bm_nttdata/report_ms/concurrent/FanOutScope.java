@@ -0,0 +1,236 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ámbito de ejecución de las llamadas de una única solicitud de reporte.
+ * Limita el número de tareas en curso sin bloquear hilos del pool: las tareas que
+ * exceden el límite quedan en cola y se lanzan a medida que terminan las anteriores.
+ * Cada tarea se ejecuta con el plazo de la solicitud asociado a su hilo, y las que llegan
+ * a lanzarse después de vencido el plazo fallan sin ejecutarse. Las tareas que el pool
+ * rechaza por estar saturado fallan con {@link ServiceException}.
+ */
+public final class FanOutScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Deadline deadline;
+    private final Queue<PendingTask> pending = new ArrayDeque<>();
+    private int inFlight;
+    private boolean closed;
+
+    private FanOutScope(Executor executor, int maxConcurrency, Deadline deadline) {
+        this.executor = executor;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.deadline = deadline;
+    }
+
+    static FanOutScope sequential(Deadline deadline) {
+        return new FanOutScope(null, 1, deadline);
+    }
+
+    static FanOutScope parallel(Executor executor, int maxConcurrency, Deadline deadline) {
+        return new FanOutScope(executor, maxConcurrency, deadline);
+    }
+
+    /**
+     * Obtiene el plazo de la solicitud a la que pertenece el ámbito.
+     *
+     * @return plazo de la solicitud
+     */
+    public Deadline deadline() {
+        return deadline;
+    }
+
+    /**
+     * Envía una tarea al ámbito.
+     *
+     * @param task tarea a ejecutar
+     * @param <T> tipo del resultado
+     * @return futuro con el resultado de la tarea
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return submit(deadline, task);
+    }
+
+    /**
+     * Envía una tarea al ámbito con un plazo propio, normalmente una parte del plazo
+     * de la solicitud reservada para una etapa.
+     *
+     * @param taskDeadline plazo de la tarea
+     * @param task tarea a ejecutar
+     * @param <T> tipo del resultado
+     * @return futuro con el resultado de la tarea
+     */
+    public <T> CompletableFuture<T> submit(Deadline taskDeadline, Supplier<T> task) {
+        Supplier<T> boundTask = () -> {
+            taskDeadline.check("downstream call");
+            return taskDeadline.call(task);
+        };
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(boundTask.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        BooleanSupplier launch = () -> {
+            try {
+                CompletableFuture.supplyAsync(boundTask, executor)
+                        .whenComplete((value, error) -> {
+                            release();
+                            if (error != null) {
+                                result.completeExceptionally(unwrap(error));
+                            } else {
+                                result.complete(value);
+                            }
+                        });
+                return true;
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new ServiceException(
+                        "Report task pool is saturated: " + e.getMessage()));
+                return false;
+            }
+        };
+
+        boolean launchNow;
+        synchronized (this) {
+            if (closed) {
+                result.cancel(false);
+                return result;
+            }
+            launchNow = inFlight < maxConcurrency;
+            if (launchNow) {
+                inFlight++;
+            } else {
+                pending.add(new PendingTask(launch, result));
+            }
+        }
+        if (launchNow && !launch.getAsBoolean()) {
+            release();
+        }
+        return result;
+    }
+
+    /**
+     * Aplica una tarea a cada elemento de la lista y ensambla los resultados
+     * en el mismo orden que los elementos de entrada.
+     *
+     * @param items elementos a procesar
+     * @param task tarea aplicada a cada elemento
+     * @param <T> tipo de los elementos
+     * @param <R> tipo de los resultados
+     * @return futuro con la lista ordenada de resultados
+     */
+    public <T, R> CompletableFuture<List<R>> mapOrdered(List<T> items, Function<T, R> task) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(submit(() -> task.apply(item)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<R> results = new ArrayList<>(futures.size());
+                    futures.forEach(future -> results.add(future.join()));
+                    return results;
+                });
+    }
+
+    /**
+     * Espera el resultado de un futuro del ámbito, propagando la excepción original
+     * en lugar de la envoltura de {@link CompletableFuture}. La espera termina como
+     * máximo al vencer el plazo asociado al hilo que espera.
+     *
+     * @param future futuro a esperar
+     * @param <T> tipo del resultado
+     * @return resultado del futuro
+     * @throws DeadlineExceededException si el plazo vence antes de obtener el resultado
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        Deadline deadline = Deadline.current();
+        try {
+            if (!deadline.isBounded() || future.isDone()) {
+                return future.get();
+            }
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(
+                    "Request deadline exceeded while waiting for report data");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for report data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Obtiene la causa original de una excepción envuelta por {@link CompletableFuture}.
+     *
+     * @param error excepción recibida
+     * @return causa original de la excepción
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Descarta las tareas que aún no se han lanzado, cancelando sus futuros para que no
+     * queden esperas pendientes. Las tareas en curso terminan normalmente.
+     */
+    @Override
+    public void close() {
+        List<PendingTask> discarded;
+        synchronized (this) {
+            closed = true;
+            discarded = new ArrayList<>(pending);
+            pending.clear();
+        }
+        discarded.forEach(task -> task.result().cancel(false));
+    }
+
+    /**
+     * Libera el lugar de una tarea terminada lanzando la siguiente tarea en cola. Si el
+     * pool rechaza la siguiente, su lugar pasa a la que le sigue.
+     */
+    private void release() {
+        PendingTask next;
+        do {
+            synchronized (this) {
+                next = closed ? null : pending.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+        } while (!next.launch().getAsBoolean());
+    }
+
+    private record PendingTask(BooleanSupplier launch, CompletableFuture<?> result) {
+    }
+}
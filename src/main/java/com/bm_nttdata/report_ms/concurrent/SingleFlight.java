@@ -0,0 +1,117 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Comparte una única ejecución entre las solicitudes concurrentes con la misma clave.
+ * La primera solicitud ejecuta el cálculo en su propio hilo y las que llegan mientras
+ * está en curso esperan y reciben el mismo resultado o la misma excepción. Cuando termina,
+ * la clave se libera, por lo que las solicitudes posteriores vuelven a calcular.
+ * Cada solicitud espera según su propio plazo: si el cálculo compartido falla porque venció
+ * el plazo de la solicitud que lo ejecutaba y el de la que espera no ha vencido, esta
+ * vuelve a intentarlo en lugar de recibir ese error.
+ * El número de claves en curso está acotado: al alcanzarse el límite, las solicitudes
+ * nuevas se ejecutan sin compartir.
+ *
+ * @param <K> tipo de la clave de la solicitud
+ * @param <V> tipo del resultado
+ */
+public class SingleFlight<K, V> {
+
+    private final int maxInFlight;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter shared;
+    private final Counter bypassed;
+
+    /**
+     * Construye un agrupador de solicitudes idénticas y registra sus métricas.
+     *
+     * @param name nombre del agrupador, usado como etiqueta de las métricas
+     * @param maxInFlight número máximo de claves en curso
+     * @param meterRegistry registro de métricas
+     */
+    public SingleFlight(String name, int maxInFlight, MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight;
+        this.executed = requests(meterRegistry, name, "executed");
+        this.shared = requests(meterRegistry, name, "shared");
+        this.bypassed = requests(meterRegistry, name, "bypassed");
+        Gauge.builder("report.single.flight.in.flight", inFlight, Map::size)
+                .description("Number of distinct requests currently being computed")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("report.single.flight.dedup.ratio", this, SingleFlight::dedupRatio)
+                .description("Fraction of requests served by an already running computation")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta el cálculo de la clave o espera al que ya está en curso.
+     *
+     * @param key clave de la solicitud
+     * @param computation cálculo a ejecutar
+     * @return resultado del cálculo
+     */
+    public V execute(K key, Supplier<V> computation) {
+        while (true) {
+            CompletableFuture<V> running = inFlight.get(key);
+            if (running == null) {
+                if (inFlight.size() >= maxInFlight) {
+                    bypassed.increment();
+                    return computation.get();
+                }
+                CompletableFuture<V> own = new CompletableFuture<>();
+                running = inFlight.putIfAbsent(key, own);
+                if (running == null) {
+                    return compute(key, own, computation);
+                }
+            }
+
+            shared.increment();
+            try {
+                return FanOutScope.await(running);
+            } catch (DeadlineExceededException e) {
+                if (!running.isCompletedExceptionally() || Deadline.current().isExpired()) {
+                    throw e;
+                }
+                // Venció el plazo de la solicitud que calculaba, no el de esta.
+                inFlight.remove(key, running);
+            }
+        }
+    }
+
+    private V compute(K key, CompletableFuture<V> own, Supplier<V> computation) {
+        executed.increment();
+        try {
+            V result = computation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private double dedupRatio() {
+        double total = executed.count() + shared.count() + bypassed.count();
+        return total == 0 ? 0 : shared.count() / total;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("report.single.flight.requests")
+                .description("Requests handled by the single-flight coalescer")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la consulta paginada de las cuentas bancarias activas
+ * en los reportes de comisiones.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.fees.account-pages")
+public class AccountPagingProperties {
+
+    /**
+     * Habilita la consulta de las cuentas activas por páginas. Requiere que account-ms
+     * exponga el endpoint {@code /accounts/by-status/page}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Número máximo de cuentas por página.
+     */
+    private int size = 1000;
+}
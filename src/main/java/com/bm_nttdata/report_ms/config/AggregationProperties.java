@@ -0,0 +1,23 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.math.RoundingMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del cálculo de totales y promedios de los reportes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.aggregation")
+public class AggregationProperties {
+
+    /**
+     * Número de decimales de los totales y promedios calculados.
+     */
+    private int scale = 2;
+
+    /**
+     * Modo de redondeo aplicado al ajustar los resultados a la escala configurada.
+     */
+    private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
+}
@@ -0,0 +1,40 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del reporte de saldos diarios de varios clientes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.balance-batch")
+public class BalanceReportBatchProperties {
+
+    /**
+     * Número máximo de clientes cuyo reporte se genera a la vez dentro de un lote.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Número de hilos que generan los reportes de los lotes. Limita los reportes de
+     * clientes en curso entre todos los lotes.
+     */
+    private int workerThreads = 8;
+
+    /**
+     * Capacidad de la cola del pool de los lotes. Cada lote encola como máximo tantos
+     * clientes como su paralelismo; los clientes que no caben se entregan como fallidos.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Número máximo de clientes por lote.
+     */
+    private int maxCustomers = 10000;
+
+    /**
+     * Plazo del reporte de cada cliente del lote.
+     */
+    private Duration customerTimeout = Duration.ofSeconds(15);
+}
@@ -0,0 +1,47 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de los reportes de saldos diarios precalculados de los
+ * meses cerrados.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.balance-snapshots")
+public class BalanceSnapshotProperties {
+
+    /**
+     * Habilita el precálculo de los reportes y su uso para responder los meses cerrados.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directorio en el que se guardan los reportes precalculados.
+     */
+    private String directory =
+            System.getProperty("java.io.tmpdir") + "/report-ms/balance-snapshots";
+
+    /**
+     * Expresión cron de la tarea que precalcula los reportes del mes anterior. Cada
+     * ejecución continúa con los clientes que aún no tienen reporte.
+     */
+    private String cron = "0 0 1 * * *";
+
+    /**
+     * Tiempo máximo de cada ejecución de la tarea. Los clientes pendientes al vencer se
+     * precalculan en la siguiente ejecución.
+     */
+    private Duration window = Duration.ofHours(4);
+
+    /**
+     * Número máximo de reportes precalculados por segundo; cero para no limitarlos.
+     */
+    private double reportsPerSecond = 50;
+
+    /**
+     * Número de meses cerrados cuyos reportes se conservan.
+     */
+    private int retainedMonths = 13;
+}
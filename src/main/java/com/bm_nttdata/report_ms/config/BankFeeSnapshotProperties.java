@@ -0,0 +1,30 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de los reportes de comisiones bancarias guardados de los
+ * períodos cerrados.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.fees.snapshots")
+public class BankFeeSnapshotProperties {
+
+    /**
+     * Habilita el guardado de los reportes de los períodos cerrados y su uso para
+     * responderlos.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directorio en el que se guardan los reportes.
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/report-ms/fee-snapshots";
+
+    /**
+     * Tiempo que se conserva un reporte desde que se guarda.
+     */
+    private Duration retention = Duration.ofDays(90);
+}
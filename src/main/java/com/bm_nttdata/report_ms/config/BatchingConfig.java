@@ -0,0 +1,48 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuración de los hilos utilizados por las llamadas por lotes.
+ * Los lotes se envían en un pool propio para que los hilos del pool de reportes,
+ * que esperan sus resultados, nunca bloqueen el envío de los lotes.
+ */
+@Configuration
+public class BatchingConfig {
+
+    /**
+     * Crea el planificador que cierra las ventanas de agrupación.
+     *
+     * @return planificador de ventanas de agrupación
+     */
+    @Bean(name = "batchWindowScheduler")
+    public ThreadPoolTaskScheduler batchWindowScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("report-batch-window-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Crea el pool de hilos que envía los lotes a los microservicios.
+     *
+     * @param properties propiedades de agrupación por lotes
+     * @return pool de envío de lotes
+     */
+    @Bean(name = "batchDispatchExecutor")
+    public ThreadPoolTaskExecutor batchDispatchExecutor(BatchingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getDispatchThreads());
+        executor.setMaxPoolSize(properties.getDispatchThreads());
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("report-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
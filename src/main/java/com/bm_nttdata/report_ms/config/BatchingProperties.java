@@ -0,0 +1,36 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración para la agrupación de consultas por producto
+ * en llamadas por lotes a los microservicios de cuentas y créditos.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.batching")
+public class BatchingProperties {
+
+    /**
+     * Habilita el uso de los endpoints por lotes. Requiere que account-ms y credit-ms
+     * expongan los endpoints {@code /batch}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tiempo máximo que una consulta espera a que se acumulen otras antes de enviarse.
+     */
+    private Duration window = Duration.ofMillis(5);
+
+    /**
+     * Número máximo de identificadores por llamada. Al alcanzarlo el lote se envía
+     * sin esperar a que termine la ventana.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Número de hilos dedicados al envío de los lotes.
+     */
+    private int dispatchThreads = 8;
+}
@@ -0,0 +1,23 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración para compartir la generación de reportes entre
+ * solicitudes idénticas y concurrentes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Habilita que las solicitudes idénticas concurrentes compartan una sola generación.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de reportes distintos en curso que se pueden compartir por tipo de reporte.
+     */
+    private int maxInFlight = 10_000;
+}
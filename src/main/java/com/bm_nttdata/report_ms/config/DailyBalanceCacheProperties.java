@@ -0,0 +1,34 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la caché de saldos diarios por producto y mes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.cache.daily-balance")
+public class DailyBalanceCacheProperties {
+
+    /**
+     * Habilita la caché de saldos diarios.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de entradas de meses cerrados. Sus saldos no cambian, por lo que
+     * solo se eliminan por tamaño, empezando por las menos utilizadas.
+     */
+    private long closedMonthMaxSize = 100_000;
+
+    /**
+     * Tiempo de vida de las entradas del mes en curso, cuyos saldos aún cambian.
+     */
+    private Duration currentMonthTtl = Duration.ofMinutes(5);
+
+    /**
+     * Número máximo de entradas del mes en curso.
+     */
+    private long currentMonthMaxSize = 10_000;
+}
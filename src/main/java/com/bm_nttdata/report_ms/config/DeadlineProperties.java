@@ -0,0 +1,56 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del plazo de las solicitudes de reportes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Habilita el plazo por solicitud.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rutas, en formato Ant, de las solicitudes a las que se aplica el plazo. Los reportes
+     * de comisiones, su resumen y su versión NDJSON recorren todas las cuentas activas y no
+     * se limitan; el lote de saldos aplica su propio plazo por cliente.
+     */
+    private List<String> paths =
+            new ArrayList<>(List.of("/**/reports/customers/*/average-balances"));
+
+    /**
+     * Cabecera con la que el cliente indica su plazo y con la que se propaga el tiempo
+     * restante a los microservicios. Admite milisegundos o una duración como {@code 2s}.
+     */
+    private String header = "X-Request-Timeout";
+
+    /**
+     * Plazo de las solicitudes que no indican la cabecera.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(15);
+
+    /**
+     * Plazo mínimo aceptado desde la cabecera, para que plazos demasiado cortos no se
+     * cuenten como fallos de los microservicios en los circuit breakers.
+     */
+    private Duration minTimeout = Duration.ofMillis(500);
+
+    /**
+     * Plazo máximo aceptado desde la cabecera.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Fracción del plazo reservada para la consulta del cliente y los listados de
+     * productos; el resto queda para las consultas de cada producto.
+     */
+    private double listingShare = 0.4;
+}
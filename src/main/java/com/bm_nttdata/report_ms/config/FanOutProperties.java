@@ -0,0 +1,48 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración para la ejecución de las llamadas a los microservicios
+ * de cuentas, créditos y clientes durante la generación de reportes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Modo de ejecución de las llamadas a los microservicios.
+     */
+    private Mode mode = Mode.PARALLEL;
+
+    /**
+     * Número máximo de llamadas simultáneas que puede realizar una sola solicitud de reporte.
+     */
+    private int maxConcurrencyPerRequest = 8;
+
+    /**
+     * Configuración del pool de hilos compartido por todas las solicitudes.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * Modos de ejecución disponibles.
+     */
+    public enum Mode {
+        /** Las llamadas se realizan una tras otra en el hilo de la solicitud. */
+        SEQUENTIAL,
+        /** Las llamadas se realizan de forma concurrente en el pool de hilos de reportes. */
+        PARALLEL
+    }
+
+    /**
+     * Configuración del pool de hilos de reportes.
+     */
+    @Data
+    public static class Pool {
+        private int coreSize = 16;
+        private int maxSize = 64;
+        private int queueCapacity = 1000;
+    }
+}
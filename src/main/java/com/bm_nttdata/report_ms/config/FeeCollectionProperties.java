@@ -0,0 +1,18 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración para la recolección de comisiones del reporte
+ * de comisiones bancarias.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.fees")
+public class FeeCollectionProperties {
+
+    /**
+     * Número máximo de consultas de comisiones simultáneas por reporte.
+     */
+    private int parallelism = 16;
+}
@@ -0,0 +1,43 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de los acumulados diarios de comisiones bancarias.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.fees.rollup")
+public class FeeRollupProperties {
+
+    /**
+     * Habilita el guardado de los acumulados diarios, su uso para responder los totales y
+     * la tarea programada que los calcula.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directorio en el que se guardan los acumulados diarios.
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/report-ms/fee-rollups";
+
+    /**
+     * Expresión cron de la tarea que acumula los días cerrados.
+     */
+    private String cron = "0 30 0 * * *";
+
+    /**
+     * Número de días cerrados, contando hacia atrás desde el último día cerrado según los
+     * días de asentamiento, que la tarea programada
+     * verifica y acumula si aún no lo están.
+     */
+    private int backfillDays = 1;
+
+    /**
+     * Número máximo de días cerrados sin acumulado que una consulta de totales calcula y
+     * guarda, empezando por los más recientes. Los acumulados se calculan con las cuentas
+     * activas en el momento de la consulta, por lo que los días más antiguos se calculan
+     * en línea sin guardarlos.
+     */
+    private int fillMaxDays = 31;
+}
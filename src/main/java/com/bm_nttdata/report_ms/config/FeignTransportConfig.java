@@ -0,0 +1,80 @@
+package com.bm_nttdata.report_ms.config;
+
+import com.bm_nttdata.report_ms.client.http.BulkheadFeignClient;
+import com.bm_nttdata.report_ms.client.http.HedgingFeignClient;
+import com.bm_nttdata.report_ms.client.http.PooledFeignClient;
+import feign.Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuración del transporte HTTP de los clientes Feign.
+ * Con {@code report.http.transport=OKHTTP} (valor por defecto) los clientes usan un pool
+ * de conexiones OkHttp por microservicio; con {@code DEFAULT} se mantiene el transporte
+ * estándar de Feign. Con {@code report.hedging.enabled=true} el transporte OkHttp envía
+ * solicitudes de respaldo para las consultas idempotentes lentas; en ese caso el bulkhead
+ * de cada microservicio se aplica por debajo del respaldo, a cada llamada enviada.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "report.http", name = "transport", havingValue = "OKHTTP",
+        matchIfMissing = true)
+public class FeignTransportConfig {
+
+    /**
+     * Crea el transporte HTTP con pools de conexiones por microservicio.
+     *
+     * @param properties propiedades del transporte HTTP
+     * @param hedgingProperties propiedades de las solicitudes de respaldo
+     * @param hedgeExecutor pool de las solicitudes de respaldo, si están habilitadas
+     * @param bulkheadRegistry registro de bulkheads por microservicio
+     * @param discoveryClient cliente de descubrimiento de instancias
+     * @param meterRegistry registro de métricas
+     * @return transporte HTTP de los clientes Feign
+     */
+    @Bean
+    public Client pooledFeignClient(
+            HttpClientProperties properties,
+            HedgingProperties hedgingProperties,
+            @Qualifier("hedgeExecutor") ObjectProvider<Executor> hedgeExecutor,
+            BulkheadRegistry bulkheadRegistry,
+            ObjectProvider<DiscoveryClient> discoveryClient,
+            MeterRegistry meterRegistry) {
+        Client client = new PooledFeignClient(properties, meterRegistry);
+        Executor executor = hedgeExecutor.getIfAvailable();
+        if (executor == null) {
+            return client;
+        }
+        return new HedgingFeignClient(new BulkheadFeignClient(client, bulkheadRegistry),
+                hedgingProperties, executor, discoveryClient, meterRegistry);
+    }
+
+    /**
+     * Crea el pool que ejecuta las solicitudes de respaldo; la llamada original se hace
+     * siempre en el hilo que la solicita. No tiene cola: si no hay hilos libres cuando
+     * vence la espera, la llamada continúa sin respaldo.
+     *
+     * @param properties propiedades de las solicitudes de respaldo
+     * @return pool de las solicitudes con respaldo
+     */
+    @Bean(name = "hedgeExecutor")
+    @ConditionalOnProperty(prefix = "report.hedging", name = "enabled", havingValue = "true")
+    public ThreadPoolTaskExecutor hedgeExecutor(HedgingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(properties.getMaxThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("report-hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
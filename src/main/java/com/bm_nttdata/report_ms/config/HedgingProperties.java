@@ -0,0 +1,78 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del envío de solicitudes de respaldo (hedging) a los
+ * microservicios. Solo se aplica a las consultas idempotentes indicadas y requiere el
+ * transporte OkHttp.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.hedging")
+public class HedgingProperties {
+
+    /**
+     * Habilita el envío de solicitudes de respaldo.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Métodos de los clientes Feign que se pueden repetir, por nombre de método.
+     */
+    private List<String> operations = new ArrayList<>(List.of(
+            "getAllDailyBalances",
+            "getAllCreditDailyBalances",
+            "getAllCreditCardDailyBalances",
+            "getAllAccountFees"));
+
+    /**
+     * Percentil de la latencia reciente de cada operación a partir del cual se envía
+     * la solicitud de respaldo.
+     */
+    private double percentile = 95.0;
+
+    /**
+     * Espera mínima antes de enviar una solicitud de respaldo.
+     */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /**
+     * Espera máxima antes de enviar una solicitud de respaldo.
+     */
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    /**
+     * Intervalo con el que se recalcula el umbral a partir de las latencias recientes.
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * Número de latencias recientes que se conservan por operación.
+     */
+    private int sampleSize = 1000;
+
+    /**
+     * Número mínimo de latencias medidas para calcular el umbral; mientras no se alcance
+     * no se envían solicitudes de respaldo.
+     */
+    private int minSamples = 100;
+
+    /**
+     * Solicitudes de respaldo permitidas por cada solicitud original.
+     */
+    private double budgetRatio = 0.05;
+
+    /**
+     * Máximo de solicitudes de respaldo acumuladas que se pueden enviar seguidas.
+     */
+    private int budgetBurst = 20;
+
+    /**
+     * Número máximo de hilos del pool que ejecuta las solicitudes de respaldo.
+     */
+    private int maxThreads = 128;
+}
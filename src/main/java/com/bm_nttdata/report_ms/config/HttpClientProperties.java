@@ -0,0 +1,80 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del transporte HTTP de los clientes Feign.
+ * Cada microservicio, identificado por el nombre de su cliente Feign, puede tener su propio
+ * pool de conexiones; los que no se configuran usan los valores por defecto. Los tiempos
+ * de espera de conexión y de lectura se configuran por cliente con las propiedades
+ * estándar {@code spring.cloud.openfeign.client.config.<cliente>}.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.http")
+public class HttpClientProperties {
+
+    /**
+     * Transporte usado por los clientes Feign.
+     */
+    private Transport transport = Transport.OKHTTP;
+
+    /**
+     * Configuración aplicada a los microservicios sin configuración propia.
+     */
+    private Pool defaults = new Pool();
+
+    /**
+     * Configuración por microservicio, indexada por el nombre del cliente Feign.
+     */
+    private Map<String, Pool> clients = new HashMap<>();
+
+    /**
+     * Obtiene la configuración del pool de un microservicio.
+     *
+     * @param clientName nombre del cliente Feign
+     * @return configuración propia del microservicio o la configuración por defecto
+     */
+    public Pool forClient(String clientName) {
+        return clients.getOrDefault(clientName, defaults);
+    }
+
+    /**
+     * Transportes disponibles.
+     */
+    public enum Transport {
+        /** Transporte por defecto de Feign, sin pool de conexiones configurable. */
+        DEFAULT,
+        /** OkHttp con un pool de conexiones por microservicio. */
+        OKHTTP
+    }
+
+    /**
+     * Versiones del protocolo HTTP.
+     */
+    public enum Protocol {
+        /** Solo HTTP/1.1. */
+        HTTP_1_1,
+        /** HTTP/2 negociado mediante ALPN sobre TLS, con HTTP/1.1 como alternativa. */
+        HTTP_2,
+        /** HTTP/2 sin TLS, sin negociación; el microservicio debe soportarlo. */
+        H2_PRIOR_KNOWLEDGE
+    }
+
+    /**
+     * Configuración del pool de conexiones de un microservicio.
+     * {@code maxConnections} limita las llamadas, y por tanto las conexiones, en curso hacia
+     * el microservicio (0 sin límite); {@code maxIdleConnections} solo limita las conexiones
+     * inactivas que el pool conserva para reutilizarlas.
+     */
+    @Data
+    public static class Pool {
+        private int maxConnections = 20;
+        private int maxIdleConnections = 20;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private Protocol protocol = Protocol.HTTP_1_1;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bm_nttdata.report_ms.config;
+
+import com.bm_nttdata.report_ms.client.reactive.ReactiveAccountClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCreditClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCustomerClient;
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Configuración de los clientes reactivos de los microservicios.
+ * Solo se activa con {@code report.client.mode=REACTIVE}. Todos los clientes comparten
+ * un pool de conexiones y el event loop de Reactor Netty, por lo que el número de
+ * llamadas en curso no depende del número de hilos. El plazo de la solicitud viaja en el
+ * contexto de Reactor y se envía a los microservicios igual que en los clientes Feign.
+ * Cada cliente usa el mismo bulkhead que el cliente Feign de su microservicio.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "report.client", name = "mode", havingValue = "REACTIVE")
+public class ReactiveClientConfig {
+
+    /**
+     * Crea el pool de conexiones compartido por los clientes reactivos.
+     *
+     * @param properties propiedades de los clientes
+     * @return pool de conexiones
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reportConnectionProvider(ReportClientProperties properties) {
+        ReportClientProperties.Reactive reactive = properties.getReactive();
+        return ConnectionProvider.builder("report-ms")
+                .maxConnections(reactive.getMaxConnections())
+                .pendingAcquireMaxCount(reactive.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(reactive.getPendingAcquireTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Crea el conector HTTP no bloqueante de los clientes reactivos.
+     *
+     * @param connectionProvider pool de conexiones
+     * @param properties propiedades de los clientes
+     * @return conector HTTP
+     */
+    @Bean
+    public ReactorClientHttpConnector reportClientHttpConnector(
+            ConnectionProvider connectionProvider, ReportClientProperties properties) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .responseTimeout(properties.getReactive().getResponseTimeout()));
+    }
+
+    /**
+     * Crea el cliente reactivo del microservicio de cuentas.
+     *
+     * @param builder constructor de WebClient de la aplicación
+     * @param connector conector HTTP
+     * @param url URL base del microservicio de cuentas
+     * @param deadlineProperties propiedades del plazo de las solicitudes
+     * @param bulkheadRegistry registro de bulkheads por microservicio
+     * @return cliente reactivo de cuentas
+     */
+    @Bean
+    public ReactiveAccountClient reactiveAccountClient(
+            WebClient.Builder builder,
+            ReactorClientHttpConnector connector,
+            @Value("${account-service.url}") String url,
+            DeadlineProperties deadlineProperties,
+            BulkheadRegistry bulkheadRegistry) {
+        return createClient(builder, connector, url, deadlineProperties,
+                bulkheadRegistry.bulkhead("account-ms"), ReactiveAccountClient.class);
+    }
+
+    /**
+     * Crea el cliente reactivo del microservicio de créditos.
+     *
+     * @param builder constructor de WebClient de la aplicación
+     * @param connector conector HTTP
+     * @param url URL base del microservicio de créditos
+     * @param deadlineProperties propiedades del plazo de las solicitudes
+     * @param bulkheadRegistry registro de bulkheads por microservicio
+     * @return cliente reactivo de créditos
+     */
+    @Bean
+    public ReactiveCreditClient reactiveCreditClient(
+            WebClient.Builder builder,
+            ReactorClientHttpConnector connector,
+            @Value("${credit-service.url}") String url,
+            DeadlineProperties deadlineProperties,
+            BulkheadRegistry bulkheadRegistry) {
+        return createClient(builder, connector, url, deadlineProperties,
+                bulkheadRegistry.bulkhead("credit-ms"), ReactiveCreditClient.class);
+    }
+
+    /**
+     * Crea el cliente reactivo del microservicio de clientes.
+     *
+     * @param builder constructor de WebClient de la aplicación
+     * @param connector conector HTTP
+     * @param url URL base del microservicio de clientes
+     * @param deadlineProperties propiedades del plazo de las solicitudes
+     * @param bulkheadRegistry registro de bulkheads por microservicio
+     * @return cliente reactivo de clientes
+     */
+    @Bean
+    public ReactiveCustomerClient reactiveCustomerClient(
+            WebClient.Builder builder,
+            ReactorClientHttpConnector connector,
+            @Value("${customer-service.url}") String url,
+            DeadlineProperties deadlineProperties,
+            BulkheadRegistry bulkheadRegistry) {
+        return createClient(builder, connector, url, deadlineProperties,
+                bulkheadRegistry.bulkhead("customer-ms"), ReactiveCustomerClient.class);
+    }
+
+    private static <T> T createClient(
+            WebClient.Builder builder,
+            ReactorClientHttpConnector connector,
+            String url,
+            DeadlineProperties deadlineProperties,
+            Bulkhead bulkhead,
+            Class<T> clientType) {
+        WebClient webClient = builder.clone()
+                .baseUrl(url)
+                .clientConnector(connector)
+                .filter(propagateDeadline(deadlineProperties))
+                .filter(isolate(bulkhead))
+                .build();
+        return HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient))
+                .build()
+                .createClient(clientType);
+    }
+
+    /**
+     * Envía a los microservicios el tiempo restante del plazo guardado en el contexto
+     * de Reactor, en milisegundos.
+     */
+    private static ExchangeFilterFunction propagateDeadline(DeadlineProperties properties) {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, Deadline.NONE);
+            if (!properties.isEnabled() || !deadline.isBounded()) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(properties.getHeader(), String.valueOf(deadline.remainingMillis()))
+                    .build());
+        });
+    }
+
+    /**
+     * Limita las llamadas en curso al microservicio con su bulkhead. Sin permisos libres
+     * la llamada falla de inmediato, ya que esperar un permiso bloquearía el event loop.
+     */
+    private static ExchangeFilterFunction isolate(Bulkhead bulkhead) {
+        return (request, next) -> Mono.defer(() -> {
+            if (!bulkhead.tryAcquirePermission()) {
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+            return next.exchange(request).doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de los clientes HTTP de los microservicios de cuentas,
+ * créditos y clientes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.client")
+public class ReportClientProperties {
+
+    /**
+     * Implementación de los clientes usada para generar el reporte de saldos diarios.
+     */
+    private Mode mode = Mode.BLOCKING;
+
+    /**
+     * Configuración de los clientes reactivos.
+     */
+    private Reactive reactive = new Reactive();
+
+    /**
+     * Implementaciones de clientes disponibles.
+     */
+    public enum Mode {
+        /** Clientes Feign; cada llamada en curso ocupa un hilo. */
+        BLOCKING,
+        /** Clientes WebClient no bloqueantes; las llamadas se atienden en el event loop. */
+        REACTIVE
+    }
+
+    /**
+     * Configuración del pool de conexiones de los clientes reactivos.
+     */
+    @Data
+    public static class Reactive {
+        private int maxConnections = 500;
+        private int pendingAcquireMaxCount = 10000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        private Duration responseTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuración del pool de hilos utilizado para paralelizar las llamadas
+ * a los microservicios durante la generación de reportes.
+ */
+@Configuration
+public class ReportExecutorConfig {
+
+    /**
+     * Crea el pool de hilos acotado para las llamadas de los reportes.
+     * Cuando la cola se llena, la tarea se rechaza y la llamada falla con
+     * {@link com.bm_nttdata.report_ms.exception.ServiceException}. Ejecutarla en el hilo que
+     * la envía no es seguro: las tareas que se lanzan desde un hilo del pool, como los
+     * saldos de cada producto tras recibir el listado, se ejecutarían fuera del pool y
+     * superarían el límite de concurrencia.
+     *
+     * @param properties propiedades de ejecución de reportes
+     * @return pool de hilos de reportes
+     */
+    @Bean(name = "reportTaskExecutor")
+    public ThreadPoolTaskExecutor reportTaskExecutor(FanOutProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPool().getCoreSize());
+        executor.setMaxPoolSize(properties.getPool().getMaxSize());
+        executor.setQueueCapacity(properties.getPool().getQueueCapacity());
+        executor.setThreadNamePrefix("report-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Crea el pool de hilos que genera los reportes de los clientes de un lote. Es
+     * independiente del pool de llamadas, ya que cada reporte espera a sus propias
+     * llamadas a los microservicios. Cada lote mantiene en la cola como máximo tantos
+     * clientes como su paralelismo, y la cola está acotada para que muchos lotes
+     * simultáneos no acumulen clientes sin límite; al llenarse, la tarea se rechaza.
+     *
+     * @param properties propiedades del reporte de varios clientes
+     * @return pool de hilos de los lotes de reportes
+     */
+    @Bean(name = "balanceBatchExecutor")
+    public ThreadPoolTaskExecutor balanceBatchExecutor(BalanceReportBatchProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("report-batch-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bm_nttdata.report_ms.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuración del pool de hilos que ejecuta los trabajos asíncronos de reportes.
+ */
+@Configuration
+public class ReportJobConfig {
+
+    /**
+     * Crea el pool acotado de trabajos de reportes. Cuando la cola se llena
+     * los nuevos trabajos se rechazan en lugar de ejecutarse en el hilo web.
+     *
+     * @param properties propiedades de los trabajos de reportes
+     * @return pool de trabajos de reportes
+     */
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(ReportJobProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propiedades de configuración de los trabajos asíncronos de generación de reportes
+ * y del almacenamiento local de sus resultados.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.jobs")
+public class ReportJobProperties {
+
+    /**
+     * Número de hilos que generan reportes en segundo plano.
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Número máximo de trabajos en espera. Al superarlo los nuevos trabajos se rechazan.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Configuración del almacenamiento de resultados.
+     */
+    private Store store = new Store();
+
+    /**
+     * Configuración del almacenamiento local de resultados.
+     */
+    @Data
+    public static class Store {
+
+        /**
+         * Directorio en el que se guardan los resultados.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/report-ms/jobs";
+
+        /**
+         * Tiempo que se conserva un resultado desde que se genera.
+         */
+        private Duration retention = Duration.ofHours(24);
+
+        /**
+         * Tamaño máximo del almacenamiento. Al superarlo se eliminan los resultados
+         * más antiguos.
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+    }
+}
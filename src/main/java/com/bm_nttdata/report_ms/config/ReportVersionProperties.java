@@ -0,0 +1,31 @@
+package com.bm_nttdata.report_ms.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de las versiones ({@code ETag}) de los reportes y de su
+ * almacenamiento en caché por los clientes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.versions")
+public class ReportVersionProperties {
+
+    /**
+     * Habilita las cabeceras {@code ETag} y {@code Cache-Control} de los reportes y las
+     * respuestas 304 a las solicitudes condicionales.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de versiones de reportes de períodos cerrados que se recuerdan.
+     */
+    private long maxSize = 100_000;
+
+    /**
+     * Tiempo que los clientes pueden conservar un reporte completo de un período cerrado
+     * sin volver a validarlo.
+     */
+    private Duration closedMaxAge = Duration.ofDays(365);
+}
@@ -0,0 +1,75 @@
+package com.bm_nttdata.report_ms.config;
+
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditCardBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de los formatos binarios de las respuestas.
+ * Los reportes se pueden pedir en CBOR ({@code application/cbor}) o Smile
+ * ({@code application/x-jackson-smile}) con la cabecera {@code Accept}; sin ella se
+ * responde en JSON como hasta ahora. Ambos formatos usan la configuración de Jackson de
+ * la aplicación, por lo que los campos y las fechas se escriben igual que en JSON.
+ * En la proyección resumida del reporte de saldos diarios, los productos se escriben sin
+ * el campo {@code dailyBalances}.
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    /**
+     * Omite los saldos diarios de los productos cuando no se incluyen en el reporte, en
+     * lugar de escribirlos como {@code null}.
+     *
+     * @return personalización del ObjectMapper de la aplicación
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer dailyBalanceProjectionCustomizer() {
+        return builder -> builder
+                .mixIn(AccountBalanceDto.class, OptionalDailyBalances.class)
+                .mixIn(CreditBalanceDto.class, OptionalDailyBalances.class)
+                .mixIn(CreditCardBalanceDto.class, OptionalDailyBalances.class);
+    }
+
+    /**
+     * Crea el conversor de respuestas en formato CBOR.
+     *
+     * @param builder constructor del ObjectMapper de la aplicación
+     * @return conversor de respuestas CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Crea el conversor de respuestas en formato Smile.
+     *
+     * @param builder constructor del ObjectMapper de la aplicación
+     * @return conversor de respuestas Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
+    }
+
+    private abstract static class OptionalDailyBalances {
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        abstract List<DailyBalanceDto> getDailyBalances();
+    }
+}
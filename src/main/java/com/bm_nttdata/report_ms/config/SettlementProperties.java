@@ -0,0 +1,19 @@
+package com.bm_nttdata.report_ms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del cierre de los períodos de los reportes.
+ */
+@Data
+@ConfigurationProperties(prefix = "report.settlement")
+public class SettlementProperties {
+
+    /**
+     * Días que deben pasar después del fin de un período para considerarlo cerrado, de
+     * modo que las comisiones y los saldos de sus últimos días terminen de registrarse
+     * antes de guardar sus datos o marcar su versión como inmutable.
+     */
+    private int days = 1;
+}
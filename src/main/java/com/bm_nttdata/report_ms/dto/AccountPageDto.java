@@ -0,0 +1,23 @@
+package com.bm_nttdata.report_ms.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO para representar una página de cuentas bancarias obtenida del
+ * microservicio de cuentas. La siguiente página se pide con el cursor de esta;
+ * la última página no tiene cursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPageDto {
+
+    private List<AccountDto> accounts;
+    private String nextCursor;
+
+}
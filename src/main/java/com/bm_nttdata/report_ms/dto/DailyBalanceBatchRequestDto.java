@@ -0,0 +1,23 @@
+package com.bm_nttdata.report_ms.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO para solicitar en una sola llamada los saldos diarios
+ * de varios productos para un mismo mes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBalanceBatchRequestDto {
+
+    private List<String> ids;
+    private LocalDate searchMonth;
+
+}
@@ -0,0 +1,403 @@
+package com.bm_nttdata.report_ms.dto;
+
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Saldos diarios de un producto en representación columnar.
+ * En lugar de un {@link DailyBalanceDto} con su {@link LocalDate} y su {@link BigDecimal}
+ * por día, guarda el primer día como día epoch y los montos como enteros largos en
+ * unidades de la escala de la serie (por ejemplo, céntimos con escala 2). Solo si los
+ * días no son consecutivos se guarda además el desplazamiento de cada día. Si algún
+ * monto es nulo o no cabe en un entero largo, la serie conserva los montos como
+ * BigDecimal sin perder precisión.
+ * Se decodifica directamente de las respuestas JSON de los microservicios y solo se
+ * expande a {@link DailyBalanceDto} al serializar el reporte. Es inmutable.
+ */
+@JsonDeserialize(using = DailyBalanceSeries.Deserializer.class)
+public final class DailyBalanceSeries {
+
+    /** Serie sin saldos. */
+    public static final DailyBalanceSeries EMPTY = new Builder(0).build();
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long baseEpochDay;
+    private final int[] dayOffsets;
+    private final long[] unscaledAmounts;
+    private final int scale;
+    private final BigDecimal[] amounts;
+
+    private DailyBalanceSeries(
+            long baseEpochDay,
+            int[] dayOffsets,
+            long[] unscaledAmounts,
+            int scale,
+            BigDecimal[] amounts) {
+        this.baseEpochDay = baseEpochDay;
+        this.dayOffsets = dayOffsets;
+        this.unscaledAmounts = unscaledAmounts;
+        this.scale = scale;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Crea una serie a partir de una lista de saldos diarios.
+     *
+     * @param dailyBalances saldos diarios
+     * @return serie con los mismos saldos, en el mismo orden
+     */
+    public static DailyBalanceSeries of(List<DailyBalanceDto> dailyBalances) {
+        Builder builder = new Builder(dailyBalances.size());
+        for (DailyBalanceDto dailyBalance : dailyBalances) {
+            builder.add(dailyBalance.getBalanceDate(), dailyBalance.getBalanceAmount());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Obtiene el número de saldos de la serie.
+     *
+     * @return número de saldos
+     */
+    public int size() {
+        return unscaledAmounts != null ? unscaledAmounts.length : amounts.length;
+    }
+
+    /**
+     * Obtiene la fecha de un saldo.
+     *
+     * @param index posición del saldo
+     * @return fecha del saldo, o {@code null} si el microservicio no la informó
+     */
+    public LocalDate date(int index) {
+        if (dayOffsets == null) {
+            return LocalDate.ofEpochDay(baseEpochDay + index);
+        }
+        int offset = dayOffsets[index];
+        return offset == NO_DATE ? null : LocalDate.ofEpochDay(baseEpochDay + offset);
+    }
+
+    /**
+     * Indica si todos los montos están guardados como enteros largos, en cuyo caso se
+     * pueden leer con {@link #unscaledAmount(int)} sin crear objetos.
+     *
+     * @return {@code true} si los montos están en representación compacta
+     */
+    public boolean hasUnscaledAmounts() {
+        return unscaledAmounts != null;
+    }
+
+    /**
+     * Obtiene un monto en unidades de la escala de la serie. Solo es válido si
+     * {@link #hasUnscaledAmounts()} es {@code true}.
+     *
+     * @param index posición del saldo
+     * @return monto sin escala
+     */
+    public long unscaledAmount(int index) {
+        return unscaledAmounts[index];
+    }
+
+    /**
+     * Obtiene la escala de los montos sin escala.
+     *
+     * @return número de decimales de los montos
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Obtiene un monto.
+     *
+     * @param index posición del saldo
+     * @return monto del saldo
+     */
+    public BigDecimal amount(int index) {
+        return unscaledAmounts != null
+                ? BigDecimal.valueOf(unscaledAmounts[index], scale) : amounts[index];
+    }
+
+    /**
+     * Obtiene los saldos como una lista de solo lectura de {@link DailyBalanceDto}. Cada
+     * elemento se crea al leerlo, por lo que la lista no retiene objetos por día.
+     *
+     * @return vista de los saldos
+     */
+    public List<DailyBalanceDto> asDailyBalances() {
+        return new DailyBalanceView();
+    }
+
+    /**
+     * Vista de la serie como lista de saldos diarios.
+     */
+    private final class DailyBalanceView extends AbstractList<DailyBalanceDto>
+            implements RandomAccess {
+
+        @Override
+        public DailyBalanceDto get(int index) {
+            return new DailyBalanceDto()
+                    .balanceDate(date(index))
+                    .balanceAmount(amount(index));
+        }
+
+        @Override
+        public int size() {
+            return DailyBalanceSeries.this.size();
+        }
+    }
+
+    /**
+     * Constructor de series de saldos diarios. Mantiene los montos como enteros largos en
+     * la mayor escala recibida y pasa a BigDecimal si un monto no puede representarse así.
+     */
+    public static final class Builder {
+
+        private long[] epochDays;
+        private long[] unscaledAmounts;
+        private BigDecimal[] amounts;
+        private boolean[] missingDates;
+        private int scale;
+        private int size;
+
+        /**
+         * Crea un constructor vacío.
+         *
+         * @param expectedSize número esperado de saldos
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.epochDays = new long[capacity];
+            this.unscaledAmounts = new long[capacity];
+        }
+
+        /**
+         * Agrega un saldo.
+         *
+         * @param date fecha del saldo
+         * @param amount monto del saldo
+         * @return este constructor
+         */
+        public Builder add(LocalDate date, BigDecimal amount) {
+            int index = next(date);
+            if (amounts == null && amount != null && fitsInLong(amount)) {
+                try {
+                    addUnscaled(index, amount.unscaledValue().longValueExact(), amount.scale());
+                    return this;
+                } catch (ArithmeticException e) {
+                    promote();
+                }
+            }
+            if (amounts == null) {
+                promote();
+            }
+            amounts[index] = amount;
+            return this;
+        }
+
+        /**
+         * Agrega un saldo cuyo monto ya está en unidades de la escala indicada.
+         *
+         * @param date fecha del saldo
+         * @param unscaledAmount monto sin escala
+         * @param amountScale escala del monto
+         * @return este constructor
+         */
+        public Builder add(LocalDate date, long unscaledAmount, int amountScale) {
+            if (amounts != null || amountScale < 0 || amountScale > MAX_LONG_DIGITS) {
+                return add(date, BigDecimal.valueOf(unscaledAmount, amountScale));
+            }
+            int index = next(date);
+            try {
+                addUnscaled(index, unscaledAmount, amountScale);
+            } catch (ArithmeticException e) {
+                promote();
+                amounts[index] = BigDecimal.valueOf(unscaledAmount, amountScale);
+            }
+            return this;
+        }
+
+        /**
+         * Construye la serie con los saldos agregados.
+         *
+         * @return serie de saldos diarios
+         */
+        public DailyBalanceSeries build() {
+            long base = Long.MAX_VALUE;
+            boolean consecutive = true;
+            for (int i = 0; i < size; i++) {
+                if (missingDates != null && missingDates[i]) {
+                    consecutive = false;
+                    continue;
+                }
+                base = Math.min(base, epochDays[i]);
+                if (i > 0 && epochDays[i] != epochDays[i - 1] + 1) {
+                    consecutive = false;
+                }
+            }
+            if (base == Long.MAX_VALUE) {
+                base = 0;
+            }
+            int[] offsets = null;
+            if (!consecutive) {
+                offsets = new int[size];
+                for (int i = 0; i < size; i++) {
+                    offsets[i] = missingDates != null && missingDates[i]
+                            ? NO_DATE : Math.toIntExact(epochDays[i] - base);
+                }
+            }
+            return amounts != null
+                    ? new DailyBalanceSeries(base, offsets, null, 0, Arrays.copyOf(amounts, size))
+                    : new DailyBalanceSeries(
+                            base, offsets, Arrays.copyOf(unscaledAmounts, size), scale, null);
+        }
+
+        private int next(LocalDate date) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                unscaledAmounts = Arrays.copyOf(unscaledAmounts, capacity);
+                if (amounts != null) {
+                    amounts = Arrays.copyOf(amounts, capacity);
+                }
+                if (missingDates != null) {
+                    missingDates = Arrays.copyOf(missingDates, capacity);
+                }
+            }
+            if (date == null) {
+                if (missingDates == null) {
+                    missingDates = new boolean[epochDays.length];
+                }
+                missingDates[size] = true;
+            } else {
+                epochDays[size] = date.toEpochDay();
+            }
+            return size++;
+        }
+
+        /**
+         * Guarda un monto sin escala, llevando antes los montos anteriores a la escala del
+         * nuevo monto si es mayor. Si algún monto deja de caber en un entero largo no se
+         * modifica ningún monto guardado.
+         */
+        private void addUnscaled(int index, long unscaledAmount, int amountScale) {
+            if (amountScale > scale) {
+                long factor = POWERS_OF_TEN[amountScale - scale];
+                long[] rescaled = new long[unscaledAmounts.length];
+                for (int i = 0; i < index; i++) {
+                    rescaled[i] = Math.multiplyExact(unscaledAmounts[i], factor);
+                }
+                rescaled[index] = unscaledAmount;
+                unscaledAmounts = rescaled;
+                scale = amountScale;
+                return;
+            }
+            unscaledAmounts[index] = amountScale < scale
+                    ? Math.multiplyExact(unscaledAmount, POWERS_OF_TEN[scale - amountScale])
+                    : unscaledAmount;
+        }
+
+        /**
+         * Pasa a BigDecimal los montos ya agregados.
+         */
+        private void promote() {
+            amounts = new BigDecimal[epochDays.length];
+            for (int i = 0; i < size - 1; i++) {
+                amounts[i] = BigDecimal.valueOf(unscaledAmounts[i], scale);
+            }
+        }
+
+        private static boolean fitsInLong(BigDecimal amount) {
+            return amount.scale() >= 0 && amount.scale() <= MAX_LONG_DIGITS
+                    && amount.precision() <= MAX_LONG_DIGITS;
+        }
+    }
+
+    /**
+     * Decodifica una serie desde un arreglo JSON de objetos con {@code balanceDate} y
+     * {@code balanceAmount}, sin crear un {@link DailyBalanceDto} por día. Los montos
+     * enteros se leen como enteros largos; los decimales, sin pasar por {@code double}.
+     */
+    static final class Deserializer extends StdDeserializer<DailyBalanceSeries> {
+
+        Deserializer() {
+            super(DailyBalanceSeries.class);
+        }
+
+        @Override
+        public DailyBalanceSeries deserialize(JsonParser parser, DeserializationContext context)
+                throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (DailyBalanceSeries) context.handleUnexpectedToken(
+                        DailyBalanceSeries.class, parser);
+            }
+            Builder builder = new Builder(31);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    return (DailyBalanceSeries) context.handleUnexpectedToken(
+                            DailyBalanceSeries.class, parser);
+                }
+                readDailyBalance(parser, builder);
+            }
+            return builder.build();
+        }
+
+        @Override
+        public DailyBalanceSeries getNullValue(DeserializationContext context) {
+            return EMPTY;
+        }
+
+        private static void readDailyBalance(JsonParser parser, Builder builder)
+                throws IOException {
+            LocalDate date = null;
+            BigDecimal amount = null;
+            long unscaledAmount = 0;
+            boolean integral = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("balanceDate".equals(field)) {
+                    date = value == JsonToken.VALUE_NULL ? null : LocalDate.parse(parser.getText());
+                } else if ("balanceAmount".equals(field)) {
+                    integral = value == JsonToken.VALUE_NUMBER_INT
+                            && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+                    if (integral) {
+                        unscaledAmount = parser.getLongValue();
+                    } else if (value.isNumeric()) {
+                        amount = parser.getDecimalValue();
+                    } else if (value == JsonToken.VALUE_STRING) {
+                        amount = new BigDecimal(parser.getText());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (integral) {
+                builder.add(date, unscaledAmount, 0);
+            } else {
+                builder.add(date, amount);
+            }
+        }
+    }
+}
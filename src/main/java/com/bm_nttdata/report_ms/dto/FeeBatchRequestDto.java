@@ -0,0 +1,24 @@
+package com.bm_nttdata.report_ms.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO para solicitar en una sola llamada las comisiones cobradas
+ * a varias cuentas bancarias en un mismo periodo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeBatchRequestDto {
+
+    private List<String> ids;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+}
@@ -0,0 +1,36 @@
+package com.bm_nttdata.report_ms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO para representar el acumulado de las comisiones cobradas en un día,
+ * agrupado por tipo de cuenta.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeRollupDto {
+
+    private LocalDate date;
+    private Map<String, Aggregate> accountTypes;
+
+    /**
+     * Suma y número de comisiones de un tipo de cuenta.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Aggregate {
+
+        private BigDecimal amount;
+        private long count;
+
+    }
+}
@@ -0,0 +1,18 @@
+package com.bm_nttdata.report_ms.exception;
+
+/**
+ * Excepción que se lanza cuando vence el plazo de una solicitud de reporte.
+ * Esta excepción es utilizada para abandonar el trabajo pendiente de una solicitud cuyo
+ * cliente ya no espera la respuesta.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Construye una nueva excepción de plazo vencido con el mensaje especificado.
+     *
+     * @param message Mensaje que describe la etapa en la que venció el plazo
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -53,6 +53,44 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), "BAD_REQUEST");
     }
 
+    /**
+     * Maneja las excepciones de tipo ResourceNotFoundException.
+     *
+     * @param ex La excepción de recurso no encontrado
+     * @return ResponseEntity con los detalles del error y estado HTTP 404
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(
+            ResourceNotFoundException ex) {
+        return createErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), "NOT_FOUND");
+    }
+
+    /**
+     * Maneja las excepciones de tipo ServiceUnavailableException.
+     *
+     * @param ex La excepción de servicio no disponible
+     * @return ResponseEntity con los detalles del error y estado HTTP 503
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailableException(
+            ServiceUnavailableException ex) {
+        return createErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), "SERVICE_UNAVAILABLE");
+    }
+
+    /**
+     * Maneja las excepciones de tipo DeadlineExceededException.
+     *
+     * @param ex La excepción de plazo vencido
+     * @return ResponseEntity con los detalles del error y estado HTTP 504
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceededException(
+            DeadlineExceededException ex) {
+        return createErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), "DEADLINE_EXCEEDED");
+    }
+
     /**
      * Crea una respuesta de error estandarizada.
      *
@@ -0,0 +1,17 @@
+package com.bm_nttdata.report_ms.exception;
+
+/**
+ * Excepción que se lanza cuando el recurso solicitado no existe.
+ * Esta excepción es utilizada para responder a consultas de recursos desconocidos o expirados.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    /**
+     * Construye una nueva excepción de recurso no encontrado con el mensaje especificado.
+     *
+     * @param message Mensaje que describe el recurso no encontrado
+     */
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
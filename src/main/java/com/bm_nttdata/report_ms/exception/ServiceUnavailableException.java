@@ -0,0 +1,18 @@
+package com.bm_nttdata.report_ms.exception;
+
+/**
+ * Excepción que se lanza cuando el servicio no tiene capacidad para atender la solicitud.
+ * Esta excepción es utilizada cuando los recursos de procesamiento están saturados y el
+ * cliente debe reintentar más tarde.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Construye una nueva excepción de servicio no disponible con el mensaje especificado.
+     *
+     * @param message Mensaje que describe la razón por la que el servicio no está disponible
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
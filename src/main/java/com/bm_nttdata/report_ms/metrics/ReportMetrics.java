@@ -0,0 +1,126 @@
+package com.bm_nttdata.report_ms.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Métricas de generación de reportes publicadas en Micrometer.
+ * Registra la duración de cada etapa en el temporizador {@code report.stage}, etiquetado
+ * con el reporte, la etapa y el resultado, y el número de elementos que abre cada reporte
+ * en el resumen {@code report.fan.out.size}. Los histogramas de percentiles se habilitan
+ * con las propiedades {@code management.metrics.distribution.*}. Los medidores se crean una
+ * sola vez por combinación de etiquetas, ya que algunas etapas se miden por producto.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportMetrics {
+
+    /** Reporte de saldos diarios de un cliente. */
+    public static final String DAILY_BALANCE = "daily_balance";
+    /** Reporte de comisiones bancarias. */
+    public static final String BANK_FEES = "bank_fees";
+    /** Reporte de comisiones bancarias en formato NDJSON. */
+    public static final String BANK_FEES_STREAM = "bank_fees_stream";
+    /** Totales de comisiones bancarias por tipo de cuenta. */
+    public static final String BANK_FEES_SUMMARY = "bank_fees_summary";
+    /** Reporte de saldos diarios de varios clientes en formato NDJSON. */
+    public static final String DAILY_BALANCE_BATCH = "daily_balance_batch";
+
+    private static final String STAGE_TIMER = "report.stage";
+    private static final String FAN_OUT_SUMMARY = "report.fan.out.size";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> fanOutSummaries = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecuta una etapa de un reporte midiendo su duración.
+     *
+     * @param report nombre del reporte
+     * @param stage nombre de la etapa
+     * @param supplier etapa a ejecutar
+     * @param <T> tipo del resultado de la etapa
+     * @return resultado de la etapa
+     */
+    public <T> T timeStage(String report, String stage, Supplier<T> supplier) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = supplier.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(stageTimer(report, stage, outcome));
+        }
+    }
+
+    /**
+     * Ejecuta una etapa sin resultado de un reporte midiendo su duración.
+     *
+     * @param report nombre del reporte
+     * @param stage nombre de la etapa
+     * @param runnable etapa a ejecutar
+     */
+    public void timeStage(String report, String stage, Runnable runnable) {
+        timeStage(report, stage, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Mide la duración de una etapa reactiva, desde la suscripción hasta que emite su
+     * resultado o termina con error.
+     *
+     * @param report nombre del reporte
+     * @param stage nombre de la etapa
+     * @param mono etapa a medir
+     * @param <T> tipo del resultado de la etapa
+     * @return etapa con la medición incluida
+     */
+    public <T> Mono<T> timeStage(String report, String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(ignored -> sample.stop(stageTimer(report, stage, "success")))
+                    .doOnError(ignored -> sample.stop(stageTimer(report, stage, "error")));
+        });
+    }
+
+    /**
+     * Registra el número de elementos que un reporte debe procesar.
+     *
+     * @param report nombre del reporte
+     * @param dimension tipo de elemento, por ejemplo cuentas o créditos
+     * @param size número de elementos
+     */
+    public void recordFanOut(String report, String dimension, int size) {
+        fanOutSummaries.computeIfAbsent(new MeterKey(report, dimension, null),
+                key -> DistributionSummary.builder(FAN_OUT_SUMMARY)
+                        .description("Number of items a report has to fetch per request")
+                        .tag("report", report)
+                        .tag("dimension", dimension)
+                        .register(meterRegistry))
+                .record(size);
+    }
+
+    private Timer stageTimer(String report, String stage, String outcome) {
+        return stageTimers.computeIfAbsent(new MeterKey(report, stage, outcome),
+                key -> Timer.builder(STAGE_TIMER)
+                        .description("Duration of each report generation stage")
+                        .tag("report", report)
+                        .tag("stage", stage)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+
+    private record MeterKey(String report, String name, String outcome) {
+    }
+}
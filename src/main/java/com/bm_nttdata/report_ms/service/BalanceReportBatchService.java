@@ -0,0 +1,25 @@
+package com.bm_nttdata.report_ms.service;
+
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
+import java.util.function.Consumer;
+
+/**
+ * Servicios de generación del reporte de saldos diarios de varios clientes.
+ * Los reportes de los clientes de un lote se generan con una concurrencia acotada y se
+ * entregan uno a uno a medida que terminan.
+ */
+public interface BalanceReportBatchService {
+
+    /**
+     * Genera el reporte de saldos diarios de cada cliente del lote y entrega un registro
+     * por cliente, en el orden de la solicitud. El fallo del reporte de un cliente se
+     * entrega como un registro fallido y no detiene el lote.
+     *
+     * @param request clientes o segmento de clientes y parámetros de los reportes
+     * @param sink consumidor que recibe el registro de cada cliente
+     */
+    void streamDailyBalanceReports(
+            DailyBalanceReportBatchRequestDto request,
+            Consumer<DailyBalanceReportBatchRecordDto> sink);
+}
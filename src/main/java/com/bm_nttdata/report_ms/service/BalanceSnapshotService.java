@@ -0,0 +1,15 @@
+package com.bm_nttdata.report_ms.service;
+
+/**
+ * Servicios de precálculo de los reportes de saldos diarios de los meses cerrados.
+ * Una vez cerrado un mes, el reporte de cada cliente ya no cambia, por lo que se genera
+ * una sola vez fuera de las horas de mayor uso y se responde desde el almacenamiento local.
+ */
+public interface BalanceSnapshotService {
+
+    /**
+     * Precalcula y guarda los reportes del mes anterior de los clientes que aún no lo
+     * tienen.
+     */
+    void precomputeClosedMonth();
+}
@@ -0,0 +1,28 @@
+package com.bm_nttdata.report_ms.service;
+
+import com.bm_nttdata.report_ms.model.BankFeeSummaryDto;
+import java.time.LocalDate;
+
+/**
+ * Servicios de acumulados diarios de comisiones bancarias.
+ * Permite obtener los totales de comisiones de cualquier período sumando los acumulados
+ * de los días que lo componen.
+ */
+public interface FeeRollupService {
+
+    /**
+     * Obtiene los totales de comisiones por tipo de cuenta de un período.
+     * Los días cerrados que aún no tienen acumulado se calculan y se guardan antes de
+     * responder; los días no cerrados se consultan siempre al microservicio de cuentas.
+     *
+     * @param startDate fecha de inicio del período
+     * @param endDate fecha de fin del período
+     * @return BankFeeSummaryDto totales de comisiones del período
+     */
+    BankFeeSummaryDto getBankFeesSummary(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Calcula y guarda los acumulados de los días cerrados recientes que aún no lo tienen.
+     */
+    void rollUpClosedDays();
+}
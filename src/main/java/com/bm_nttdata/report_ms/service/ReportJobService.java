@@ -0,0 +1,38 @@
+package com.bm_nttdata.report_ms.service;
+
+import com.bm_nttdata.report_ms.model.ReportJobDto;
+import com.bm_nttdata.report_ms.model.ReportJobRequestDto;
+import org.springframework.core.io.Resource;
+
+/**
+ * Servicios de generación asíncrona de reportes bancarios.
+ * Los reportes se generan en segundo plano y sus resultados se conservan en un
+ * almacenamiento local hasta que el cliente los descarga o expiran.
+ */
+public interface ReportJobService {
+
+    /**
+     * Registra un trabajo de generación de reporte. Las solicitudes idénticas comparten
+     * el mismo trabajo mientras no haya fallado ni expirado su resultado.
+     *
+     * @param request datos del reporte a generar
+     * @return estado del trabajo registrado
+     */
+    ReportJobDto submit(ReportJobRequestDto request);
+
+    /**
+     * Obtiene el estado y el avance de un trabajo.
+     *
+     * @param jobId identificador del trabajo
+     * @return estado del trabajo
+     */
+    ReportJobDto getJob(String jobId);
+
+    /**
+     * Obtiene el resultado de un trabajo completado.
+     *
+     * @param jobId identificador del trabajo
+     * @return archivo con el reporte generado
+     */
+    Resource getResult(String jobId);
+}
@@ -0,0 +1,22 @@
+package com.bm_nttdata.report_ms.service;
+
+/**
+ * Recibe el avance de la generación de un reporte.
+ * Puede ser invocado de forma concurrente desde varios hilos.
+ */
+@FunctionalInterface
+public interface ReportProgressListener {
+
+    /**
+     * Listener que ignora el avance.
+     */
+    ReportProgressListener NONE = (completed, total) -> { };
+
+    /**
+     * Notifica el avance de la generación del reporte.
+     *
+     * @param completed número de elementos procesados
+     * @param total número total de elementos a procesar
+     */
+    void onProgress(int completed, int total);
+}
@@ -1,8 +1,13 @@
 package com.bm_nttdata.report_ms.service;
 
 import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeStreamRecordDto;
 import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
 import java.time.LocalDate;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Servicios de generación de reportes bancarios.
@@ -22,6 +27,26 @@ public interface ReportService {
      */
     DailyBalanceReportDto generateDailyBalanceReport(String clientId, LocalDate month);
 
+    /**
+     * Genera las secciones indicadas del reporte de balance diario de un cliente.
+     * En modo parcial, las secciones que fallan se marcan como fallidas en el reporte
+     * en lugar de descartar las secciones que se obtuvieron correctamente. En la proyección
+     * resumida solo se incluye el promedio de cada producto, sin sus saldos diarios.
+     *
+     * @param clientId Identificador único del cliente
+     * @param month Mes para el cual se generará el reporte
+     * @param sections Secciones a incluir; vacío para incluir todas
+     * @param partial Indica si se devuelven las secciones correctas cuando otras fallan
+     * @param view Proyección del reporte
+     * @return DailyBalanceReportDto Objeto que contiene el reporte y el estado de sus secciones
+     */
+    DailyBalanceReportDto generateDailyBalanceReport(
+            String clientId,
+            LocalDate month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view);
+
     /**
      * Genera un reporte de comisiones bancarias dentro de un pediodo de tiempo.
      * El reporte incluye información detallada sobre las comisiones según los tipos de cuentas.
@@ -31,5 +56,29 @@ public interface ReportService {
      * @return BankFeeReportDto Objeto que contiene el reporte completo de las comisiones bancarias
      */
     BankFeeReportDto getBankFeesReport(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Genera un reporte de comisiones bancarias dentro de un pediodo de tiempo,
+     * notificando el avance a medida que se procesan las cuentas.
+     *
+     * @param startDate fecha de inicio de la busqueda
+     * @param endDate fecha de fin de la busqueda
+     * @param progressListener listener que recibe el número de cuentas procesadas
+     * @return BankFeeReportDto Objeto que contiene el reporte completo de las comisiones bancarias
+     */
+    BankFeeReportDto getBankFeesReport(
+            LocalDate startDate, LocalDate endDate, ReportProgressListener progressListener);
+
+    /**
+     * Genera el reporte de comisiones bancarias de un periodo de forma incremental.
+     * Entrega un registro por cada cuenta con comisiones en cuanto se calcula y un
+     * registro final de resumen con los totales del periodo.
+     *
+     * @param startDate fecha de inicio de la busqueda
+     * @param endDate fecha de fin de la busqueda
+     * @param sink consumidor que recibe los registros del reporte
+     */
+    void streamBankFeesReport(
+            LocalDate startDate, LocalDate endDate, Consumer<BankFeeStreamRecordDto> sink);
 }
 
@@ -0,0 +1,221 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.BalanceReportBatchProperties;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.exception.ApiInvalidRequestException;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.bm_nttdata.report_ms.service.BalanceReportBatchService;
+import com.bm_nttdata.report_ms.service.ReportService;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del reporte de saldos diarios de varios clientes.
+ * Cada lote mantiene en curso como máximo tantos clientes como su paralelismo, en un pool
+ * propio compartido por todos los lotes. Los reportes de los clientes usan el mismo camino
+ * que el reporte de un cliente, por lo que comparten la agrupación de consultas por
+ * producto, la caché de saldos diarios y las solicitudes idénticas en curso. Cada cliente
+ * dispone de su propio plazo en lugar de un plazo para todo el lote. Si el pool está
+ * saturado, el cliente se entrega como fallido en lugar de interrumpir el lote.
+ */
+@Slf4j
+@Service
+public class BalanceReportBatchServiceImpl implements BalanceReportBatchService {
+
+    private final ReportService reportService;
+    private final CustomerClient customerClient;
+    private final Executor batchExecutor;
+    private final BalanceReportBatchProperties properties;
+    private final ReportMetrics reportMetrics;
+
+    /**
+     * Construye el servicio del reporte de saldos diarios de varios clientes.
+     *
+     * @param reportService servicio de generación de reportes
+     * @param customerClient cliente del microservicio de clientes
+     * @param batchExecutor pool de hilos de los lotes de reportes
+     * @param properties propiedades del reporte de varios clientes
+     * @param reportMetrics métricas de generación de reportes
+     */
+    public BalanceReportBatchServiceImpl(
+            ReportService reportService,
+            CustomerClient customerClient,
+            @Qualifier("balanceBatchExecutor") Executor batchExecutor,
+            BalanceReportBatchProperties properties,
+            ReportMetrics reportMetrics) {
+        this.reportService = reportService;
+        this.customerClient = customerClient;
+        this.batchExecutor = batchExecutor;
+        this.properties = properties;
+        this.reportMetrics = reportMetrics;
+    }
+
+    /**
+     * Genera el reporte de saldos diarios de cada cliente del lote y entrega un registro
+     * por cliente, en el orden de la solicitud. Los clientes repetidos se generan una sola
+     * vez. El lote se valida y sus clientes se obtienen antes de entregar el primer
+     * registro, por lo que esos errores se propagan sin registros parciales.
+     *
+     * @param request clientes o segmento de clientes y parámetros de los reportes
+     * @param sink consumidor que recibe el registro de cada cliente
+     * @throws ApiInvalidRequestException si el lote no indica el mes, indica a la vez los
+     *         clientes y el segmento, no indica ninguno o supera el número máximo de clientes
+     * @throws ServiceException si no se pueden obtener los clientes del segmento
+     */
+    @Override
+    public void streamDailyBalanceReports(
+            DailyBalanceReportBatchRequestDto request,
+            Consumer<DailyBalanceReportBatchRecordDto> sink) {
+        validate(request);
+        List<String> customerIds = resolveCustomers(request);
+        if (customerIds.size() > properties.getMaxCustomers()) {
+            throw new ApiInvalidRequestException("A batch can include at most "
+                    + properties.getMaxCustomers() + " customers");
+        }
+        reportMetrics.recordFanOut(
+                ReportMetrics.DAILY_BALANCE_BATCH, "customers", customerIds.size());
+
+        LocalDate month = request.getMonth();
+        Set<ReportSection> sections = request.getSections() == null
+                || request.getSections().isEmpty()
+                ? EnumSet.allOf(ReportSection.class) : EnumSet.copyOf(request.getSections());
+        boolean partial = Boolean.TRUE.equals(request.getPartial());
+        ReportView view = request.getView() == null ? ReportView.FULL : request.getView();
+
+        int parallelism = Math.max(1, properties.getParallelism());
+        Deque<CompletableFuture<DailyBalanceReportBatchRecordDto>> window =
+                new ArrayDeque<>(parallelism);
+        try {
+            reportMetrics.timeStage(ReportMetrics.DAILY_BALANCE_BATCH, "total", () -> {
+                for (String customerId : customerIds) {
+                    window.add(submit(customerId, month, sections, partial, view));
+                    if (window.size() >= parallelism) {
+                        sink.accept(window.poll().join());
+                    }
+                }
+                while (!window.isEmpty()) {
+                    sink.accept(window.poll().join());
+                }
+            });
+        } finally {
+            // Si el consumidor falla, los clientes que aún no empiezan ya no se generan.
+            window.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private CompletableFuture<DailyBalanceReportBatchRecordDto> submit(
+            String customerId,
+            LocalDate month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view) {
+        try {
+            return CompletableFuture.supplyAsync(() ->
+                    generate(customerId, month, sections, partial, view), batchExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Balance batch workers are saturated. ClientId: {}, Month: {}",
+                    customerId, month);
+            return CompletableFuture.completedFuture(new DailyBalanceReportBatchRecordDto()
+                    .customerId(customerId)
+                    .status(DailyBalanceReportBatchRecordDto.StatusEnum.FAILED)
+                    .error("Batch workers are saturated"));
+        }
+    }
+
+    /**
+     * Genera el reporte de un cliente del lote con su propio plazo. Nunca lanza
+     * excepciones: el fallo del reporte se devuelve como un registro fallido.
+     */
+    private DailyBalanceReportBatchRecordDto generate(
+            String customerId,
+            LocalDate month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view) {
+        DailyBalanceReportBatchRecordDto record =
+                new DailyBalanceReportBatchRecordDto().customerId(customerId);
+        try {
+            DailyBalanceReportDto report = Deadline.after(properties.getCustomerTimeout())
+                    .call(() -> reportService.generateDailyBalanceReport(
+                            customerId, month, sections, partial, view));
+            return record.status(DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE)
+                    .report(report);
+        } catch (DeadlineExceededException e) {
+            log.warn("Deadline exceeded for balance report in batch. ClientId: {}, Month: {}",
+                    customerId, month);
+            return record.status(DailyBalanceReportBatchRecordDto.StatusEnum.FAILED)
+                    .error("Request deadline exceeded");
+        } catch (Exception e) {
+            log.warn("Balance report in batch failed. ClientId: {}, Month: {}, Error: {}",
+                    customerId, month, e.getMessage());
+            return record.status(DailyBalanceReportBatchRecordDto.StatusEnum.FAILED)
+                    .error(e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene los clientes del lote sin repetidos, en el orden de la solicitud o en el
+     * orden en que los devuelve el microservicio de clientes para un segmento.
+     */
+    private List<String> resolveCustomers(DailyBalanceReportBatchRequestDto request) {
+        Set<String> customerIds = new LinkedHashSet<>();
+        if (request.getCustomerType() == null) {
+            for (String customerId : request.getCustomerIds()) {
+                if (customerId != null && !customerId.isBlank()) {
+                    customerIds.add(customerId);
+                }
+            }
+            return new ArrayList<>(customerIds);
+        }
+        try {
+            List<CustomerDto> customers = reportMetrics.timeStage(
+                    ReportMetrics.DAILY_BALANCE_BATCH, "customers",
+                    () -> customerClient.getCustomersByType(request.getCustomerType()));
+            for (CustomerDto customer : customers) {
+                if (request.getCustomerType().equals(customer.getCustomerType())) {
+                    customerIds.add(customer.getId());
+                }
+            }
+            return new ArrayList<>(customerIds);
+        } catch (Exception e) {
+            log.error("Unexpected error while getting customers of segment {}: {}",
+                    request.getCustomerType(), e.getMessage());
+            throw new ServiceException(
+                    "Unexpected error while getting customers of segment: " + e.getMessage());
+        }
+    }
+
+    private static void validate(DailyBalanceReportBatchRequestDto request) {
+        if (request == null || request.getMonth() == null) {
+            throw new ApiInvalidRequestException("month is required");
+        }
+        boolean byIds = request.getCustomerIds() != null && !request.getCustomerIds().isEmpty();
+        boolean bySegment = request.getCustomerType() != null;
+        if (byIds == bySegment) {
+            throw new ApiInvalidRequestException(
+                    "Either customerIds or customerType is required, but not both");
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.CreditCardDto;
+import com.bm_nttdata.report_ms.dto.CreditDto;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditCardBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoCredits;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Construye los elementos del reporte de saldos diarios a partir de los datos de los
+ * productos. Lo comparten el modo bloqueante y el modo reactivo de generación del reporte.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceReportMapper {
+
+    private final AggregationKernel aggregationKernel;
+    private final ReportMetrics reportMetrics;
+
+    /**
+     * Construye el saldo promedio diario de una cuenta bancaria. En la proyección resumida
+     * no se incluyen los saldos diarios, que se descartan tras calcular el promedio.
+     *
+     * @param account cuenta bancaria
+     * @param accountType tipo de la cuenta
+     * @param dailyBalances saldos diarios de la cuenta en el mes
+     * @param view proyección del reporte
+     * @return saldo promedio diario de la cuenta
+     */
+    public AccountBalanceDto toAccountBalance(
+            AccountDto account,
+            AccountBalanceDto.AccountTypeEnum accountType,
+            DailyBalanceSeries dailyBalances,
+            ReportView view) {
+
+        AccountBalanceDto balance = new AccountBalanceDto();
+        balance.setAccountId(account.getId());
+        balance.setAccountType(accountType);
+        balance.setDailyBalances(dailyDetail(dailyBalances, view));
+        balance.setAverageBalance(average(dailyBalances));
+        return balance;
+    }
+
+    /**
+     * Construye el saldo promedio diario de un crédito.
+     *
+     * @param credit crédito del cliente
+     * @param dailyBalances saldos diarios del crédito en el mes
+     * @param view proyección del reporte
+     * @return saldo promedio diario del crédito
+     */
+    public CreditBalanceDto toCreditBalance(
+            CreditDto credit, DailyBalanceSeries dailyBalances, ReportView view) {
+        CreditBalanceDto balance = new CreditBalanceDto();
+        balance.setCreditId(credit.getId());
+        balance.setCreditType(credit.getCreditType());
+        balance.setTotalCreditAmount(credit.getAmount());
+        balance.setCreditOutstandingBalance(credit.getBalance());
+        balance.setDailyBalances(dailyDetail(dailyBalances, view));
+        balance.setAverageDailyBalance(average(dailyBalances));
+        return balance;
+    }
+
+    /**
+     * Construye el saldo promedio diario de una tarjeta de crédito.
+     *
+     * @param creditCard tarjeta de crédito del cliente
+     * @param dailyBalances saldos diarios de la tarjeta en el mes
+     * @param view proyección del reporte
+     * @return saldo promedio diario de la tarjeta de crédito
+     */
+    public CreditCardBalanceDto toCreditCardBalance(
+            CreditCardDto creditCard, DailyBalanceSeries dailyBalances, ReportView view) {
+
+        CreditCardBalanceDto balance = new CreditCardBalanceDto();
+        balance.setCreditCardId(creditCard.getId());
+        balance.setCreditCardType(creditCard.getCardType());
+        balance.setCardNumber(creditCard.getCardNumber());
+        balance.setCreditCardLimit(creditCard.getCreditLimit());
+        balance.setAvailableCredit(creditCard.getAvailableCredit());
+        balance.setDailyBalances(dailyDetail(dailyBalances, view));
+        balance.setAverageDailyBalance(average(dailyBalances));
+        return balance;
+    }
+
+    /**
+     * Agrupa los saldos de las cuentas bancarias por tipo de cuenta, conservando el orden
+     * original dentro de cada tipo.
+     *
+     * @param balances saldos promedio de las cuentas
+     * @return saldos agrupados por tipo de cuenta
+     */
+    public DailyBalanceReportDtoAccounts toAccountBalances(List<AccountBalanceDto> balances) {
+        DailyBalanceReportDtoAccounts accountBalances = new DailyBalanceReportDtoAccounts();
+        accountBalances.setSavings(new ArrayList<>());
+        accountBalances.setChecking(new ArrayList<>());
+        accountBalances.setFixedTerm(new ArrayList<>());
+        accountBalances.setSavingsVip(new ArrayList<>());
+        accountBalances.setCheckingPyme(new ArrayList<>());
+        for (AccountBalanceDto balance : balances) {
+            switch (balance.getAccountType()) {
+                case SAVINGS -> accountBalances.getSavings().add(balance);
+                case CHECKING -> accountBalances.getChecking().add(balance);
+                case FIXED_TERM -> accountBalances.getFixedTerm().add(balance);
+                case SAVINGS_VIP -> accountBalances.getSavingsVip().add(balance);
+                case CHECKING_PYME -> accountBalances.getCheckingPyme().add(balance);
+                default -> log.warn("Ignoring account {} of unknown type {}",
+                        balance.getAccountId(), balance.getAccountType());
+            }
+        }
+        return accountBalances;
+    }
+
+    /**
+     * Construye el reporte de saldos diarios del cliente. Las secciones no solicitadas o
+     * que fallaron en un reporte parcial se reciben como {@code null} y quedan sin datos.
+     *
+     * @param clientId identificador único del cliente
+     * @param month mes del reporte
+     * @param customer datos del cliente
+     * @param accounts saldos de las cuentas bancarias agrupados por tipo
+     * @param credits saldos de los créditos
+     * @param creditCards saldos de las tarjetas de crédito
+     * @return reporte de saldos diarios
+     */
+    public DailyBalanceReportDto toReport(
+            String clientId,
+            LocalDate month,
+            CustomerDto customer,
+            DailyBalanceReportDtoAccounts accounts,
+            List<CreditBalanceDto> credits,
+            List<CreditCardBalanceDto> creditCards) {
+
+        DailyBalanceReportDto report = new DailyBalanceReportDto();
+        report.setCustomerId(clientId);
+        if (customer != null) {
+            report.setCustomerName(customer.getName());
+            report.setCustomerType(customer.getCustomerType());
+        }
+        report.setMonth(month);
+        report.setAccounts(accounts);
+
+        DailyBalanceReportDtoCredits creditBalances = new DailyBalanceReportDtoCredits();
+        creditBalances.setCredits(credits);
+        creditBalances.setCreditCards(creditCards);
+        report.setCredits(creditBalances);
+
+        return report;
+    }
+
+    /**
+     * Construye el reporte de saldos diarios a partir de un reporte precalculado completo,
+     * con las mismas secciones y la misma proyección que tendría el reporte generado en
+     * línea. Las secciones no solicitadas quedan sin datos.
+     *
+     * @param snapshot reporte precalculado con todas las secciones y los saldos diarios
+     * @param month mes solicitado del reporte
+     * @param sections secciones solicitadas
+     * @param view proyección del reporte
+     * @return reporte de saldos diarios
+     */
+    public DailyBalanceReportDto fromSnapshot(
+            DailyBalanceReportDto snapshot,
+            LocalDate month,
+            Set<ReportSection> sections,
+            ReportView view) {
+
+        snapshot.setMonth(month);
+        if (!sections.contains(ReportSection.CUSTOMER)) {
+            snapshot.setCustomerName(null);
+            snapshot.setCustomerType(null);
+        }
+        DailyBalanceReportDtoAccounts accounts = snapshot.getAccounts();
+        if (!sections.contains(ReportSection.ACCOUNTS)) {
+            snapshot.setAccounts(null);
+        } else if (view == ReportView.SUMMARY && accounts != null) {
+            for (List<AccountBalanceDto> balances : List.of(accounts.getSavings(),
+                    accounts.getChecking(), accounts.getFixedTerm(), accounts.getSavingsVip(),
+                    accounts.getCheckingPyme())) {
+                balances.forEach(balance -> balance.setDailyBalances(null));
+            }
+        }
+        DailyBalanceReportDtoCredits credits = snapshot.getCredits();
+        if (!sections.contains(ReportSection.CREDITS)) {
+            credits.setCredits(null);
+        } else if (view == ReportView.SUMMARY) {
+            credits.getCredits().forEach(balance -> balance.setDailyBalances(null));
+        }
+        if (!sections.contains(ReportSection.CREDIT_CARDS)) {
+            credits.setCreditCards(null);
+        } else if (view == ReportView.SUMMARY) {
+            credits.getCreditCards().forEach(balance -> balance.setDailyBalances(null));
+        }
+
+        List<ReportSectionStatusDto> statuses = new ArrayList<>();
+        for (ReportSection section : ReportSection.values()) {
+            statuses.add(new ReportSectionStatusDto()
+                    .section(section)
+                    .status(sections.contains(section)
+                            ? ReportSectionStatusDto.StatusEnum.COMPLETE
+                            : ReportSectionStatusDto.StatusEnum.NOT_REQUESTED));
+        }
+        snapshot.setSections(statuses);
+        return snapshot;
+    }
+
+    private static List<DailyBalanceDto> dailyDetail(
+            DailyBalanceSeries dailyBalances, ReportView view) {
+        return view == ReportView.SUMMARY ? null : dailyBalances.asDailyBalances();
+    }
+
+    private BigDecimal average(DailyBalanceSeries dailyBalances) {
+        BigDecimal averageBalance = reportMetrics.timeStage(
+                ReportMetrics.DAILY_BALANCE, "aggregation",
+                () -> aggregationKernel.average(dailyBalances));
+        log.debug("averageBalance: {} - days: {}", averageBalance, dailyBalances.size());
+        return averageBalance;
+    }
+}
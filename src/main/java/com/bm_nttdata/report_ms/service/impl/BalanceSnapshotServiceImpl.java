@@ -0,0 +1,139 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.config.BalanceSnapshotProperties;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.bm_nttdata.report_ms.service.BalanceReportBatchService;
+import com.bm_nttdata.report_ms.service.BalanceSnapshotService;
+import com.bm_nttdata.report_ms.store.BalanceSnapshotStore;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del precálculo de los reportes de saldos diarios de los meses cerrados.
+ * Los reportes se generan con el reporte de varios clientes, por lo que comparten su
+ * concurrencia acotada y la agrupación de consultas. Cada lote de clientes se guarda en su
+ * propio segmento del almacenamiento, que se publica al terminar el lote, de modo que una
+ * ejecución interrumpida o que falla conserva los lotes ya terminados. El ritmo se limita a
+ * un número de reportes por segundo y cada ejecución se detiene al vencer su ventana; los
+ * clientes pendientes, y los que fallaron, se precalculan en la siguiente ejecución y
+ * mientras tanto se generan en línea. Solo se precalcula el último mes cerrado según
+ * {@link SettlementCalendar}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceSnapshotServiceImpl implements BalanceSnapshotService {
+
+    /**
+     * Clientes por lote: cada lote se publica en su propio segmento y entre lotes se
+     * comprueba si la ventana de la ejecución venció.
+     */
+    private static final int CHUNK_SIZE = 100;
+
+    private final CustomerClient customerClient;
+    private final BalanceReportBatchService balanceReportBatchService;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final BalanceSnapshotProperties properties;
+    private final SettlementCalendar settlementCalendar;
+
+    /**
+     * Precalcula y guarda los reportes del último mes cerrado de los clientes que aún no lo
+     * tienen, y elimina los meses que superan la retención. Se ejecuta según la expresión
+     * cron configurada, normalmente cada noche, hasta completar el mes.
+     */
+    @Override
+    @Scheduled(cron = "${report.balance-snapshots.cron:0 0 1 * * *}")
+    public void precomputeClosedMonth() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth month = YearMonth.from(settlementCalendar.firstOpenDay()).minusMonths(1);
+        try {
+            balanceSnapshotStore.evictBefore(
+                    month.minusMonths(Math.max(1, properties.getRetainedMonths()) - 1L));
+            List<String> pending = pendingCustomers(month);
+            if (!pending.isEmpty()) {
+                precompute(month, pending);
+            }
+        } catch (Exception e) {
+            log.error("Error while precomputing balance reports of {}: {}",
+                    month, e.getMessage());
+        }
+    }
+
+    private void precompute(YearMonth month, List<String> customerIds) {
+        long startedAt = System.nanoTime();
+        long windowEnd = startedAt + properties.getWindow().toNanos();
+        long intervalNanos = properties.getReportsPerSecond() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / properties.getReportsPerSecond()) : 0;
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int saved = 0;
+
+        for (int from = 0; from < customerIds.size() && System.nanoTime() < windowEnd;
+                from += CHUNK_SIZE) {
+            DailyBalanceReportBatchRequestDto request = new DailyBalanceReportBatchRequestDto()
+                    .customerIds(customerIds.subList(
+                            from, Math.min(from + CHUNK_SIZE, customerIds.size())))
+                    .month(month.atDay(1))
+                    .view(ReportView.FULL);
+            try (BalanceSnapshotStore.SegmentWriter segment =
+                         balanceSnapshotStore.openSegment(month)) {
+                balanceReportBatchService.streamDailyBalanceReports(request, record -> {
+                    if (record.getStatus()
+                            == DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE) {
+                        segment.append(record.getCustomerId(), record.getReport());
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                    // Al esperar aquí, el reporte de varios clientes deja de lanzar clientes.
+                    pace(startedAt + processed.incrementAndGet() * intervalNanos);
+                });
+                segment.commit();
+                saved += segment.size();
+            }
+        }
+        log.info("Precomputed {} balance reports of {} ({} failed, {} pending)",
+                saved, month, failed.get(), customerIds.size() - processed.get());
+    }
+
+    /**
+     * Obtiene los clientes que aún no tienen el reporte del mes precalculado.
+     */
+    private List<String> pendingCustomers(YearMonth month) {
+        Set<String> pending = new LinkedHashSet<>();
+        for (CustomerDto customer : customerClient.getCustomers()) {
+            if (customer.getId() != null
+                    && !balanceSnapshotStore.contains(customer.getId(), month)) {
+                pending.add(customer.getId());
+            }
+        }
+        return new ArrayList<>(pending);
+    }
+
+    private static void pace(long notBeforeNanos) {
+        long waitNanos = notBeforeNanos - System.nanoTime();
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
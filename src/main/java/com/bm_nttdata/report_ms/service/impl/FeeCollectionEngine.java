@@ -0,0 +1,259 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.client.CloseableIterator;
+import com.bm_nttdata.report_ms.client.ProductDataGateway;
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.FeeCollectionProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import com.bm_nttdata.report_ms.service.ReportProgressListener;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de recolección de comisiones bancarias.
+ * Agrupa las cuentas por tipo en una sola pasada y consulta las comisiones de cada cuenta
+ * con un nivel de paralelismo configurable, ensamblando los resultados en el mismo orden
+ * en que se recibieron las cuentas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeeCollectionEngine {
+
+    private static final Map<String, AccountFeeDto.AccountTypeEnum> ACCOUNT_TYPES =
+            new HashMap<>();
+
+    static {
+        for (AccountFeeDto.AccountTypeEnum accountType : AccountFeeDto.AccountTypeEnum.values()) {
+            ACCOUNT_TYPES.put(accountType.getValue(), accountType);
+        }
+    }
+
+    private final ProductDataGateway productDataGateway;
+    private final FanOutExecutor fanOutExecutor;
+    private final FeeCollectionProperties properties;
+    private final AggregationKernel aggregationKernel;
+
+    /**
+     * Obtiene las comisiones cobradas a las cuentas en el periodo indicado, agrupadas
+     * por tipo de cuenta. Las cuentas sin comisiones en el periodo se omiten. Las
+     * consultas de comisiones se lanzan a medida que se recorren las cuentas, por lo que
+     * se solapan con la recepción de las siguientes páginas de cuentas; mientras se
+     * recorren, el total que recibe el listener es el número de cuentas recibidas hasta
+     * el momento.
+     *
+     * @param accounts cuentas bancarias a procesar
+     * @param startDate fecha inicial del periodo
+     * @param endDate fecha final del periodo
+     * @param progressListener listener que recibe el número de cuentas procesadas
+     * @return comisiones agrupadas por tipo de cuenta
+     * @throws ServiceException si ocurre un error al obtener las comisiones
+     */
+    public BankFeeReportDtoAccountFees collect(
+            Iterable<AccountDto> accounts,
+            LocalDate startDate,
+            LocalDate endDate,
+            ReportProgressListener progressListener) {
+
+        AtomicInteger total = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        try (FanOutScope scope = fanOutExecutor.openScope(properties.getParallelism())) {
+            Map<AccountFeeDto.AccountTypeEnum, List<CompletableFuture<AccountFeeDto>>> futures =
+                    groupByType(accounts, (account, accountType) -> {
+                        total.incrementAndGet();
+                        return scope.submit(() -> {
+                            AccountFeeDto accountFee =
+                                    getAccountFee(account, accountType, startDate, endDate);
+                            progressListener.onProgress(completed.incrementAndGet(), total.get());
+                            return accountFee;
+                        });
+                    });
+
+            BankFeeReportDtoAccountFees accountFees = new BankFeeReportDtoAccountFees();
+            accountFees.setSavings(
+                    awaitFees(futures.get(AccountFeeDto.AccountTypeEnum.SAVINGS)));
+            accountFees.setChecking(
+                    awaitFees(futures.get(AccountFeeDto.AccountTypeEnum.CHECKING)));
+            accountFees.setFixedTerm(
+                    awaitFees(futures.get(AccountFeeDto.AccountTypeEnum.FIXED_TERM)));
+            accountFees.setSavingsVip(
+                    awaitFees(futures.get(AccountFeeDto.AccountTypeEnum.SAVINGS_VIP)));
+            accountFees.setCheckingPyme(
+                    awaitFees(futures.get(AccountFeeDto.AccountTypeEnum.CHECKING_PYME)));
+            return accountFees;
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error while getting account fees: {}: " + e.getMessage());
+            throw new ServiceException(
+                    "Unexpected error while getting account fees: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene las comisiones cobradas a las cuentas en el periodo indicado y entrega
+     * cada cuenta con comisiones al consumidor en cuanto está disponible, respetando el
+     * orden de las cuentas. Como máximo se mantienen en memoria tantas cuentas como el
+     * nivel de paralelismo configurado, además de las páginas de cuentas en curso.
+     *
+     * @param accounts cuentas bancarias a procesar
+     * @param startDate fecha inicial del periodo
+     * @param endDate fecha final del periodo
+     * @param sink consumidor que recibe las comisiones de cada cuenta
+     * @throws ServiceException si ocurre un error al obtener las comisiones
+     */
+    public void stream(
+            Iterable<AccountDto> accounts,
+            LocalDate startDate,
+            LocalDate endDate,
+            Consumer<AccountFeeDto> sink) {
+
+        int parallelism = Math.max(1, properties.getParallelism());
+        try (FanOutScope scope = fanOutExecutor.openScope(parallelism)) {
+            Deque<CompletableFuture<AccountFeeDto>> window = new ArrayDeque<>(parallelism);
+            forEachAccount(accounts, account -> {
+                AccountFeeDto.AccountTypeEnum accountType =
+                        ACCOUNT_TYPES.get(account.getAccountType());
+                if (accountType == null) {
+                    return;
+                }
+                window.add(scope.submit(
+                        () -> getAccountFee(account, accountType, startDate, endDate)));
+                if (window.size() >= parallelism) {
+                    emit(window.poll(), sink);
+                }
+            });
+            while (!window.isEmpty()) {
+                emit(window.poll(), sink);
+            }
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error while streaming account fees: {}: " + e.getMessage());
+            throw new ServiceException(
+                    "Unexpected error while streaming account fees: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Agrupa las cuentas por tipo de cuenta en una sola pasada, conservando el orden
+     * original dentro de cada grupo. Cada cuenta se transforma en cuanto se recorre, antes
+     * de recibir las siguientes. Las cuentas de un tipo desconocido se descartan.
+     *
+     * @param accounts cuentas bancarias a agrupar
+     * @param mapper transformación de cada cuenta con su tipo
+     * @param <R> tipo de los elementos agrupados
+     * @return elementos agrupados por tipo de cuenta
+     */
+    <R> Map<AccountFeeDto.AccountTypeEnum, List<R>> groupByType(
+            Iterable<AccountDto> accounts,
+            BiFunction<AccountDto, AccountFeeDto.AccountTypeEnum, R> mapper) {
+
+        Map<AccountFeeDto.AccountTypeEnum, List<R>> groups =
+                new EnumMap<>(AccountFeeDto.AccountTypeEnum.class);
+        for (AccountFeeDto.AccountTypeEnum accountType : AccountFeeDto.AccountTypeEnum.values()) {
+            groups.put(accountType, new ArrayList<>());
+        }
+        forEachAccount(accounts, account -> {
+            AccountFeeDto.AccountTypeEnum accountType = ACCOUNT_TYPES.get(account.getAccountType());
+            if (accountType != null) {
+                groups.get(accountType).add(mapper.apply(account, accountType));
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Recorre las cuentas y, si el recorrido retiene recursos, lo cierra al terminar aunque
+     * falle a mitad, de modo que no queden consultas de páginas pendientes.
+     */
+    private static void forEachAccount(
+            Iterable<AccountDto> accounts, Consumer<AccountDto> action) {
+        Iterator<AccountDto> iterator = accounts.iterator();
+        try {
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+        } finally {
+            if (iterator instanceof CloseableIterator<AccountDto> closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Consulta las comisiones de una cuenta y construye su detalle.
+     *
+     * @param account cuenta bancaria
+     * @param accountType tipo de la cuenta
+     * @param startDate fecha inicial del periodo
+     * @param endDate fecha final del periodo
+     * @return detalle de comisiones de la cuenta
+     */
+    AccountFeeDto getAccountFee(
+            AccountDto account,
+            AccountFeeDto.AccountTypeEnum accountType,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        AccountFeeDto accountFee = new AccountFeeDto();
+        accountFee.setAccountId(account.getId());
+        accountFee.setAccountType(accountType);
+        accountFee.setCustomerId(account.getCustomerId());
+
+        List<FeeDetailDto> feeList =
+                productDataGateway.getAccountFees(account.getId(), startDate, endDate);
+
+        BigDecimal totalFees = aggregationKernel.sum(feeList, FeeDetailDto::getFeeAmount);
+
+        log.debug("totalFee: {}", totalFees);
+        accountFee.feeDetails(feeList);
+        accountFee.setNumberOfFees(feeList.size());
+        accountFee.setTotalFees(totalFees);
+
+        return accountFee;
+    }
+
+    private void emit(CompletableFuture<AccountFeeDto> future, Consumer<AccountFeeDto> sink) {
+        AccountFeeDto accountFee = FanOutScope.await(future);
+        if (!accountFee.getFeeDetails().isEmpty()) {
+            sink.accept(accountFee);
+        }
+    }
+
+    private List<AccountFeeDto> awaitFees(List<CompletableFuture<AccountFeeDto>> futures) {
+        List<AccountFeeDto> accountFees = new ArrayList<>();
+        for (CompletableFuture<AccountFeeDto> future : futures) {
+            AccountFeeDto accountFee = FanOutScope.await(future);
+            if (!accountFee.getFeeDetails().isEmpty()) {
+                accountFees.add(accountFee);
+            }
+        }
+        return accountFees;
+    }
+}
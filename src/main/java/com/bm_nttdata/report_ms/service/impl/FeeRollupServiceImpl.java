@@ -0,0 +1,287 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.aggregation.MoneyAccumulator;
+import com.bm_nttdata.report_ms.client.ActiveAccountSource;
+import com.bm_nttdata.report_ms.config.FeeRollupProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.FeeRollupDto;
+import com.bm_nttdata.report_ms.exception.ApiInvalidRequestException;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.AccountTypeFeeSummaryDto;
+import com.bm_nttdata.report_ms.model.BankFeeSummaryDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import com.bm_nttdata.report_ms.service.FeeRollupService;
+import com.bm_nttdata.report_ms.store.FeeRollupStore;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación de los servicios de acumulados diarios de comisiones bancarias.
+ * Los totales de un período se componen sumando los acumulados guardados de cada día;
+ * solo los días sin acumulado se consultan al microservicio de cuentas, agrupados en
+ * rangos contiguos para hacer una sola consulta por cuenta y rango. Solo se guardan los
+ * acumulados de los días sin acumulado más recientes, hasta {@code fill-max-days} por
+ * consulta; los más antiguos se calculan en línea. Los montos se suman con
+ * {@link AggregationKernel}, con el mismo redondeo que el reporte de comisiones. Solo los
+ * días cerrados según {@link SettlementCalendar} usan o guardan acumulados; con los
+ * acumulados deshabilitados todos los días se calculan en línea.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeeRollupServiceImpl implements FeeRollupService {
+
+    private final ActiveAccountSource activeAccountSource;
+    private final FeeCollectionEngine feeCollectionEngine;
+    private final FeeRollupStore feeRollupStore;
+    private final FeeRollupProperties properties;
+    private final SettlementCalendar settlementCalendar;
+    private final AggregationKernel aggregationKernel;
+    private final ReportMetrics reportMetrics;
+
+    @Override
+    public BankFeeSummaryDto getBankFeesSummary(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ApiInvalidRequestException("endDate must not be before startDate");
+        }
+        return reportMetrics.timeStage(ReportMetrics.BANK_FEES_SUMMARY, "total",
+                () -> buildBankFeesSummary(startDate, endDate));
+    }
+
+    private BankFeeSummaryDto buildBankFeesSummary(LocalDate startDate, LocalDate endDate) {
+
+        LocalDate firstOpenDay = settlementCalendar.firstOpenDay();
+        Map<String, FeeTotals> totals = new LinkedHashMap<>();
+        List<LocalDate> missingDays = new ArrayList<>();
+        int rolledUpDays = 0;
+        for (LocalDate day = startDate;
+                !day.isAfter(endDate) && day.isBefore(firstOpenDay); day = day.plusDays(1)) {
+            FeeRollupDto rollup = feeRollupStore.find(day).orElse(null);
+            if (rollup == null) {
+                missingDays.add(day);
+            } else {
+                addTo(totals, rollup);
+                rolledUpDays++;
+            }
+        }
+
+        Iterable<AccountDto> accounts = null;
+        if (!missingDays.isEmpty()) {
+            accounts = getActiveAccounts();
+            Iterable<AccountDto> activeAccounts = accounts;
+            int fillDays = properties.isEnabled()
+                    ? Math.min(missingDays.size(), Math.max(0, properties.getFillMaxDays()))
+                    : 0;
+            List<LocalDate> liveClosedDays = missingDays.subList(0, missingDays.size() - fillDays);
+            List<LocalDate> storedDays =
+                    missingDays.subList(missingDays.size() - fillDays, missingDays.size());
+            if (!liveClosedDays.isEmpty()) {
+                reportMetrics.timeStage(ReportMetrics.BANK_FEES_SUMMARY, "live_fees",
+                        () -> rollUp(activeAccounts, liveClosedDays, false))
+                        .forEach(rollup -> addTo(totals, rollup));
+            }
+            if (!storedDays.isEmpty()) {
+                reportMetrics.timeStage(ReportMetrics.BANK_FEES_SUMMARY, "rollup_fill",
+                        () -> rollUp(activeAccounts, storedDays, true))
+                        .forEach(rollup -> addTo(totals, rollup));
+            }
+        }
+
+        int liveDays = missingDays.size();
+        LocalDate openStart = startDate.isBefore(firstOpenDay) ? firstOpenDay : startDate;
+        if (!openStart.isAfter(endDate)) {
+            if (accounts == null) {
+                accounts = getActiveAccounts();
+            }
+            Iterable<AccountDto> activeAccounts = accounts;
+            reportMetrics.timeStage(ReportMetrics.BANK_FEES_SUMMARY, "live_fees",
+                    () -> collectDailyRollups(activeAccounts, openStart, endDate))
+                    .values()
+                    .forEach(rollup -> addTo(totals, rollup));
+            liveDays += (int) (endDate.toEpochDay() - openStart.toEpochDay() + 1);
+        }
+
+        return toSummary(startDate, endDate, totals, rolledUpDays, liveDays);
+    }
+
+    /**
+     * Calcula los acumulados de los días cerrados recientes que aún no lo tienen.
+     * Se ejecuta una vez al día, después del cierre del día anterior, y no hace nada si
+     * los acumulados están deshabilitados.
+     */
+    @Override
+    @Scheduled(cron = "${report.fees.rollup.cron:0 30 0 * * *}")
+    public void rollUpClosedDays() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate firstOpenDay = settlementCalendar.firstOpenDay();
+        List<LocalDate> missingDays = new ArrayList<>();
+        for (int i = Math.max(1, properties.getBackfillDays()); i >= 1; i--) {
+            LocalDate day = firstOpenDay.minusDays(i);
+            if (feeRollupStore.find(day).isEmpty()) {
+                missingDays.add(day);
+            }
+        }
+        if (missingDays.isEmpty()) {
+            return;
+        }
+        try {
+            rollUp(getActiveAccounts(), missingDays, true);
+            log.info("Rolled up bank fees for {} closed days", missingDays.size());
+        } catch (Exception e) {
+            log.error("Error while rolling up bank fees: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Calcula los acumulados de los días indicados, consultando las comisiones una sola
+     * vez por cada rango de días contiguos, y opcionalmente los guarda.
+     *
+     * @param accounts cuentas bancarias activas
+     * @param days días cerrados sin acumulado, en orden ascendente
+     * @param store indica si se guardan los acumulados calculados
+     * @return acumulados calculados
+     */
+    private List<FeeRollupDto> rollUp(
+            Iterable<AccountDto> accounts, List<LocalDate> days, boolean store) {
+        List<FeeRollupDto> rollups = new ArrayList<>(days.size());
+        int rangeStart = 0;
+        for (int i = 1; i <= days.size(); i++) {
+            if (i < days.size() && days.get(i).equals(days.get(i - 1).plusDays(1))) {
+                continue;
+            }
+            LocalDate startDate = days.get(rangeStart);
+            LocalDate endDate = days.get(i - 1);
+            Map<LocalDate, FeeRollupDto> rangeRollups =
+                    collectDailyRollups(accounts, startDate, endDate);
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                FeeRollupDto rollup = rangeRollups.get(day);
+                if (store) {
+                    feeRollupStore.save(rollup);
+                }
+                rollups.add(rollup);
+            }
+            rangeStart = i;
+        }
+        return rollups;
+    }
+
+    /**
+     * Consulta las comisiones de las cuentas en un rango y las acumula por día y por tipo
+     * de cuenta. Todos los días del rango quedan presentes en el resultado, incluso los
+     * que no tienen comisiones. Las comisiones sin fecha o fuera del rango se descartan,
+     * ya que no se pueden asignar a un día.
+     */
+    private Map<LocalDate, FeeRollupDto> collectDailyRollups(
+            Iterable<AccountDto> accounts, LocalDate startDate, LocalDate endDate) {
+
+        Map<LocalDate, Map<String, FeeTotals>> dailyTotals = new HashMap<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            dailyTotals.put(day, new LinkedHashMap<>());
+        }
+        feeCollectionEngine.stream(accounts, startDate, endDate, accountFee -> {
+            String accountType = accountFee.getAccountType().getValue();
+            for (FeeDetailDto fee : accountFee.getFeeDetails()) {
+                Map<String, FeeTotals> totals =
+                        fee.getDate() == null ? null : dailyTotals.get(fee.getDate());
+                if (totals == null) {
+                    log.warn("Ignoring fee of account {} dated {} outside of {} - {}",
+                            accountFee.getAccountId(), fee.getDate(), startDate, endDate);
+                    continue;
+                }
+                totalsOf(totals, accountType).add(fee.getFeeAmount(), 1);
+            }
+        });
+
+        Map<LocalDate, FeeRollupDto> rollups = new HashMap<>();
+        dailyTotals.forEach((day, totals) -> {
+            Map<String, FeeRollupDto.Aggregate> accountTypes = new LinkedHashMap<>();
+            totals.forEach((accountType, feeTotals) -> accountTypes.put(accountType,
+                    new FeeRollupDto.Aggregate(feeTotals.amount.exactSum(), feeTotals.count)));
+            rollups.put(day, new FeeRollupDto(day, accountTypes));
+        });
+        return rollups;
+    }
+
+    private Iterable<AccountDto> getActiveAccounts() {
+        try {
+            return activeAccountSource.activeAccounts(ReportMetrics.BANK_FEES_SUMMARY);
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while getting active accounts: {}", e.getMessage());
+            throw new ServiceException(
+                    "Unexpected error while getting active accounts: " + e.getMessage());
+        }
+    }
+
+    private void addTo(Map<String, FeeTotals> totals, FeeRollupDto rollup) {
+        rollup.getAccountTypes().forEach((accountType, aggregate) ->
+                totalsOf(totals, accountType).add(aggregate.getAmount(), aggregate.getCount()));
+    }
+
+    private FeeTotals totalsOf(Map<String, FeeTotals> totals, String accountType) {
+        return totals.computeIfAbsent(
+                accountType, ignored -> new FeeTotals(aggregationKernel.accumulator()));
+    }
+
+    private BankFeeSummaryDto toSummary(
+            LocalDate startDate, LocalDate endDate, Map<String, FeeTotals> totals,
+            int rolledUpDays, int liveDays) {
+
+        BankFeeSummaryDto summary = new BankFeeSummaryDto();
+        summary.setStartDate(startDate);
+        summary.setEndDate(endDate);
+        MoneyAccumulator totalAmount = aggregationKernel.accumulator();
+        long totalNumber = 0;
+        for (AccountFeeDto.AccountTypeEnum accountType : AccountFeeDto.AccountTypeEnum.values()) {
+            FeeTotals feeTotals = totalsOf(totals, accountType.getValue());
+            AccountTypeFeeSummaryDto accountTypeSummary = new AccountTypeFeeSummaryDto();
+            accountTypeSummary.setAccountType(
+                    AccountTypeFeeSummaryDto.AccountTypeEnum.fromValue(accountType.getValue()));
+            accountTypeSummary.setTotalFeesAmount(feeTotals.amount.sum());
+            accountTypeSummary.setTotalFeesNumber(feeTotals.count);
+            summary.addAccountTypesItem(accountTypeSummary);
+            totalAmount.add(feeTotals.amount.exactSum());
+            totalNumber += feeTotals.count;
+        }
+        summary.setTotalFeesAmount(totalAmount.sum());
+        summary.setTotalFeesNumber(totalNumber);
+        summary.setRolledUpDays(rolledUpDays);
+        summary.setLiveDays(liveDays);
+        return summary;
+    }
+
+    /**
+     * Suma exacta y número de comisiones de un tipo de cuenta.
+     */
+    private static final class FeeTotals {
+
+        private final MoneyAccumulator amount;
+        private long count;
+
+        private FeeTotals(MoneyAccumulator amount) {
+            this.amount = amount;
+        }
+
+        private void add(BigDecimal feeAmount, long feeCount) {
+            amount.add(feeAmount);
+            count += feeCount;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.client.ProductType;
+import com.bm_nttdata.report_ms.client.cache.DailyBalanceCache;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveAccountClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCreditClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCustomerClient;
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.CreditCardDto;
+import com.bm_nttdata.report_ms.dto.CreditDto;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditCardBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Generación del reporte de saldos diarios como un flujo reactivo.
+ * Solo se activa con {@code report.client.mode=REACTIVE}. Las consultas al cliente y a
+ * los listados de productos se lanzan a la vez, y los saldos diarios de cada producto
+ * se consultan en cuanto se recibe su listado, con el mismo límite de llamadas simultáneas
+ * por solicitud que el modo bloqueante. Ninguna llamada en curso ocupa un hilo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "report.client", name = "mode", havingValue = "REACTIVE")
+public class ReactiveReportAssembler {
+
+    private static final Map<String, AccountBalanceDto.AccountTypeEnum> ACCOUNT_TYPES =
+            new HashMap<>();
+
+    static {
+        for (AccountBalanceDto.AccountTypeEnum accountType
+                : AccountBalanceDto.AccountTypeEnum.values()) {
+            ACCOUNT_TYPES.put(accountType.getValue(), accountType);
+        }
+    }
+
+    private final ReactiveCustomerClient customerClient;
+    private final ReactiveAccountClient accountClient;
+    private final ReactiveCreditClient creditClient;
+    private final DailyBalanceCache dailyBalanceCache;
+    private final BalanceReportMapper balanceReportMapper;
+    private final FanOutProperties fanOutProperties;
+    private final ReportMetrics reportMetrics;
+
+    /**
+     * Construye las secciones solicitadas del reporte de saldos diarios de un cliente en
+     * un mes. Solo se consultan los microservicios de esas secciones.
+     *
+     * @param clientId identificador único del cliente
+     * @param month mes del reporte
+     * @param sections secciones solicitadas y su estado
+     * @param view proyección del reporte
+     * @return reporte de saldos diarios, emitido cuando terminan todas las consultas
+     */
+    public Mono<DailyBalanceReportDto> dailyBalanceReport(
+            String clientId, LocalDate month, ReportSections sections, ReportView view) {
+        int concurrency = Math.max(1, fanOutProperties.getMaxConcurrencyPerRequest());
+
+        Mono<Optional<DailyBalanceReportDtoAccounts>> accounts = sections.collect(
+                ReportSection.ACCOUNTS, () -> reportMetrics
+                        .timeStage(ReportMetrics.DAILY_BALANCE, "accounts",
+                                accountClient.getCustomerAccounts(clientId))
+                        .doOnNext(list -> reportMetrics.recordFanOut(
+                                ReportMetrics.DAILY_BALANCE, "accounts", list.size()))
+                        .flatMapMany(Flux::fromIterable)
+                        .filter(account -> ACCOUNT_TYPES.containsKey(account.getAccountType()))
+                        .flatMapSequential(
+                                account -> accountBalance(account, month, view), concurrency)
+                        .collectList()
+                        .map(balanceReportMapper::toAccountBalances));
+
+        Mono<Optional<List<CreditBalanceDto>>> credits = sections.collect(
+                ReportSection.CREDITS, () -> reportMetrics
+                        .timeStage(ReportMetrics.DAILY_BALANCE, "credits",
+                                creditClient.getCustomerCredits(clientId))
+                        .doOnNext(list -> reportMetrics.recordFanOut(
+                                ReportMetrics.DAILY_BALANCE, "credits", list.size()))
+                        .flatMapMany(Flux::fromIterable)
+                        .flatMapSequential(
+                                credit -> creditBalance(credit, month, view), concurrency)
+                        .collectList());
+
+        Mono<Optional<List<CreditCardBalanceDto>>> creditCards = sections.collect(
+                ReportSection.CREDIT_CARDS, () -> reportMetrics
+                        .timeStage(ReportMetrics.DAILY_BALANCE, "credit_cards",
+                                creditClient.getCustomerCreditCards(clientId))
+                        .doOnNext(list -> reportMetrics.recordFanOut(
+                                ReportMetrics.DAILY_BALANCE, "credit_cards", list.size()))
+                        .flatMapMany(Flux::fromIterable)
+                        .flatMapSequential(
+                                card -> creditCardBalance(card, month, view), concurrency)
+                        .collectList());
+
+        Mono<Optional<CustomerDto>> customer = sections.collect(
+                ReportSection.CUSTOMER, () -> reportMetrics.timeStage(
+                        ReportMetrics.DAILY_BALANCE, "customer",
+                        customerClient.getCustomerById(clientId)));
+
+        return Mono.zip(customer, accounts, credits, creditCards)
+                .map(result -> {
+                    sections.requireAnyComplete();
+                    DailyBalanceReportDto report = balanceReportMapper.toReport(clientId, month,
+                            result.getT1().orElse(null), result.getT2().orElse(null),
+                            result.getT3().orElse(null), result.getT4().orElse(null));
+                    report.setSections(sections.statuses());
+                    return report;
+                });
+    }
+
+    private Mono<AccountBalanceDto> accountBalance(
+            AccountDto account, LocalDate month, ReportView view) {
+        return dailyBalances(ProductType.ACCOUNT, account.getId(), month,
+                () -> reportMetrics.timeStage(
+                        ReportMetrics.DAILY_BALANCE, "account_daily_balances",
+                        accountClient.getAllDailyBalances(account.getId(), month)))
+                .map(dailyBalances -> balanceReportMapper.toAccountBalance(
+                        account, ACCOUNT_TYPES.get(account.getAccountType()), dailyBalances, view));
+    }
+
+    private Mono<CreditBalanceDto> creditBalance(
+            CreditDto credit, LocalDate month, ReportView view) {
+        return dailyBalances(ProductType.CREDIT, credit.getId(), month,
+                () -> reportMetrics.timeStage(
+                        ReportMetrics.DAILY_BALANCE, "credit_daily_balances",
+                        creditClient.getAllCreditDailyBalances(credit.getId(), month)))
+                .map(dailyBalances ->
+                        balanceReportMapper.toCreditBalance(credit, dailyBalances, view));
+    }
+
+    private Mono<CreditCardBalanceDto> creditCardBalance(
+            CreditCardDto card, LocalDate month, ReportView view) {
+        return dailyBalances(ProductType.CREDIT_CARD, card.getId(), month,
+                () -> reportMetrics.timeStage(
+                        ReportMetrics.DAILY_BALANCE, "credit_card_daily_balances",
+                        creditClient.getAllCreditCardDailyBalances(card.getId(), month)))
+                .map(dailyBalances ->
+                        balanceReportMapper.toCreditCardBalance(card, dailyBalances, view));
+    }
+
+    /**
+     * Obtiene los saldos diarios de un producto de la caché o, si no están, del
+     * microservicio correspondiente, guardándolos en caché al recibirlos.
+     */
+    private Mono<DailyBalanceSeries> dailyBalances(
+            ProductType productType,
+            String productId,
+            LocalDate month,
+            Supplier<Mono<DailyBalanceSeries>> loader) {
+
+        DailyBalanceSeries cached =
+                dailyBalanceCache.getIfPresent(productType, productId, month);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return loader.get()
+                .defaultIfEmpty(DailyBalanceSeries.EMPTY)
+                .doOnNext(dailyBalances ->
+                        dailyBalanceCache.put(productType, productId, month, dailyBalances));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.model.ReportJobDto;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Estado en memoria de un trabajo de generación de reporte.
+ * Se actualiza desde el hilo que ejecuta el trabajo y se consulta desde los hilos web.
+ */
+class ReportJob {
+
+    private final String jobId;
+    private final ReportJobDto.ReportTypeEnum reportType;
+    private final OffsetDateTime submittedAt;
+    private volatile ReportJobDto.StatusEnum status;
+    private volatile int progress;
+    private volatile OffsetDateTime completedAt;
+    private volatile String errorMessage;
+
+    ReportJob(String jobId, ReportJobDto.ReportTypeEnum reportType) {
+        this(jobId, reportType, OffsetDateTime.now(ZoneOffset.UTC), ReportJobDto.StatusEnum.QUEUED);
+    }
+
+    private ReportJob(String jobId, ReportJobDto.ReportTypeEnum reportType,
+            OffsetDateTime submittedAt, ReportJobDto.StatusEnum status) {
+        this.jobId = jobId;
+        this.reportType = reportType;
+        this.submittedAt = submittedAt;
+        this.status = status;
+    }
+
+    /**
+     * Reconstruye un trabajo completado a partir de un resultado ya almacenado,
+     * por ejemplo después de un reinicio del servicio.
+     */
+    static ReportJob restored(
+            String jobId, ReportJobDto.ReportTypeEnum reportType, OffsetDateTime completedAt) {
+        ReportJob job = new ReportJob(
+                jobId, reportType, completedAt, ReportJobDto.StatusEnum.COMPLETED);
+        job.progress = 100;
+        job.completedAt = completedAt;
+        return job;
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    ReportJobDto.StatusEnum getStatus() {
+        return status;
+    }
+
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    boolean isFinished() {
+        return status == ReportJobDto.StatusEnum.COMPLETED
+                || status == ReportJobDto.StatusEnum.FAILED;
+    }
+
+    void start() {
+        status = ReportJobDto.StatusEnum.RUNNING;
+    }
+
+    void updateProgress(int completed, int total) {
+        if (total > 0) {
+            progress = (int) Math.min(99, completed * 100L / total);
+        }
+    }
+
+    void complete() {
+        progress = 100;
+        completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        status = ReportJobDto.StatusEnum.COMPLETED;
+    }
+
+    void fail(String message) {
+        errorMessage = message;
+        completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        status = ReportJobDto.StatusEnum.FAILED;
+    }
+
+    ReportJobDto toDto() {
+        return new ReportJobDto()
+                .jobId(jobId)
+                .reportType(reportType)
+                .status(status)
+                .progress(progress)
+                .submittedAt(submittedAt)
+                .completedAt(completedAt)
+                .errorMessage(errorMessage);
+    }
+}
@@ -0,0 +1,259 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.config.ReportJobProperties;
+import com.bm_nttdata.report_ms.exception.ApiInvalidRequestException;
+import com.bm_nttdata.report_ms.exception.BusinessRuleException;
+import com.bm_nttdata.report_ms.exception.ResourceNotFoundException;
+import com.bm_nttdata.report_ms.exception.ServiceUnavailableException;
+import com.bm_nttdata.report_ms.model.ReportJobDto;
+import com.bm_nttdata.report_ms.model.ReportJobRequestDto;
+import com.bm_nttdata.report_ms.service.ReportJobService;
+import com.bm_nttdata.report_ms.service.ReportService;
+import com.bm_nttdata.report_ms.store.ReportResultStore;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación de los servicios de generación asíncrona de reportes bancarios.
+ * El identificador de cada trabajo se deriva de los parámetros del reporte, de modo que
+ * los reintentos de un cliente reutilizan el trabajo en curso o el resultado ya generado.
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportService reportService;
+    private final ReportResultStore resultStore;
+    private final Executor jobExecutor;
+    private final ReportJobProperties properties;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el servicio de trabajos de reportes.
+     *
+     * @param reportService servicio de generación de reportes
+     * @param resultStore almacenamiento de resultados
+     * @param jobExecutor pool de trabajos de reportes
+     * @param properties propiedades de los trabajos de reportes
+     */
+    public ReportJobServiceImpl(
+            ReportService reportService,
+            ReportResultStore resultStore,
+            @Qualifier("reportJobExecutor") Executor jobExecutor,
+            ReportJobProperties properties) {
+        this.reportService = reportService;
+        this.resultStore = resultStore;
+        this.jobExecutor = jobExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Registra un trabajo de generación de reporte. Si ya existe un trabajo para los mismos
+     * parámetros que no ha fallado, o un resultado vigente en el almacenamiento, se devuelve
+     * ese trabajo sin volver a generar el reporte.
+     *
+     * @param request datos del reporte a generar
+     * @return estado del trabajo registrado
+     * @throws ApiInvalidRequestException si faltan parámetros del tipo de reporte
+     * @throws ServiceUnavailableException si la cola de trabajos está llena
+     */
+    @Override
+    public ReportJobDto submit(ReportJobRequestDto request) {
+        validate(request);
+        String jobId = toJobId(request);
+        ReportJobDto.ReportTypeEnum reportType =
+                ReportJobDto.ReportTypeEnum.fromValue(request.getReportType().getValue());
+
+        ReportJob[] created = new ReportJob[1];
+        ReportJob job = jobs.compute(jobId, (id, existing) -> {
+            if (existing != null && isReusable(existing)) {
+                return existing;
+            }
+            Optional<ReportJob> stored = restore(id);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            created[0] = new ReportJob(id, reportType);
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            try {
+                jobExecutor.execute(() -> run(created[0], request));
+                log.info("Report job {} queued", jobId);
+            } catch (RejectedExecutionException e) {
+                jobs.remove(jobId, created[0]);
+                throw new ServiceUnavailableException(
+                        "Report job queue is full. Please try again later");
+            }
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Obtiene el estado y el avance de un trabajo.
+     *
+     * @param jobId identificador del trabajo
+     * @return estado del trabajo
+     * @throws ResourceNotFoundException si el trabajo no existe o su resultado expiró
+     */
+    @Override
+    public ReportJobDto getJob(String jobId) {
+        return findJob(jobId).toDto();
+    }
+
+    /**
+     * Obtiene el resultado de un trabajo completado.
+     *
+     * @param jobId identificador del trabajo
+     * @return archivo con el reporte generado
+     * @throws ResourceNotFoundException si el trabajo o su resultado no existen
+     * @throws BusinessRuleException si el trabajo aún no termina o terminó con error
+     */
+    @Override
+    public Resource getResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() == ReportJobDto.StatusEnum.FAILED) {
+            throw new BusinessRuleException(
+                    "Report job " + jobId + " failed: " + job.getErrorMessage());
+        }
+        if (job.getStatus() != ReportJobDto.StatusEnum.COMPLETED) {
+            throw new BusinessRuleException("Report job " + jobId + " is not completed yet");
+        }
+        Path result = resultStore.find(jobId).orElseThrow(() -> {
+            jobs.remove(jobId, job);
+            return new ResourceNotFoundException("Result of report job " + jobId + " expired");
+        });
+        return new FileSystemResource(result);
+    }
+
+    /**
+     * Elimina de memoria los trabajos terminados cuyo tiempo de retención ha vencido.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.store.eviction-interval:PT10M}")
+    public void evictFinishedJobs() {
+        OffsetDateTime limit = OffsetDateTime.now(ZoneOffset.UTC)
+                .minus(properties.getStore().getRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(limit));
+    }
+
+    /**
+     * Indica si un trabajo existente puede atender una nueva solicitud: los trabajos en
+     * curso y los completados cuyo resultado sigue almacenado se reutilizan.
+     */
+    private boolean isReusable(ReportJob job) {
+        return switch (job.getStatus()) {
+            case QUEUED, RUNNING -> true;
+            case COMPLETED -> resultStore.find(job.getJobId()).isPresent();
+            case FAILED -> false;
+        };
+    }
+
+    private void run(ReportJob job, ReportJobRequestDto request) {
+        job.start();
+        try {
+            Object report = switch (request.getReportType()) {
+                case DAILY_BALANCE -> reportService.generateDailyBalanceReport(
+                        request.getCustomerId(), request.getMonth());
+                case BANK_FEES -> reportService.getBankFeesReport(
+                        request.getStartDate(), request.getEndDate(), job::updateProgress);
+            };
+            resultStore.save(job.getJobId(), report);
+            job.complete();
+            log.info("Report job {} completed", job.getJobId());
+        } catch (Exception e) {
+            log.error("Report job {} failed: {}", job.getJobId(), e.getMessage());
+            job.fail(e.getMessage());
+        }
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job;
+        }
+        return restore(jobId)
+                .map(restored -> jobs.computeIfAbsent(jobId, id -> restored))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Report job " + jobId + " not found"));
+    }
+
+    /**
+     * Reconstruye un trabajo completado a partir del almacenamiento de resultados.
+     */
+    private Optional<ReportJob> restore(String jobId) {
+        Optional<ReportJobDto.ReportTypeEnum> reportType = reportTypeOf(jobId);
+        if (reportType.isEmpty()) {
+            return Optional.empty();
+        }
+        return resultStore.savedAt(jobId)
+                .map(savedAt -> ReportJob.restored(
+                        jobId, reportType.get(), savedAt.atOffset(ZoneOffset.UTC)));
+    }
+
+    private static Optional<ReportJobDto.ReportTypeEnum> reportTypeOf(String jobId) {
+        int separator = jobId.indexOf('-');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        String prefix = jobId.substring(0, separator);
+        for (ReportJobDto.ReportTypeEnum reportType : ReportJobDto.ReportTypeEnum.values()) {
+            if (reportType.getValue().equals(prefix)) {
+                return Optional.of(reportType);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deriva un identificador estable a partir del tipo y los parámetros del reporte.
+     */
+    private static String toJobId(ReportJobRequestDto request) {
+        String key = switch (request.getReportType()) {
+            case DAILY_BALANCE -> request.getCustomerId() + "|" + request.getMonth();
+            case BANK_FEES -> request.getStartDate() + "|" + request.getEndDate();
+        };
+        return request.getReportType().getValue() + "-"
+                + UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void validate(ReportJobRequestDto request) {
+        if (request == null || request.getReportType() == null) {
+            throw new ApiInvalidRequestException("reportType is required");
+        }
+        switch (request.getReportType()) {
+            case DAILY_BALANCE -> {
+                if (request.getCustomerId() == null || request.getMonth() == null) {
+                    throw new ApiInvalidRequestException(
+                            "customerId and month are required for DAILY_BALANCE reports");
+                }
+            }
+            case BANK_FEES -> {
+                if (request.getStartDate() == null || request.getEndDate() == null) {
+                    throw new ApiInvalidRequestException(
+                            "startDate and endDate are required for BANK_FEES reports");
+                }
+                if (request.getEndDate().isBefore(request.getStartDate())) {
+                    throw new ApiInvalidRequestException(
+                            "endDate must not be before startDate");
+                }
+            }
+            default -> throw new ApiInvalidRequestException(
+                    "Unsupported report type: " + request.getReportType());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.concurrent.SingleFlight;
+import com.bm_nttdata.report_ms.config.CoalescingProperties;
+import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comparte la generación de un reporte entre las solicitudes idénticas que llegan
+ * mientras ese reporte se está generando, por ejemplo las consultas repetidas de un
+ * mismo cliente y mes a fin de mes.
+ */
+@Component
+public class ReportRequestCoalescer {
+
+    private final CoalescingProperties properties;
+    private final SingleFlight<BalanceReportKey, DailyBalanceReportDto> balanceReports;
+    private final SingleFlight<BankFeesReportKey, BankFeeReportDto> bankFeesReports;
+
+    /**
+     * Construye el agrupador de solicitudes de reportes.
+     *
+     * @param properties propiedades de agrupación de solicitudes
+     * @param meterRegistry registro de métricas
+     */
+    public ReportRequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.balanceReports = new SingleFlight<>(
+                "balanceReport", properties.getMaxInFlight(), meterRegistry);
+        this.bankFeesReports = new SingleFlight<>(
+                "bankFeesReport", properties.getMaxInFlight(), meterRegistry);
+    }
+
+    /**
+     * Genera el reporte de saldos diarios de un cliente o espera al que ya está en curso.
+     * El reporte abarca el mes completo, por lo que las solicitudes de cualquier día de un
+     * mismo mes comparten la generación.
+     *
+     * @param clientId identificador del cliente
+     * @param month mes del reporte
+     * @param sections secciones solicitadas
+     * @param partial indica si se pidió un reporte parcial
+     * @param view proyección del reporte
+     * @param report generación del reporte
+     * @return reporte de saldos diarios
+     */
+    public DailyBalanceReportDto balanceReport(
+            String clientId,
+            LocalDate month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view,
+            Supplier<DailyBalanceReportDto> report) {
+        if (!properties.isEnabled()) {
+            return report.get();
+        }
+        return balanceReports.execute(
+                new BalanceReportKey(clientId, YearMonth.from(month), sections, partial, view),
+                report);
+    }
+
+    /**
+     * Genera el reporte de comisiones bancarias de un periodo o espera al que ya está en curso.
+     *
+     * @param startDate fecha inicial del periodo
+     * @param endDate fecha final del periodo
+     * @param report generación del reporte
+     * @return reporte de comisiones bancarias
+     */
+    public BankFeeReportDto bankFeesReport(
+            LocalDate startDate, LocalDate endDate, Supplier<BankFeeReportDto> report) {
+        if (!properties.isEnabled()) {
+            return report.get();
+        }
+        return bankFeesReports.execute(new BankFeesReportKey(startDate, endDate), report);
+    }
+
+    private record BalanceReportKey(
+            String clientId,
+            YearMonth month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view) {
+    }
+
+    private record BankFeesReportKey(LocalDate startDate, LocalDate endDate) {
+    }
+}
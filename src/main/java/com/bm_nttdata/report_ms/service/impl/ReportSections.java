@@ -0,0 +1,210 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Secciones solicitadas de un reporte de saldos diarios y el estado de cada una.
+ * En modo parcial, el fallo de una sección no descarta las demás: la sección queda sin
+ * datos y se marca como fallida, para que el cliente vuelva a pedir solo esa sección.
+ * Fuera del modo parcial el fallo de cualquier sección se propaga como hasta ahora.
+ * Lo comparten el modo bloqueante y el modo reactivo de generación del reporte.
+ */
+@Slf4j
+final class ReportSections {
+
+    private final Set<ReportSection> requested;
+    private final boolean partial;
+    private final Deadline deadline;
+    private final Map<ReportSection, ReportSectionStatusDto> statuses =
+            new EnumMap<>(ReportSection.class);
+    private Throwable lastFailure;
+
+    /**
+     * Crea el estado de las secciones de un reporte. El plazo de la solicitud se toma
+     * del hilo que lo crea.
+     *
+     * @param requested secciones solicitadas
+     * @param partial indica si se devuelven las secciones correctas cuando otras fallan
+     */
+    ReportSections(Set<ReportSection> requested, boolean partial) {
+        this.requested = requested.isEmpty()
+                ? EnumSet.allOf(ReportSection.class) : EnumSet.copyOf(requested);
+        this.partial = partial;
+        this.deadline = Deadline.current();
+    }
+
+    /**
+     * Indica si la sección fue solicitada.
+     *
+     * @param section sección del reporte
+     * @return {@code true} si la sección forma parte del reporte
+     */
+    boolean isRequested(ReportSection section) {
+        return requested.contains(section);
+    }
+
+    /**
+     * Indica si se devuelven las secciones correctas cuando otras fallan.
+     *
+     * @return {@code true} en modo parcial
+     */
+    boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Inicia la obtención de una sección solo si fue solicitada.
+     *
+     * @param section sección del reporte
+     * @param loader inicio de la obtención de la sección
+     * @param <T> tipo de los datos de la sección
+     * @return futuro con los datos de la sección, o {@code null} si no fue solicitada
+     */
+    <T> CompletableFuture<T> start(ReportSection section, Supplier<CompletableFuture<T>> loader) {
+        if (!isRequested(section)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Espera los datos de una sección y registra su estado.
+     *
+     * @param section sección del reporte
+     * @param future futuro con los datos de la sección
+     * @param <T> tipo de los datos de la sección
+     * @return datos de la sección, o {@code null} si no fue solicitada o falló en modo parcial
+     */
+    <T> T await(ReportSection section, CompletableFuture<T> future) {
+        if (!isRequested(section)) {
+            return null;
+        }
+        try {
+            T result = FanOutScope.await(future);
+            complete(section);
+            return result;
+        } catch (RuntimeException e) {
+            if (!partial) {
+                throw e;
+            }
+            fail(section, e);
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene de forma reactiva los datos de una sección y registra su estado. En modo
+     * parcial, la sección que no termina dentro del plazo de la solicitud se marca como
+     * fallida en lugar de retrasar el reporte. Si el plazo ya venció, la sección no se
+     * consulta.
+     *
+     * @param section sección del reporte
+     * @param loader obtención de la sección
+     * @param <T> tipo de los datos de la sección
+     * @return datos de la sección, vacío si no fue solicitada o falló en modo parcial
+     */
+    <T> Mono<Optional<T>> collect(ReportSection section, Supplier<Mono<T>> loader) {
+        if (!isRequested(section)) {
+            return Mono.just(Optional.empty());
+        }
+        if (deadline.isExpired()) {
+            DeadlineExceededException expired = new DeadlineExceededException(
+                    "Request deadline exceeded before " + section);
+            if (!partial) {
+                return Mono.error(expired);
+            }
+            return Mono.fromSupplier(() -> {
+                fail(section, expired);
+                return Optional.empty();
+            });
+        }
+        Mono<T> data = loader.get();
+        if (!partial) {
+            return data.map(Optional::of).doOnSuccess(ignored -> complete(section));
+        }
+        if (deadline.isBounded()) {
+            data = data.timeout(Duration.ofNanos(deadline.remainingNanos()));
+        }
+        return data.map(Optional::of)
+                .doOnSuccess(ignored -> complete(section))
+                .onErrorResume(e -> {
+                    fail(section, e);
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    /**
+     * Comprueba que el reporte tenga al menos una sección correcta. Si todas las secciones
+     * solicitadas fallaron no hay nada que devolver y se propaga el error.
+     *
+     * @throws DeadlineExceededException Si la última sección falló por vencer el plazo
+     * @throws ServiceException Si todas las secciones solicitadas fallaron
+     */
+    synchronized void requireAnyComplete() {
+        if (lastFailure == null || statuses.values().stream().anyMatch(status ->
+                status.getStatus() == ReportSectionStatusDto.StatusEnum.COMPLETE)) {
+            return;
+        }
+        if (isDeadlineExceeded(lastFailure)) {
+            throw new DeadlineExceededException(
+                    "Request deadline exceeded while generating balance report");
+        }
+        throw new ServiceException("Unexpected error while generating balance report: "
+                + lastFailure.getMessage());
+    }
+
+    /**
+     * Obtiene el estado de todas las secciones del reporte, en el orden de las secciones.
+     *
+     * @return estado de cada sección
+     */
+    synchronized List<ReportSectionStatusDto> statuses() {
+        List<ReportSectionStatusDto> result = new ArrayList<>();
+        for (ReportSection section : ReportSection.values()) {
+            result.add(statuses.getOrDefault(section, new ReportSectionStatusDto()
+                    .section(section)
+                    .status(ReportSectionStatusDto.StatusEnum.NOT_REQUESTED)));
+        }
+        return result;
+    }
+
+    private synchronized void complete(ReportSection section) {
+        statuses.put(section, new ReportSectionStatusDto()
+                .section(section)
+                .status(ReportSectionStatusDto.StatusEnum.COMPLETE));
+    }
+
+    private synchronized void fail(ReportSection section, Throwable error) {
+        Throwable cause = FanOutScope.unwrap(error);
+        String message = isDeadlineExceeded(cause)
+                ? "Request deadline exceeded" : cause.getMessage();
+        log.warn("Section {} of balance report failed: {}", section, message);
+        lastFailure = cause;
+        statuses.put(section, new ReportSectionStatusDto()
+                .section(section)
+                .status(ReportSectionStatusDto.StatusEnum.FAILED)
+                .error(message));
+    }
+
+    private static boolean isDeadlineExceeded(Throwable error) {
+        return error instanceof DeadlineExceededException || error instanceof TimeoutException;
+    }
+}
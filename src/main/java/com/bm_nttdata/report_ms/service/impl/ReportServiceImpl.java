@@ -1,32 +1,56 @@
 package com.bm_nttdata.report_ms.service.impl;
 
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.aggregation.MoneyAccumulator;
 import com.bm_nttdata.report_ms.client.AccountClient;
+import com.bm_nttdata.report_ms.client.ActiveAccountSource;
 import com.bm_nttdata.report_ms.client.CreditClient;
 import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.client.ProductDataGateway;
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.concurrent.FanOutScope;
+import com.bm_nttdata.report_ms.config.DeadlineProperties;
 import com.bm_nttdata.report_ms.dto.AccountDto;
 import com.bm_nttdata.report_ms.dto.CreditCardDto;
 import com.bm_nttdata.report_ms.dto.CreditDto;
 import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
 import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
 import com.bm_nttdata.report_ms.model.AccountBalanceDto;
 import com.bm_nttdata.report_ms.model.AccountFeeDto;
 import com.bm_nttdata.report_ms.model.BankFeeReportDto;
 import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.bm_nttdata.report_ms.model.BankFeeStreamRecordDto;
 import com.bm_nttdata.report_ms.model.CreditBalanceDto;
 import com.bm_nttdata.report_ms.model.CreditCardBalanceDto;
-import com.bm_nttdata.report_ms.model.DailyBalanceDto;
 import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
 import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
-import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoCredits;
 import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.bm_nttdata.report_ms.service.ReportProgressListener;
 import com.bm_nttdata.report_ms.service.ReportService;
+import com.bm_nttdata.report_ms.store.BalanceSnapshotStore;
+import com.bm_nttdata.report_ms.store.BankFeeSnapshotStore;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 /**
  * Implementación de los servicios de generación de reportes bancarios.
@@ -41,6 +65,18 @@ public class ReportServiceImpl implements ReportService {
     private final CustomerClient customerClient;
     private final AccountClient accountClient;
     private final CreditClient creditClient;
+    private final ProductDataGateway productDataGateway;
+    private final ActiveAccountSource activeAccountSource;
+    private final FanOutExecutor fanOutExecutor;
+    private final FeeCollectionEngine feeCollectionEngine;
+    private final ReportRequestCoalescer reportRequestCoalescer;
+    private final AggregationKernel aggregationKernel;
+    private final BalanceReportMapper balanceReportMapper;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final BankFeeSnapshotStore bankFeeSnapshotStore;
+    private final ObjectProvider<ReactiveReportAssembler> reactiveReportAssembler;
+    private final ReportMetrics reportMetrics;
+    private final DeadlineProperties deadlineProperties;
 //    private final TransactionClient transactionClient;
 
     /**
@@ -55,50 +91,144 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public DailyBalanceReportDto generateDailyBalanceReport(String clientId, LocalDate month) {
+        return generateDailyBalanceReport(
+                clientId, month, EnumSet.allOf(ReportSection.class), false, ReportView.FULL);
+    }
 
-        try {
-            CustomerDto customer = customerClient.getCustomerById(clientId);
-            List<AccountDto> accounts = accountClient.getCustomerAccounts(clientId);
-            List<CreditDto> credits = creditClient.getCustomerCredits(clientId);
-            List<CreditCardDto> creditCards = creditClient.getCustomerCreditCards(clientId);
-            log.info("Customer: " + customer);
-            log.info("Accounts: " + accounts);
-            log.info("Credits: " + credits);
-            log.info("CreditCards: " + creditCards);
-
-            DailyBalanceReportDto report = new DailyBalanceReportDto();
-            report.setCustomerId(clientId);
-            report.setCustomerName(customer.getName());
-            report.setCustomerType(customer.getCustomerType());
-            report.setMonth(month);
-
-
-            DailyBalanceReportDtoAccounts accountBalances = new DailyBalanceReportDtoAccounts();
-            accountBalances.setSavings(
-                    calculateAccountBalances(
-                            accounts, AccountBalanceDto.AccountTypeEnum.SAVINGS, month));
-            accountBalances.setChecking(
-                    calculateAccountBalances(
-                            accounts, AccountBalanceDto.AccountTypeEnum.CHECKING, month));
-            accountBalances.setFixedTerm(
-                    calculateAccountBalances(
-                            accounts, AccountBalanceDto.AccountTypeEnum.FIXED_TERM, month));
-            accountBalances.setSavingsVip(
-                    calculateAccountBalances(
-                            accounts, AccountBalanceDto.AccountTypeEnum.SAVINGS_VIP, month));
-            accountBalances.setCheckingPyme(
-                    calculateAccountBalances(
-                            accounts, AccountBalanceDto.AccountTypeEnum.CHECKING_PYME, month));
-            report.setAccounts(accountBalances);
-
-            // Process credits
-            DailyBalanceReportDtoCredits creditBalances = new DailyBalanceReportDtoCredits();
-            creditBalances.setCredits(calculateCreditBalances(credits, month));
-            creditBalances.setCreditCards(calculateCreditCardBalances(creditCards, month));
-
-            report.setCredits(creditBalances);
+    /**
+     * Genera las secciones indicadas del reporte de balance diario de un cliente.
+     * En modo parcial, las secciones que fallan se marcan como fallidas en el reporte
+     * en lugar de descartar las secciones que se obtuvieron correctamente. En la proyección
+     * resumida solo se incluye el promedio de cada producto, sin sus saldos diarios.
+     * Los meses cerrados cuyo reporte ya está precalculado se responden desde el
+     * almacenamiento local sin consultar a los microservicios.
+     *
+     * @param clientId Identificador único del cliente
+     * @param month Mes para el cual se generará el reporte
+     * @param sections Secciones a incluir; vacío para incluir todas
+     * @param partial Indica si se devuelven las secciones correctas cuando otras fallan
+     * @param view Proyección del reporte
+     * @return DailyBalanceReportDto Objeto que contiene el reporte y el estado de sus secciones
+     * @throws ServiceException Si ocurre algún error durante la generación del reporte
+     */
+    @Override
+    public DailyBalanceReportDto generateDailyBalanceReport(
+            String clientId,
+            LocalDate month,
+            Set<ReportSection> sections,
+            boolean partial,
+            ReportView view) {
+        Set<ReportSection> requested = sections.isEmpty()
+                ? EnumSet.allOf(ReportSection.class) : EnumSet.copyOf(sections);
+        Optional<DailyBalanceReportDto> snapshot = reportMetrics.timeStage(
+                ReportMetrics.DAILY_BALANCE, "snapshot",
+                () -> balanceSnapshotStore.find(clientId, month));
+        if (snapshot.isPresent()) {
+            return balanceReportMapper.fromSnapshot(snapshot.get(), month, requested, view);
+        }
+        return reportRequestCoalescer.balanceReport(clientId, month, requested, partial, view,
+                () -> reportMetrics.timeStage(ReportMetrics.DAILY_BALANCE, "total",
+                        () -> buildDailyBalanceReport(clientId, month,
+                                new ReportSections(requested, partial), view)));
+    }
 
+    /**
+     * Construye el reporte de saldos diarios consultando a los microservicios.
+     * Las solicitudes idénticas concurrentes comparten una sola ejecución de este método.
+     * La consulta del cliente y los listados de productos disponen solo de una parte del
+     * plazo de la solicitud, para dejar tiempo a las consultas de cada producto. Solo se
+     * consultan los microservicios de las secciones solicitadas.
+     *
+     * @param clientId Identificador único del cliente
+     * @param month Mes para el cual se generará el reporte
+     * @param sections Secciones solicitadas y su estado
+     * @param view Proyección del reporte
+     * @return DailyBalanceReportDto Objeto que contiene el reporte completo de balances
+     * @throws ServiceException Si ocurre algún error durante la generación del reporte
+     * @throws DeadlineExceededException Si vence el plazo de la solicitud
+     */
+    private DailyBalanceReportDto buildDailyBalanceReport(
+            String clientId, LocalDate month, ReportSections sections, ReportView view) {
+
+        ReactiveReportAssembler assembler = reactiveReportAssembler.getIfAvailable();
+        if (assembler != null) {
+            Deadline deadline = Deadline.current();
+            try {
+                Mono<DailyBalanceReportDto> report =
+                        assembler.dailyBalanceReport(clientId, month, sections, view);
+                if (deadline.isBounded()) {
+                    // En modo parcial cada sección aplica el plazo por separado.
+                    if (!sections.isPartial()) {
+                        report = report.timeout(Duration.ofNanos(deadline.remainingNanos()),
+                                Mono.error(() -> new DeadlineExceededException(
+                                        "Request deadline exceeded while generating "
+                                                + "balance report")));
+                    }
+                    report = report.contextWrite(Context.of(Deadline.class, deadline));
+                }
+                return report.block();
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Unexpected error while generating balance report: {}", e.getMessage());
+                throw new ServiceException(
+                        "Unexpected error while generating balance report: " + e.getMessage());
+            }
+        }
+
+        try (FanOutScope scope = fanOutExecutor.openScope()) {
+            Deadline listingDeadline =
+                    scope.deadline().share(deadlineProperties.getListingShare());
+            CompletableFuture<CustomerDto> customerFuture = sections.start(
+                    ReportSection.CUSTOMER, () -> scope.submit(listingDeadline, () ->
+                            reportMetrics.timeStage(ReportMetrics.DAILY_BALANCE, "customer",
+                                    () -> customerClient.getCustomerById(clientId))));
+
+            final CompletableFuture<DailyBalanceReportDtoAccounts> accountBalancesFuture =
+                    sections.start(ReportSection.ACCOUNTS, () -> scope.submit(listingDeadline,
+                            () -> reportMetrics.timeStage(ReportMetrics.DAILY_BALANCE, "accounts",
+                                    () -> accountClient.getCustomerAccounts(clientId)))
+                            .thenCompose(accounts -> {
+                                log.debug("Accounts: {}", accounts);
+                                reportMetrics.recordFanOut(
+                                        ReportMetrics.DAILY_BALANCE, "accounts", accounts.size());
+                                return calculateAccountBalances(scope, accounts, month, view);
+                            }));
+            final CompletableFuture<List<CreditBalanceDto>> creditBalancesFuture =
+                    sections.start(ReportSection.CREDITS, () -> scope.submit(listingDeadline,
+                            () -> reportMetrics.timeStage(ReportMetrics.DAILY_BALANCE, "credits",
+                                    () -> creditClient.getCustomerCredits(clientId)))
+                            .thenCompose(credits -> {
+                                log.debug("Credits: {}", credits);
+                                reportMetrics.recordFanOut(
+                                        ReportMetrics.DAILY_BALANCE, "credits", credits.size());
+                                return calculateCreditBalances(scope, credits, month, view);
+                            }));
+            final CompletableFuture<List<CreditCardBalanceDto>> creditCardBalancesFuture =
+                    sections.start(ReportSection.CREDIT_CARDS, () -> scope.submit(
+                            listingDeadline, () -> reportMetrics.timeStage(
+                                    ReportMetrics.DAILY_BALANCE, "credit_cards",
+                                    () -> creditClient.getCustomerCreditCards(clientId)))
+                            .thenCompose(creditCards -> {
+                                log.debug("CreditCards: {}", creditCards);
+                                reportMetrics.recordFanOut(ReportMetrics.DAILY_BALANCE,
+                                        "credit_cards", creditCards.size());
+                                return calculateCreditCardBalances(
+                                        scope, creditCards, month, view);
+                            }));
+
+            CustomerDto customer = sections.await(ReportSection.CUSTOMER, customerFuture);
+            log.debug("Customer: {}", customer);
+
+            DailyBalanceReportDto report = balanceReportMapper.toReport(clientId, month, customer,
+                    sections.await(ReportSection.ACCOUNTS, accountBalancesFuture),
+                    sections.await(ReportSection.CREDITS, creditBalancesFuture),
+                    sections.await(ReportSection.CREDIT_CARDS, creditCardBalancesFuture));
+            sections.requireAnyComplete();
+            report.setSections(sections.statuses());
             return report;
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error(
                     "Unexpected error while generating balance report: {}: " + e.getMessage());
@@ -117,31 +247,71 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public BankFeeReportDto getBankFeesReport(LocalDate startDate, LocalDate endDate) {
+        return getBankFeesReport(startDate, endDate, ReportProgressListener.NONE);
+    }
+
+    /**
+     * Genera un reporte de comisiones bancarias dentro de un pediodo de tiempo,
+     * notificando el avance a medida que se procesan las cuentas.
+     * Los reportes de los períodos cerrados se guardan al generarlos y se responden desde
+     * el almacenamiento local en las siguientes solicitudes.
+     *
+     * @param startDate fecha de inicio de la busqueda
+     * @param endDate fecha de fin de la busqueda
+     * @param progressListener listener que recibe el número de cuentas procesadas
+     * @return BankFeeReportDto Objeto que contiene el reporte completo de las comisiones bancarias
+     */
+    @Override
+    public BankFeeReportDto getBankFeesReport(
+            LocalDate startDate, LocalDate endDate, ReportProgressListener progressListener) {
+        boolean closed = bankFeeSnapshotStore.isClosed(endDate);
+        if (closed) {
+            Optional<BankFeeReportDto> snapshot = reportMetrics.timeStage(
+                    ReportMetrics.BANK_FEES, "snapshot",
+                    () -> bankFeeSnapshotStore.find(startDate, endDate));
+            if (snapshot.isPresent()) {
+                return snapshot.get();
+            }
+        }
+        return reportRequestCoalescer.bankFeesReport(startDate, endDate,
+                () -> reportMetrics.timeStage(ReportMetrics.BANK_FEES, "total", () -> {
+                    BankFeeReportDto report =
+                            buildBankFeesReport(startDate, endDate, progressListener);
+                    if (closed) {
+                        bankFeeSnapshotStore.save(report);
+                    }
+                    return report;
+                }));
+    }
+
+    /**
+     * Construye el reporte de comisiones bancarias consultando a los microservicios.
+     * Las solicitudes idénticas concurrentes comparten una sola ejecución de este método,
+     * por lo que solo la primera de ellas recibe el avance.
+     *
+     * @param startDate fecha de inicio de la busqueda
+     * @param endDate fecha de fin de la busqueda
+     * @param progressListener listener que recibe el número de cuentas procesadas
+     * @return BankFeeReportDto Objeto que contiene el reporte completo de las comisiones bancarias
+     */
+    private BankFeeReportDto buildBankFeesReport(
+            LocalDate startDate, LocalDate endDate, ReportProgressListener progressListener) {
         try {
-            List<AccountDto> accounts = accountClient.getActiveAccounts("ACTIVE");
+            Iterable<AccountDto> accounts =
+                    activeAccountSource.activeAccounts(ReportMetrics.BANK_FEES);
 
             BankFeeReportDto report = new BankFeeReportDto();
             report.setStartDate(startDate);
             report.setEndDate(endDate);
 
-            BankFeeReportDtoAccountFees accountFees = new BankFeeReportDtoAccountFees();
-            accountFees.setSavings(
-                    calculateAccountFees(
-                        accounts, AccountFeeDto.AccountTypeEnum.SAVINGS, startDate, endDate));
-            accountFees.setChecking(
-                    calculateAccountFees(
-                        accounts, AccountFeeDto.AccountTypeEnum.CHECKING, startDate, endDate));
-            accountFees.setFixedTerm(
-                    calculateAccountFees(
-                        accounts, AccountFeeDto.AccountTypeEnum.FIXED_TERM, startDate, endDate));
-            accountFees.setSavingsVip(
-                    calculateAccountFees(
-                        accounts, AccountFeeDto.AccountTypeEnum.SAVINGS_VIP, startDate, endDate));
-            accountFees.setCheckingPyme(
-                    calculateAccountFees(
-                        accounts, AccountFeeDto.AccountTypeEnum.CHECKING_PYME, startDate, endDate));
-
-            BigDecimal totalFeeAmount = getTotalFeeAmount(accountFees);
+            BankFeeReportDtoAccountFees accountFees = reportMetrics.timeStage(
+                    ReportMetrics.BANK_FEES, "fee_collection",
+                    () -> feeCollectionEngine.collect(
+                            accounts, startDate, endDate, progressListener));
+
+            final BigDecimal totalFeeAmount = reportMetrics.timeStage(
+                    ReportMetrics.BANK_FEES, "aggregation",
+                    () -> getTotalFeeAmount(accountFees));
             int totalNumberOfFees = getTotalNumberOfFees(accountFees);
 
             report.setAccountFees(accountFees);
@@ -149,6 +319,8 @@ public class ReportServiceImpl implements ReportService {
             report.setTotalFeesNumber(totalNumberOfFees);
 
             return report;
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error(
                     "Unexpected error while generating bank fees report: {}: " + e.getMessage());
@@ -157,53 +329,142 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    /**
+     * Genera el reporte de comisiones bancarias de un periodo de forma incremental.
+     * Los totales se acumulan a medida que se entregan las cuentas, por lo que el uso
+     * de memoria no depende del número de cuentas con comisiones. Si el reporte de un
+     * período cerrado está guardado, sus cuentas se entregan desde el almacenamiento local,
+     * agrupadas por tipo de cuenta como en el reporte completo.
+     *
+     * @param startDate fecha de inicio de la busqueda
+     * @param endDate fecha de fin de la busqueda
+     * @param sink consumidor que recibe los registros del reporte
+     * @throws ServiceException Si ocurre algún error durante la generación del reporte
+     */
+    @Override
+    public void streamBankFeesReport(
+            LocalDate startDate, LocalDate endDate, Consumer<BankFeeStreamRecordDto> sink) {
+        try {
+            if (bankFeeSnapshotStore.isClosed(endDate)) {
+                Optional<BankFeeReportDto> summary = bankFeeSnapshotStore.stream(
+                        startDate, endDate, accountFee -> sink.accept(new BankFeeStreamRecordDto()
+                                .recordType(BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE)
+                                .accountFee(accountFee)));
+                if (summary.isPresent()) {
+                    sink.accept(new BankFeeStreamRecordDto()
+                            .recordType(BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY)
+                            .startDate(startDate)
+                            .endDate(endDate)
+                            .totalFeesAmount(summary.get().getTotalFeesAmount())
+                            .totalFeesNumber(summary.get().getTotalFeesNumber()));
+                    return;
+                }
+            }
+
+            Iterable<AccountDto> accounts =
+                    activeAccountSource.activeAccounts(ReportMetrics.BANK_FEES_STREAM);
+
+            MoneyAccumulator totalFeeAmount = aggregationKernel.accumulator();
+            int[] totalNumberOfFees = {0};
+            reportMetrics.timeStage(ReportMetrics.BANK_FEES_STREAM, "fee_collection", () ->
+                    feeCollectionEngine.stream(accounts, startDate, endDate, accountFee -> {
+                        totalFeeAmount.add(accountFee.getTotalFees());
+                        totalNumberOfFees[0] += accountFee.getNumberOfFees();
+                        sink.accept(new BankFeeStreamRecordDto()
+                                .recordType(BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE)
+                                .accountFee(accountFee));
+                    }));
+
+            sink.accept(new BankFeeStreamRecordDto()
+                    .recordType(BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .totalFeesAmount(totalFeeAmount.sum())
+                    .totalFeesNumber(totalNumberOfFees[0]));
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error while streaming bank fees report: {}: " + e.getMessage());
+            throw new ServiceException(
+                    "Unexpected error while streaming bank fees report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Calcula los saldos diarios de todas las cuentas bancarias del cliente,
+     * agrupándolas por tipo de cuenta en una sola pasada.
+     *
+     * @param scope Ámbito de ejecución de la solicitud
+     * @param accounts Lista de cuentas del cliente
+     * @param month Mes para el cual se calculan los balances
+     * @param view Proyección del reporte
+     * @return Futuro con los saldos promedio diario agrupados por tipo de cuenta
+     */
+    private CompletableFuture<DailyBalanceReportDtoAccounts> calculateAccountBalances(
+            FanOutScope scope, List<AccountDto> accounts, LocalDate month, ReportView view) {
+
+        CompletableFuture<List<AccountBalanceDto>> savings = calculateAccountBalances(
+                scope, accounts, AccountBalanceDto.AccountTypeEnum.SAVINGS, month, view);
+        CompletableFuture<List<AccountBalanceDto>> checking = calculateAccountBalances(
+                scope, accounts, AccountBalanceDto.AccountTypeEnum.CHECKING, month, view);
+        CompletableFuture<List<AccountBalanceDto>> fixedTerm = calculateAccountBalances(
+                scope, accounts, AccountBalanceDto.AccountTypeEnum.FIXED_TERM, month, view);
+        CompletableFuture<List<AccountBalanceDto>> savingsVip = calculateAccountBalances(
+                scope, accounts, AccountBalanceDto.AccountTypeEnum.SAVINGS_VIP, month, view);
+        CompletableFuture<List<AccountBalanceDto>> checkingPyme = calculateAccountBalances(
+                scope, accounts, AccountBalanceDto.AccountTypeEnum.CHECKING_PYME, month, view);
+
+        return CompletableFuture.allOf(savings, checking, fixedTerm, savingsVip, checkingPyme)
+                .thenApply(ignored -> {
+                    DailyBalanceReportDtoAccounts accountBalances =
+                            new DailyBalanceReportDtoAccounts();
+                    accountBalances.setSavings(savings.join());
+                    accountBalances.setChecking(checking.join());
+                    accountBalances.setFixedTerm(fixedTerm.join());
+                    accountBalances.setSavingsVip(savingsVip.join());
+                    accountBalances.setCheckingPyme(checkingPyme.join());
+                    return accountBalances;
+                });
+    }
+
     /**
      * Calcula los saldos diarios para un tipo específico de cuenta bancaria.
      * Procesa todas las cuentas del cliente del tipo especificado y calcula
      * el saldo promedio diario para el período.
      *
+     * @param scope Ámbito de ejecución de la solicitud
      * @param accounts Lista de cuentas del cliente
      * @param accountType Tipo de cuenta a procesar
      * @param month Mes para el cual se calculan los balances
-     * @return Lista de saldos promedio diario para cada cuenta del tipo especificado
+     * @param view Proyección del reporte
+     * @return Futuro con la lista de saldos promedio diario para cada cuenta del tipo
      * @throws ServiceException Si ocurre un error durante el cálculo de los saldos
      */
-    private List<AccountBalanceDto> calculateAccountBalances(
+    private CompletableFuture<List<AccountBalanceDto>> calculateAccountBalances(
+            FanOutScope scope,
             List<AccountDto> accounts,
             AccountBalanceDto.AccountTypeEnum accountType,
-            LocalDate month) {
-
-        try {
-            List<AccountBalanceDto> accountBalanceDtoList = accounts.stream()
-                    .filter(account -> account.getAccountType().equals(accountType.getValue()))
-                    .map(account -> {
-                        AccountBalanceDto balance = new AccountBalanceDto();
-                        balance.setAccountId(account.getId());
-                        balance.setAccountType(accountType);
-
-                        List<DailyBalanceDto> dailyBalances =
-                                accountClient.getAllDailyBalances(account.getId(), month);
-
-                        BigDecimal totalBalance = dailyBalances.stream()
-                                .map(DailyBalanceDto::getBalanceAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        int days = dailyBalances.size();
-                        log.info("totalBalance: " + totalBalance + " - days: " + days);
-                        balance.setDailyBalances(dailyBalances);
-                        balance.setAverageBalance(totalBalance.divide(BigDecimal.valueOf(days)));
-
-                        return balance;
-                    })
-                    .collect(Collectors.toList());
-
-            return accountBalanceDtoList;
-        } catch (Exception e) {
-            log.error(
-                    "Unexpected error while getting daily account balances: {}: " + e.getMessage());
-            throw new ServiceException(
-                    "Unexpected error while getting daily account balances: " + e.getMessage());
-        }
+            LocalDate month,
+            ReportView view) {
+
+        List<AccountDto> accountsOfType = accounts.stream()
+                .filter(account -> account.getAccountType().equals(accountType.getValue()))
+                .collect(Collectors.toList());
+
+        return scope.mapOrdered(accountsOfType, account -> {
+            DailyBalanceSeries dailyBalances = reportMetrics.timeStage(
+                    ReportMetrics.DAILY_BALANCE, "account_daily_balances",
+                    () -> productDataGateway.getAccountDailyBalances(account.getId(), month));
+            return balanceReportMapper.toAccountBalance(
+                    account, accountType, dailyBalances, view);
+        }).exceptionally(e -> {
+            rethrowIfDeadlineExceeded(e);
+            log.error("Unexpected error while getting daily account balances: {}: "
+                    + FanOutScope.unwrap(e).getMessage());
+            throw new ServiceException("Unexpected error while getting daily account balances: "
+                    + FanOutScope.unwrap(e).getMessage());
+        });
     }
 
     /**
@@ -211,47 +472,28 @@ public class ReportServiceImpl implements ReportService {
      * Procesa todos los créditos y calcula el saldo promedio diario
      * junto con otra información relevante del crédito.
      *
+     * @param scope Ámbito de ejecución de la solicitud
      * @param credits Lista de créditos del cliente
      * @param month Mes para el cual se calculan los balances
-     * @return Lista de saldos promedio diario para cada crédito
+     * @param view Proyección del reporte
+     * @return Futuro con la lista de saldos promedio diario para cada crédito
      * @throws ServiceException Si ocurre un error durante el cálculo de los saldos
      */
-    private List<CreditBalanceDto> calculateCreditBalances(
-            List<CreditDto> credits, LocalDate month) {
-
-        try {
-            List<CreditBalanceDto> creditBalanceDtoList = credits.stream()
-                    .map(credit -> {
-                        CreditBalanceDto balance = new CreditBalanceDto();
-                        balance.setCreditId(credit.getId());
-                        balance.setCreditType(credit.getCreditType());
-                        balance.setTotalCreditAmount(credit.getAmount());
-                        balance.setCreditOutstandingBalance(credit.getBalance());
-
-                        List<DailyBalanceDto> creditDailyBalances =
-                                creditClient.getAllCreditDailyBalances(credit.getId(), month);
-
-                        BigDecimal totalBalance = creditDailyBalances.stream()
-                                .map(DailyBalanceDto::getBalanceAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        int days = creditDailyBalances.size();
-                        log.info("totalBalance: " + totalBalance + " - days: " + days);
-                        balance.setDailyBalances(creditDailyBalances);
-                        balance.setAverageDailyBalance(
-                                totalBalance.divide(BigDecimal.valueOf(days)));
-
-                        return balance;
-                    })
-                    .collect(Collectors.toList());
-
-            return creditBalanceDtoList;
-        } catch (Exception e) {
-            log.error(
-                    "Unexpected error while getting daily credit balances: {}", e.getMessage());
-            throw new ServiceException(
-                    "Unexpected error while getting daily credit balances" + e.getMessage());
-        }
+    private CompletableFuture<List<CreditBalanceDto>> calculateCreditBalances(
+            FanOutScope scope, List<CreditDto> credits, LocalDate month, ReportView view) {
+
+        return scope.mapOrdered(credits, credit -> {
+            DailyBalanceSeries creditDailyBalances = reportMetrics.timeStage(
+                    ReportMetrics.DAILY_BALANCE, "credit_daily_balances",
+                    () -> productDataGateway.getCreditDailyBalances(credit.getId(), month));
+            return balanceReportMapper.toCreditBalance(credit, creditDailyBalances, view);
+        }).exceptionally(e -> {
+            rethrowIfDeadlineExceeded(e);
+            log.error("Unexpected error while getting daily credit balances: {}",
+                    FanOutScope.unwrap(e).getMessage());
+            throw new ServiceException("Unexpected error while getting daily credit balances"
+                    + FanOutScope.unwrap(e).getMessage());
+        });
     }
 
     /**
@@ -259,101 +501,45 @@ public class ReportServiceImpl implements ReportService {
      * Procesa todas las tarjetas de crédito y calcula el saldo promedio diario,
      * incluyendo información sobre límites de crédito y crédito disponible.
      *
+     * @param scope Ámbito de ejecución de la solicitud
      * @param creditCards Lista de tarjetas de crédito del cliente
      * @param month Mes para el cual se calculan los saldos
-     * @return Lista de saldos promedio diario para cada tarjeta de crédito
+     * @param view Proyección del reporte
+     * @return Futuro con la lista de saldos promedio diario para cada tarjeta de crédito
      * @throws ServiceException Si ocurre un error durante el cálculo de los saldos
      */
-    private List<CreditCardBalanceDto> calculateCreditCardBalances(
-            List<CreditCardDto> creditCards, LocalDate month) {
-        try {
-            List<CreditCardBalanceDto> creditCardBalanceDtoList = creditCards.stream()
-                    .map(creditCard -> {
-                        CreditCardBalanceDto balance = new CreditCardBalanceDto();
-                        balance.setCreditCardId(creditCard.getId());
-                        balance.setCreditCardType(creditCard.getCardType());
-                        balance.setCardNumber(creditCard.getCardNumber());
-                        balance.setCreditCardLimit(creditCard.getCreditLimit());
-                        balance.setAvailableCredit(creditCard.getAvailableCredit());
-
-                        List<DailyBalanceDto> cardDailyBalances =
-                                creditClient.getAllCreditCardDailyBalances(
-                                        creditCard.getId(), month);
-
-                        BigDecimal totalBalance = cardDailyBalances.stream()
-                                .map(DailyBalanceDto::getBalanceAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        int days = cardDailyBalances.size();
-                        log.info("totalBalance: " + totalBalance + " - days: " + days);
-                        balance.setDailyBalances(cardDailyBalances);
-                        balance.setAverageDailyBalance(
-                                totalBalance.divide(BigDecimal.valueOf(days)));
-
-                        return balance;
-                    })
-                    .collect(Collectors.toList());
-
-            return creditCardBalanceDtoList;
-        } catch (Exception e) {
-            log.error(
-                    "Unexpected error while getting daily credit card balances: {}",
-                    e.getMessage());
-            throw new ServiceException(
-                    "Unexpected error while getting daily credit card balances" + e.getMessage());
-        }
+    private CompletableFuture<List<CreditCardBalanceDto>> calculateCreditCardBalances(
+            FanOutScope scope,
+            List<CreditCardDto> creditCards,
+            LocalDate month,
+            ReportView view) {
+
+        return scope.mapOrdered(creditCards, creditCard -> {
+            DailyBalanceSeries cardDailyBalances = reportMetrics.timeStage(
+                    ReportMetrics.DAILY_BALANCE, "credit_card_daily_balances",
+                    () -> productDataGateway.getCreditCardDailyBalances(
+                            creditCard.getId(), month));
+            return balanceReportMapper.toCreditCardBalance(
+                    creditCard, cardDailyBalances, view);
+        }).exceptionally(e -> {
+            rethrowIfDeadlineExceeded(e);
+            log.error("Unexpected error while getting daily credit card balances: {}",
+                    FanOutScope.unwrap(e).getMessage());
+            throw new ServiceException("Unexpected error while getting daily credit card balances"
+                    + FanOutScope.unwrap(e).getMessage());
+        });
     }
 
     /**
-     * Calcula las comisiones de cuentas para una lista de cuentas filtrada por
-     * tipo de cuenta y rango de fechas.
+     * Propaga sin envolver el vencimiento del plazo de la solicitud, para que no se
+     * confunda con un error de los microservicios.
      *
-     * @param accounts Lista de DTOs de cuentas a procesar
-     * @param accountType El tipo de cuenta a filtrar (ej., SAVINGS, CHECKING)
-     * @param startDate La fecha de inicio del período de cálculo de comisiones
-     * @param endDate La fecha de fin del período de cálculo de comisiones
-     * @return Lista de AccountFeeDto con detalles de comisiones para cada cuenta que coincida
-     * @throws ServiceException Si ocurre un error inesperado durante el procesamiento
+     * @param error error de una consulta del reporte
+     * @throws DeadlineExceededException Si el error es el vencimiento del plazo
      */
-    private List<AccountFeeDto> calculateAccountFees(
-            List<AccountDto> accounts,
-            AccountFeeDto.AccountTypeEnum accountType,
-            LocalDate startDate,
-            LocalDate endDate) {
-
-        try {
-            List<AccountFeeDto> accountFeeDtoList = accounts.stream()
-                    .filter(account -> account.getAccountType().equals(accountType.getValue()))
-                    .map(account -> {
-                        AccountFeeDto accountFee = new AccountFeeDto();
-                        accountFee.setAccountId(account.getId());
-                        accountFee.setAccountType(accountType);
-                        accountFee.setCustomerId(account.getCustomerId());
-
-                        List<FeeDetailDto> feeList =
-                                accountClient.getAllAccountFees(
-                                        account.getId(), startDate, endDate);
-
-                        BigDecimal totalFees = feeList.stream()
-                                .map(FeeDetailDto::getFeeAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        log.info("totalFee: " + totalFees);
-                        accountFee.feeDetails(feeList);
-                        accountFee.setNumberOfFees(feeList.size());
-                        accountFee.setTotalFees(totalFees);
-
-                        return accountFee;
-                    })
-                    .filter(accountFeeDto -> !accountFeeDto.getFeeDetails().isEmpty())
-                    .collect(Collectors.toList());
-
-            return accountFeeDtoList;
-        } catch (Exception e) {
-            log.error(
-                    "Unexpected error while getting account fees: {}: " + e.getMessage());
-            throw new ServiceException(
-                    "Unexpected error while getting account fees: " + e.getMessage());
+    private static void rethrowIfDeadlineExceeded(Throwable error) {
+        if (FanOutScope.unwrap(error) instanceof DeadlineExceededException deadlineExceeded) {
+            throw deadlineExceeded;
         }
     }
 
@@ -366,39 +552,28 @@ public class ReportServiceImpl implements ReportService {
      * @return La suma total de las comisiones a través de todos los tipos de cuenta
      */
     private BigDecimal getTotalFeeAmount(BankFeeReportDtoAccountFees accountFees) {
-        BigDecimal totalFeeAmount = BigDecimal.ZERO;
-        totalFeeAmount = totalFeeAmount.add(
-                accountFees.getSavings()
-                        .isEmpty() ? BigDecimal.ZERO : getFeesSum(accountFees.getSavings()));
-        totalFeeAmount = totalFeeAmount.add(
-                accountFees.getChecking()
-                        .isEmpty() ? BigDecimal.ZERO : getFeesSum(accountFees.getChecking()));
-        totalFeeAmount = totalFeeAmount.add(
-                accountFees.getFixedTerm()
-                        .isEmpty() ? BigDecimal.ZERO : getFeesSum(accountFees.getFixedTerm()));
-        totalFeeAmount = totalFeeAmount.add(
-                accountFees.getSavingsVip()
-                        .isEmpty() ? BigDecimal.ZERO : getFeesSum(accountFees.getSavingsVip()));
-        totalFeeAmount = totalFeeAmount.add(
-                accountFees.getCheckingPyme()
-                        .isEmpty() ? BigDecimal.ZERO : getFeesSum(accountFees.getCheckingPyme()));
-        return totalFeeAmount;
+        MoneyAccumulator totalFeeAmount = aggregationKernel.accumulator();
+        addFees(totalFeeAmount, accountFees.getSavings());
+        addFees(totalFeeAmount, accountFees.getChecking());
+        addFees(totalFeeAmount, accountFees.getFixedTerm());
+        addFees(totalFeeAmount, accountFees.getSavingsVip());
+        addFees(totalFeeAmount, accountFees.getCheckingPyme());
+        return totalFeeAmount.sum();
     }
 
     /**
-     * Calcula la suma de todas las comisiones para una lista específica de comisiones de cuenta.
-     * Este método aplana los detalles de comisiones de todas las cuentas y suma sus montos.
+     * Agrega al acumulador los montos de todas las comisiones de una lista específica
+     * de comisiones de cuenta.
      *
+     * @param totalFeeAmount Acumulador del monto total de comisiones
      * @param accountFeeList Lista de AccountFeeDto que contiene información de comisiones
-     * @return La suma total de todos los montos de comisiones como BigDecimal
      */
-    private BigDecimal getFeesSum(List<AccountFeeDto> accountFeeList) {
-
-        return accountFeeList.stream()
-                .flatMap(accountFee -> accountFee.getFeeDetails().stream())
-                .map(FeeDetailDto::getFeeAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                ;
+    private void addFees(MoneyAccumulator totalFeeAmount, List<AccountFeeDto> accountFeeList) {
+        for (AccountFeeDto accountFee : accountFeeList) {
+            for (FeeDetailDto feeDetail : accountFee.getFeeDetails()) {
+                totalFeeAmount.add(feeDetail.getFeeAmount());
+            }
+        }
     }
 
     /**
@@ -410,23 +585,11 @@ public class ReportServiceImpl implements ReportService {
      * @return El conteo total de todas las comisiones a través de todos los tipos de cuenta
      */
     private int getTotalNumberOfFees(BankFeeReportDtoAccountFees accountFees) {
-        int totalFeesNumber = 0;
-        totalFeesNumber +=
-                accountFees.getSavings()
-                        .isEmpty() ? 0 : getTotalFees(accountFees.getSavings());
-        totalFeesNumber +=
-                accountFees.getChecking()
-                        .isEmpty() ? 0 : getTotalFees(accountFees.getChecking());
-        totalFeesNumber +=
-                accountFees.getFixedTerm()
-                        .isEmpty() ? 0 : getTotalFees(accountFees.getFixedTerm());
-        totalFeesNumber +=
-                accountFees.getSavingsVip()
-                        .isEmpty() ? 0 : getTotalFees(accountFees.getSavingsVip());
-        totalFeesNumber +=
-                accountFees.getCheckingPyme()
-                        .isEmpty() ? 0 : getTotalFees(accountFees.getCheckingPyme());
-        return totalFeesNumber;
+        return getTotalFees(accountFees.getSavings())
+                + getTotalFees(accountFees.getChecking())
+                + getTotalFees(accountFees.getFixedTerm())
+                + getTotalFees(accountFees.getSavingsVip())
+                + getTotalFees(accountFees.getCheckingPyme());
     }
 
     /**
@@ -437,10 +600,10 @@ public class ReportServiceImpl implements ReportService {
      * @return El conteo total de comisiones para las cuentas dadas
      */
     private int getTotalFees(List<AccountFeeDto> accountFeeList) {
-
-        return accountFeeList.stream()
-                .map(AccountFeeDto::getNumberOfFees)
-                .reduce(0, Integer::sum)
-                ;
+        int totalFees = 0;
+        for (AccountFeeDto accountFee : accountFeeList) {
+            totalFees += accountFee.getNumberOfFees();
+        }
+        return totalFees;
     }
 }
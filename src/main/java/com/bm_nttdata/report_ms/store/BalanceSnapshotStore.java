@@ -0,0 +1,295 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.BalanceSnapshotProperties;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacenamiento local de los reportes de saldos diarios precalculados de los meses cerrados.
+ * Cada mes tiene su directorio con uno o más segmentos {@link SnapshotSegment}, con el reporte
+ * de cada cliente codificado en Smile e indexado por el identificador del cliente. Los
+ * segmentos se mapean en memoria al arrancar, por lo que los reportes sobreviven a los
+ * reinicios sin precargarlos en el heap, y leer un reporte es decodificar un fragmento del
+ * mapeo, sin interpretar JSON. Un segmento solo se vuelve visible cuando termina de
+ * escribirse, de modo que una ejecución interrumpida del precálculo no deja reportes a medias.
+ */
+@Slf4j
+@Component
+public class BalanceSnapshotStore {
+
+    private static final String EXTENSION = ".snap";
+
+    private final ObjectReader reportReader;
+    private final ObjectWriter reportWriter;
+    private final BalanceSnapshotProperties properties;
+    private final Path directory;
+    private final Map<YearMonth, Map<String, SnapshotSegment>> months = new ConcurrentHashMap<>();
+    private final AtomicLong segmentSequence = new AtomicLong();
+
+    /**
+     * Construye el almacenamiento de reportes precalculados.
+     *
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de los reportes precalculados
+     */
+    public BalanceSnapshotStore(ObjectMapper objectMapper, BalanceSnapshotProperties properties) {
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.reportReader = smileMapper.readerFor(DailyBalanceReportDto.class);
+        this.reportWriter = smileMapper.writerFor(DailyBalanceReportDto.class);
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * Crea el directorio de reportes si no existe y mapea los segmentos guardados
+     * previamente. Los segmentos que no se terminaron de escribir se eliminan.
+     *
+     * @throws IOException si no se puede crear o listar el directorio
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> monthDirectories = Files.list(directory)) {
+            monthDirectories.filter(Files::isDirectory).forEach(this::loadMonth);
+        }
+        log.info("Loaded balance report snapshots of {} months from {}", months.size(), directory);
+    }
+
+    /**
+     * Busca el reporte precalculado de un cliente.
+     *
+     * @param customerId identificador del cliente
+     * @param month mes del reporte
+     * @return reporte precalculado, si existe y se puede leer
+     */
+    public Optional<DailyBalanceReportDto> find(String customerId, LocalDate month) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Map<String, SnapshotSegment> index = months.get(YearMonth.from(month));
+        SnapshotSegment segment = index == null ? null : index.get(customerId);
+        Optional<ByteBuffer> entry = segment == null ? Optional.empty() : segment.slice(customerId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reportReader.readValue(
+                    new ByteBufferBackedInputStream(entry.get())));
+        } catch (IOException e) {
+            log.warn("Unable to read balance report snapshot of {} for {}: {}",
+                    customerId, month, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indica si el reporte de un cliente ya está precalculado.
+     *
+     * @param customerId identificador del cliente
+     * @param month mes del reporte
+     * @return {@code true} si el reporte está guardado
+     */
+    public boolean contains(String customerId, YearMonth month) {
+        Map<String, SnapshotSegment> index = months.get(month);
+        return index != null && index.containsKey(customerId);
+    }
+
+    /**
+     * Abre un nuevo segmento para guardar reportes de un mes. Los reportes quedan visibles
+     * al confirmar el segmento; si se cierra sin confirmar, se descartan.
+     *
+     * @param month mes de los reportes
+     * @return escritor del segmento
+     * @throws ServiceException si no se puede crear el segmento
+     */
+    public SegmentWriter openSegment(YearMonth month) {
+        try {
+            Path monthDirectory = Files.createDirectories(directory.resolve(month.toString()));
+            // La secuencia distingue los segmentos abiertos en el mismo milisegundo.
+            String name = "segment-" + System.currentTimeMillis() + "-"
+                    + segmentSequence.incrementAndGet() + EXTENSION;
+            return new SegmentWriter(month,
+                    SnapshotSegment.create(monthDirectory.resolve(name)));
+        } catch (IOException e) {
+            log.error("Error while opening balance snapshot segment for {}: {}",
+                    month, e.getMessage());
+            throw new ServiceException(
+                    "Error while opening balance snapshot segment: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina los reportes de los meses anteriores al indicado.
+     *
+     * @param oldestRetained mes más antiguo que se conserva
+     */
+    public void evictBefore(YearMonth oldestRetained) {
+        try (Stream<Path> monthDirectories = Files.list(directory)) {
+            monthDirectories.filter(Files::isDirectory).forEach(monthDirectory -> {
+                YearMonth month = parseMonth(monthDirectory);
+                if (month != null && month.isBefore(oldestRetained)) {
+                    months.remove(month);
+                    deleteMonth(monthDirectory);
+                    log.info("Evicted balance report snapshots of {}", month);
+                }
+            });
+        } catch (IOException e) {
+            log.error("Error while listing balance report snapshots: {}", e.getMessage());
+        }
+    }
+
+    private void loadMonth(Path monthDirectory) {
+        YearMonth month = parseMonth(monthDirectory);
+        if (month == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(monthDirectory)) {
+            List<Path> segmentFiles = files.sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+            for (Path file : segmentFiles) {
+                if (SnapshotSegment.isTemporary(file)) {
+                    // Segmento de una ejecución interrumpida.
+                    Files.deleteIfExists(file);
+                } else if (file.getFileName().toString().endsWith(EXTENSION)) {
+                    loadSegment(month, file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to list balance report snapshots {}: {}",
+                    monthDirectory, e.getMessage());
+        }
+    }
+
+    private void loadSegment(YearMonth month, Path file) {
+        try {
+            register(month, SnapshotSegment.open(file));
+        } catch (IOException e) {
+            log.warn("Unable to open balance snapshot segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void register(YearMonth month, SnapshotSegment segment) {
+        Map<String, SnapshotSegment> index =
+                months.computeIfAbsent(month, key -> new ConcurrentHashMap<>());
+        segment.keys().forEach(customerId -> index.put(customerId, segment));
+    }
+
+    private void deleteMonth(Path monthDirectory) {
+        try (Stream<Path> files = Files.list(monthDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(monthDirectory);
+        } catch (IOException e) {
+            log.warn("Unable to evict balance report snapshots {}: {}",
+                    monthDirectory, e.getMessage());
+        }
+    }
+
+    private static YearMonth parseMonth(Path monthDirectory) {
+        try {
+            return YearMonth.parse(monthDirectory.getFileName().toString());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Escritor de un segmento de reportes de un mes. Los reportes se escriben en un archivo
+     * temporal y el segmento se publica al confirmarlo.
+     */
+    public final class SegmentWriter implements AutoCloseable {
+
+        private final YearMonth month;
+        private final SnapshotSegment.Writer writer;
+
+        private SegmentWriter(YearMonth month, SnapshotSegment.Writer writer) {
+            this.month = month;
+            this.writer = writer;
+        }
+
+        /**
+         * Agrega el reporte de un cliente al segmento.
+         *
+         * @param customerId identificador del cliente
+         * @param report reporte del cliente
+         * @throws ServiceException si no se puede escribir el reporte
+         */
+        public void append(String customerId, DailyBalanceReportDto report) {
+            try {
+                writer.append(customerId, reportWriter.writeValueAsBytes(report));
+            } catch (IOException e) {
+                throw new ServiceException(
+                        "Error while writing balance report snapshot: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Indica el número de reportes agregados al segmento.
+         *
+         * @return número de reportes del segmento
+         */
+        public int size() {
+            return writer.size();
+        }
+
+        /**
+         * Publica el segmento y registra sus reportes. Un segmento vacío se descarta.
+         *
+         * @throws ServiceException si no se puede guardar el segmento
+         */
+        public void commit() {
+            try {
+                if (writer.size() == 0) {
+                    writer.close();
+                    return;
+                }
+                register(month, writer.commit());
+            } catch (IOException e) {
+                log.error("Error while saving balance snapshot segment for {}: {}",
+                        month, e.getMessage());
+                throw new ServiceException(
+                        "Error while saving balance snapshot segment: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Descarta el segmento si no se confirmó.
+         */
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Unable to discard balance snapshot segment for {}: {}",
+                        month, e.getMessage());
+            }
+        }
+    }
+}
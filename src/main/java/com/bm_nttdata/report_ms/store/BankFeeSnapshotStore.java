@@ -0,0 +1,274 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.BankFeeSnapshotProperties;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacenamiento local de los reportes de comisiones bancarias de los períodos cerrados.
+ * Cada período se guarda en un {@link SnapshotSegment} con una entrada por cuenta, indexada
+ * por el identificador de la cuenta, y una entrada de resumen con los totales. Las entradas
+ * se codifican en Smile y se leen de un mapeo en memoria, de modo que el reporte se puede
+ * entregar cuenta por cuenta sin cargarlo entero en el heap, y los reportes sobreviven a
+ * los reinicios. Los reportes se eliminan al superar el tiempo de retención.
+ */
+@Slf4j
+@Component
+public class BankFeeSnapshotStore {
+
+    private static final String EXTENSION = ".snap";
+    private static final String SUMMARY_KEY = "";
+
+    private final ObjectMapper smileMapper;
+    private final ObjectReader summaryReader;
+    private final ObjectReader accountFeeReader;
+    private final BankFeeSnapshotProperties properties;
+    private final SettlementCalendar settlementCalendar;
+    private final Path directory;
+    private final Map<Path, SnapshotSegment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el almacenamiento de reportes de comisiones.
+     *
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de los reportes de comisiones guardados
+     * @param settlementCalendar regla de cierre de los períodos
+     */
+    public BankFeeSnapshotStore(ObjectMapper objectMapper, BankFeeSnapshotProperties properties,
+            SettlementCalendar settlementCalendar) {
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.summaryReader = smileMapper.readerFor(BankFeeReportDto.class);
+        this.accountFeeReader = smileMapper.readerFor(AccountFeeDto.class);
+        this.properties = properties;
+        this.settlementCalendar = settlementCalendar;
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * Crea el directorio de reportes si no existe y elimina los reportes que no se
+     * terminaron de escribir.
+     *
+     * @throws IOException si no se puede crear o listar el directorio
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (SnapshotSegment.isTemporary(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca el reporte guardado de un período.
+     *
+     * @param startDate fecha inicial del período
+     * @param endDate fecha final del período
+     * @return reporte del período, si está guardado y se puede leer
+     */
+    public Optional<BankFeeReportDto> find(LocalDate startDate, LocalDate endDate) {
+        if (!isClosed(endDate)) {
+            return Optional.empty();
+        }
+        return segment(startDate, endDate).flatMap(segment -> {
+            try {
+                BankFeeReportDtoAccountFees accountFees = new BankFeeReportDtoAccountFees();
+                accountFees.setSavings(new ArrayList<>());
+                accountFees.setChecking(new ArrayList<>());
+                accountFees.setFixedTerm(new ArrayList<>());
+                accountFees.setSavingsVip(new ArrayList<>());
+                accountFees.setCheckingPyme(new ArrayList<>());
+                forEachAccountFee(segment, accountFee -> accountFeesOfType(
+                        accountFees, accountFee.getAccountType()).add(accountFee));
+                BankFeeReportDto report = readSummary(segment);
+                report.setAccountFees(accountFees);
+                return Optional.of(report);
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Unable to read bank fee snapshot {}: {}",
+                        segment.path(), e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Entrega las comisiones de cada cuenta del reporte guardado de un período, en el
+     * orden del reporte, decodificando una cuenta a la vez.
+     *
+     * @param startDate fecha inicial del período
+     * @param endDate fecha final del período
+     * @param sink consumidor que recibe las comisiones de cada cuenta
+     * @return resumen del reporte, sin las cuentas, o vacío si no está guardado
+     * @throws UncheckedIOException si no se puede leer una cuenta del reporte
+     */
+    public Optional<BankFeeReportDto> stream(
+            LocalDate startDate, LocalDate endDate, Consumer<AccountFeeDto> sink) {
+        Optional<SnapshotSegment> segment = isClosed(endDate)
+                ? segment(startDate, endDate) : Optional.empty();
+        if (segment.isEmpty()) {
+            return Optional.empty();
+        }
+        BankFeeReportDto summary;
+        try {
+            summary = readSummary(segment.get());
+        } catch (IOException e) {
+            log.warn("Unable to read bank fee snapshot {}: {}",
+                    segment.get().path(), e.getMessage());
+            return Optional.empty();
+        }
+        forEachAccountFee(segment.get(), sink);
+        return Optional.of(summary);
+    }
+
+    /**
+     * Indica si un período está cerrado: terminó hace más de los días de asentamiento
+     * configurados, por lo que sus comisiones ya no cambian.
+     *
+     * @param endDate fecha final del período
+     * @return {@code true} si el período está cerrado
+     */
+    public boolean isClosed(LocalDate endDate) {
+        return settlementCalendar.isClosed(endDate);
+    }
+
+    /**
+     * Guarda el reporte de un período cerrado, reemplazando el existente. Los reportes de
+     * períodos que aún no están cerrados no se guardan. Los errores de escritura solo se
+     * registran, ya que el reporte se puede volver a generar.
+     *
+     * @param report reporte del período
+     */
+    public void save(BankFeeReportDto report) {
+        if (!properties.isEnabled() || !isClosed(report.getEndDate())) {
+            return;
+        }
+        Path path = resolve(report.getStartDate(), report.getEndDate());
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            BankFeeReportDto summary = new BankFeeReportDto()
+                    .startDate(report.getStartDate())
+                    .endDate(report.getEndDate())
+                    .totalFeesAmount(report.getTotalFeesAmount())
+                    .totalFeesNumber(report.getTotalFeesNumber());
+            writer.append(SUMMARY_KEY, smileMapper.writeValueAsBytes(summary));
+            BankFeeReportDtoAccountFees accountFees = report.getAccountFees();
+            for (List<AccountFeeDto> accountFeeList : List.of(accountFees.getSavings(),
+                    accountFees.getChecking(), accountFees.getFixedTerm(),
+                    accountFees.getSavingsVip(), accountFees.getCheckingPyme())) {
+                for (AccountFeeDto accountFee : accountFeeList) {
+                    writer.append(accountFee.getAccountId(),
+                            smileMapper.writeValueAsBytes(accountFee));
+                }
+            }
+            segments.put(path, writer.commit());
+        } catch (IOException e) {
+            log.warn("Unable to save bank fee snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina los reportes cuyo tiempo de retención ha vencido.
+     */
+    @Scheduled(fixedDelayString = "${report.fees.snapshots.eviction-interval:PT1H}")
+    public void evict() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant limit = Instant.now().minus(properties.getRetention());
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(EXTENSION)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(limit)) {
+                    segments.remove(file);
+                    Files.deleteIfExists(file);
+                    log.info("Evicted bank fee snapshot {}", file.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error while evicting bank fee snapshots: {}", e.getMessage());
+        }
+    }
+
+    private Optional<SnapshotSegment> segment(LocalDate startDate, LocalDate endDate) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Path path = resolve(startDate, endDate);
+        SnapshotSegment segment = segments.get(path);
+        if (segment != null || !Files.isRegularFile(path)) {
+            return Optional.ofNullable(segment);
+        }
+        try {
+            // Los reportes guardados antes de un reinicio se mapean al pedirlos.
+            segment = SnapshotSegment.open(path);
+            SnapshotSegment existing = segments.putIfAbsent(path, segment);
+            return Optional.of(existing == null ? segment : existing);
+        } catch (IOException e) {
+            log.warn("Unable to open bank fee snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private BankFeeReportDto readSummary(SnapshotSegment segment) throws IOException {
+        return summaryReader.readValue(new ByteBufferBackedInputStream(
+                segment.slice(SUMMARY_KEY).orElseThrow(() ->
+                        new IOException("Missing bank fee snapshot summary"))));
+    }
+
+    private void forEachAccountFee(SnapshotSegment segment, Consumer<AccountFeeDto> sink) {
+        for (String accountId : segment.keys()) {
+            if (SUMMARY_KEY.equals(accountId)) {
+                continue;
+            }
+            try {
+                sink.accept(accountFeeReader.readValue(
+                        new ByteBufferBackedInputStream(segment.slice(accountId).orElseThrow())));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static List<AccountFeeDto> accountFeesOfType(
+            BankFeeReportDtoAccountFees accountFees, AccountFeeDto.AccountTypeEnum accountType) {
+        return switch (accountType) {
+            case SAVINGS -> accountFees.getSavings();
+            case CHECKING -> accountFees.getChecking();
+            case FIXED_TERM -> accountFees.getFixedTerm();
+            case SAVINGS_VIP -> accountFees.getSavingsVip();
+            case CHECKING_PYME -> accountFees.getCheckingPyme();
+        };
+    }
+
+    private Path resolve(LocalDate startDate, LocalDate endDate) {
+        return directory.resolve("bank-fees-" + startDate + "-" + endDate + EXTENSION);
+    }
+}
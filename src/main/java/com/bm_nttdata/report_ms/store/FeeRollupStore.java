@@ -0,0 +1,118 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.FeeRollupProperties;
+import com.bm_nttdata.report_ms.dto.FeeRollupDto;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacenamiento de los acumulados diarios de comisiones bancarias.
+ * Cada día cerrado se guarda como un archivo JSON con la suma y el número de comisiones
+ * por tipo de cuenta; los acumulados se mantienen además en memoria, de modo que un
+ * período se resuelve leyendo un acumulado por día sin consultar al microservicio de cuentas.
+ */
+@Slf4j
+@Component
+public class FeeRollupStore {
+
+    private static final String EXTENSION = ".json";
+
+    private final ObjectMapper objectMapper;
+    private final FeeRollupProperties properties;
+    private final Path directory;
+    private final Map<LocalDate, FeeRollupDto> rollups = new ConcurrentHashMap<>();
+
+    /**
+     * Construye el almacenamiento de acumulados diarios.
+     *
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de los acumulados diarios de comisiones
+     */
+    public FeeRollupStore(ObjectMapper objectMapper, FeeRollupProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * Crea el directorio de acumulados si no existe y carga en memoria los acumulados
+     * guardados previamente. No hace nada si los acumulados están deshabilitados.
+     *
+     * @throws IOException si no se puede crear o listar el directorio
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .forEach(this::load);
+        }
+        log.info("Loaded {} daily fee rollups from {}", rollups.size(), directory);
+    }
+
+    /**
+     * Busca el acumulado de comisiones de un día.
+     *
+     * @param date día del acumulado
+     * @return acumulado del día, si ya fue calculado y los acumulados están habilitados
+     */
+    public Optional<FeeRollupDto> find(LocalDate date) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rollups.get(date));
+    }
+
+    /**
+     * Guarda el acumulado de comisiones de un día, reemplazando el existente.
+     * El archivo se escribe primero con un nombre temporal y luego se renombra. No hace
+     * nada si los acumulados están deshabilitados.
+     *
+     * @param rollup acumulado del día
+     * @throws ServiceException si no se puede escribir el acumulado
+     */
+    public void save(FeeRollupDto rollup) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate date = rollup.getDate();
+        Path temporary = directory.resolve(date + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                objectMapper.writeValue(out, rollup);
+            }
+            Files.move(temporary, directory.resolve(date + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error while saving fee rollup {}: {}", date, e.getMessage());
+            throw new ServiceException("Error while saving fee rollup: " + e.getMessage());
+        }
+        rollups.put(date, rollup);
+    }
+
+    private void load(Path path) {
+        try {
+            FeeRollupDto rollup = objectMapper.readValue(path.toFile(), FeeRollupDto.class);
+            rollups.put(rollup.getDate(), rollup);
+        } catch (IOException e) {
+            log.warn("Unable to read fee rollup {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.ReportJobProperties;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacenamiento local en disco de los resultados de los trabajos de reportes.
+ * Cada resultado se guarda como un archivo JSON identificado por el trabajo que lo generó.
+ * Los resultados se eliminan al superar el tiempo de retención o, si el almacenamiento
+ * supera su tamaño máximo, empezando por los más antiguos.
+ */
+@Slf4j
+@Component
+public class ReportResultStore {
+
+    private static final String EXTENSION = ".json";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final ObjectMapper objectMapper;
+    private final ReportJobProperties.Store properties;
+    private final Path directory;
+
+    /**
+     * Construye el almacenamiento de resultados.
+     *
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de los trabajos de reportes
+     */
+    public ReportResultStore(ObjectMapper objectMapper, ReportJobProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties.getStore();
+        this.directory = Paths.get(this.properties.getDirectory());
+    }
+
+    /**
+     * Crea el directorio de resultados si no existe.
+     *
+     * @throws IOException si no se puede crear el directorio
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Guarda el resultado de un trabajo. El archivo se escribe primero con un nombre
+     * temporal y luego se renombra, de forma que nunca se expone un resultado incompleto.
+     *
+     * @param key identificador del resultado
+     * @param result reporte a guardar
+     * @throws ServiceException si no se puede escribir el resultado
+     */
+    public void save(String key, Object result) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid report result key: " + key);
+        }
+        Path target = resolve(key);
+        Path temporary = directory.resolve(key + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                objectMapper.writeValue(out, result);
+            }
+            Files.move(temporary, target,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error while saving report result {}: {}", key, e.getMessage());
+            throw new ServiceException("Error while saving report result: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca el archivo de un resultado vigente.
+     *
+     * @param key identificador del resultado
+     * @return ruta del archivo del resultado, si existe y no ha expirado
+     */
+    public Optional<Path> find(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path) || isExpired(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * Obtiene la fecha en que se guardó un resultado.
+     *
+     * @param key identificador del resultado
+     * @return fecha de escritura del resultado, si existe
+     */
+    public Optional<Instant> savedAt(String key) {
+        return find(key).map(path -> {
+            try {
+                return Files.getLastModifiedTime(path).toInstant();
+            } catch (IOException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Elimina los resultados expirados y, si el almacenamiento supera su tamaño máximo,
+     * los resultados más antiguos hasta volver al límite.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.store.eviction-interval:PT10M}")
+    public void evict() {
+        List<StoredResult> results = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .forEach(path -> {
+                        try {
+                            results.add(new StoredResult(path,
+                                    Files.getLastModifiedTime(path), Files.size(path)));
+                        } catch (IOException e) {
+                            log.warn("Unable to read report result {}: {}", path, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.error("Error while listing report results: {}", e.getMessage());
+            return;
+        }
+
+        results.sort(Comparator.comparing(StoredResult::modified));
+        long totalSize = results.stream().mapToLong(StoredResult::size).sum();
+        long maxSize = properties.getMaxSize().toBytes();
+        for (StoredResult result : results) {
+            if (isExpired(result.modified()) || totalSize > maxSize) {
+                delete(result.path());
+                totalSize -= result.size();
+            }
+        }
+    }
+
+    private boolean isExpired(Path path) {
+        try {
+            return isExpired(Files.getLastModifiedTime(path));
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private boolean isExpired(FileTime modified) {
+        return modified.toInstant()
+                .plus(properties.getRetention())
+                .isBefore(Instant.now());
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            log.info("Evicted report result {}", path.getFileName());
+        } catch (IOException e) {
+            log.warn("Unable to evict report result {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Path resolve(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    private record StoredResult(Path path, FileTime modified, long size) {
+    }
+}
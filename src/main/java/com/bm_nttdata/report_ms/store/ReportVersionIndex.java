@@ -0,0 +1,119 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.ReportVersionProperties;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Índice de las versiones de los reportes de períodos cerrados.
+ * La versión de un reporte es un {@code ETag} débil calculado con el contenido del reporte,
+ * por lo que es la misma en JSON, CBOR o Smile y no cambia al responderlo desde un reporte
+ * precalculado o al generarlo en línea. Los reportes de períodos cerrados no cambian, así
+ * que su versión se recuerda para responder las solicitudes condicionales sin generarlos.
+ * El índice solo está en memoria: tras un reinicio la primera solicitud de cada reporte lo
+ * vuelve a generar. Las estadísticas se publican en Micrometer con el nombre
+ * {@code reportVersions}.
+ */
+@Component
+public class ReportVersionIndex {
+
+    private final ObjectWriter contentWriter;
+    private final Cache<String, String> versions;
+
+    /**
+     * Construye el índice de versiones y registra sus métricas.
+     *
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de las versiones de los reportes
+     * @param meterRegistry registro de métricas
+     */
+    public ReportVersionIndex(
+            ObjectMapper objectMapper,
+            ReportVersionProperties properties,
+            MeterRegistry meterRegistry) {
+        this.contentWriter = objectMapper.copyWith(new SmileFactory()).writer();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "reportVersions");
+    }
+
+    /**
+     * Construye la clave del reporte de saldos diarios de un cliente. Las secciones y la
+     * proyección forman parte de la clave porque cambian el contenido del reporte.
+     *
+     * @param customerId identificador del cliente
+     * @param month mes del reporte
+     * @param sections secciones solicitadas
+     * @param view proyección del reporte
+     * @return clave del reporte
+     */
+    public static String balanceReportKey(
+            String customerId, LocalDate month, Set<ReportSection> sections, ReportView view) {
+        return "balances:" + customerId + ":" + YearMonth.from(month) + ":" + sections
+                + ":" + view;
+    }
+
+    /**
+     * Construye la clave del reporte de comisiones bancarias de un período.
+     *
+     * @param startDate fecha inicial del período
+     * @param endDate fecha final del período
+     * @return clave del reporte
+     */
+    public static String bankFeesReportKey(LocalDate startDate, LocalDate endDate) {
+        return "bank-fees:" + startDate + ":" + endDate;
+    }
+
+    /**
+     * Busca la versión conocida de un reporte.
+     *
+     * @param key clave del reporte
+     * @return versión del reporte, si se recuerda
+     */
+    public Optional<String> find(String key) {
+        return Optional.ofNullable(versions.getIfPresent(key));
+    }
+
+    /**
+     * Calcula la versión de un reporte a partir de su contenido.
+     *
+     * @param report reporte
+     * @return {@code ETag} débil del reporte
+     * @throws ServiceException si no se puede serializar el reporte
+     */
+    public String versionOf(Object report) {
+        try {
+            return "W/\"" + DigestUtils.md5DigestAsHex(contentWriter.writeValueAsBytes(report))
+                    + "\"";
+        } catch (JsonProcessingException e) {
+            throw new ServiceException("Error while computing report version: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recuerda la versión de un reporte de un período cerrado.
+     *
+     * @param key clave del reporte
+     * @param version versión del reporte
+     */
+    public void put(String key, String version) {
+        versions.put(key, version);
+    }
+}
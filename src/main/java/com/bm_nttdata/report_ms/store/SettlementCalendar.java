@@ -0,0 +1,56 @@
+package com.bm_nttdata.report_ms.store;
+
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regla común que indica si un período ya está cerrado: terminó hace más de los días de
+ * asentamiento configurados, por lo que sus datos ya no cambian y se pueden guardar o
+ * considerar inmutables.
+ */
+@Component
+public class SettlementCalendar {
+
+    private final SettlementProperties properties;
+
+    /**
+     * Construye la regla de cierre de los períodos.
+     *
+     * @param properties propiedades del cierre de los períodos
+     */
+    public SettlementCalendar(SettlementProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Indica si un período que termina en la fecha indicada está cerrado.
+     *
+     * @param endDate fecha final del período
+     * @return {@code true} si el período está cerrado
+     */
+    public boolean isClosed(LocalDate endDate) {
+        return endDate.isBefore(firstOpenDay());
+    }
+
+    /**
+     * Indica si un mes está cerrado, es decir, si su último día está cerrado.
+     *
+     * @param month mes del período
+     * @return {@code true} si el mes está cerrado
+     */
+    public boolean isClosed(YearMonth month) {
+        return isClosed(month.atEndOfMonth());
+    }
+
+    /**
+     * Devuelve el primer día que aún no está cerrado. Todos los días anteriores están
+     * cerrados.
+     *
+     * @return primer día abierto
+     */
+    public LocalDate firstOpenDay() {
+        return LocalDate.now().minusDays(Math.max(0, properties.getDays()));
+    }
+}
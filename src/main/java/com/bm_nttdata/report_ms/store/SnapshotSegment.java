@@ -0,0 +1,262 @@
+package com.bm_nttdata.report_ms.store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Archivo binario de reportes terminados, leído mediante un mapeo en memoria.
+ * El archivo contiene las entradas una tras otra, seguidas de un índice con la clave,
+ * la posición y el tamaño de cada entrada, y de un pie con la posición del índice:
+ * <pre>
+ * [entrada]... [índice: (longitud de la clave, clave UTF-8, posición, tamaño)...]
+ * [pie: posición del índice, número de entradas, número mágico]
+ * </pre>
+ * Al abrirlo solo se lee el índice; cada entrada se obtiene como un fragmento del mapeo,
+ * sin copiarla, y el sistema operativo carga sus páginas al leerla. El contenido de las
+ * entradas lo decide quien escribe el archivo. Un archivo admite hasta 2 GB.
+ */
+public final class SnapshotSegment {
+
+    private static final int MAGIC = 0x52534E31;
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final Path path;
+    private final MappedByteBuffer data;
+    private final Map<String, long[]> index;
+    private final List<String> keys;
+
+    private SnapshotSegment(
+            Path path, MappedByteBuffer data, Map<String, long[]> index, List<String> keys) {
+        this.path = path;
+        this.data = data;
+        this.index = index;
+        this.keys = keys;
+    }
+
+    /**
+     * Abre un archivo de reportes: lo mapea en memoria y carga su índice.
+     *
+     * @param path ruta del archivo
+     * @return archivo de reportes abierto
+     * @throws IOException si no se puede leer el archivo o no tiene un formato válido
+     */
+    public static SnapshotSegment open(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < FOOTER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot segment size: " + channel.size());
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int footer = data.capacity() - FOOTER_SIZE;
+        long indexOffset = data.getLong(footer);
+        int entries = data.getInt(footer + Long.BYTES);
+        if (data.getInt(footer + Long.BYTES + Integer.BYTES) != MAGIC
+                || indexOffset < 0 || indexOffset > footer || entries < 0) {
+            throw new IOException("Invalid snapshot segment footer: " + path);
+        }
+
+        ByteBuffer indexBuffer = data.slice((int) indexOffset, footer - (int) indexOffset);
+        Map<String, long[]> index = new HashMap<>(entries * 2);
+        List<String> keys = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            byte[] key = new byte[Short.toUnsignedInt(indexBuffer.getShort())];
+            indexBuffer.get(key);
+            long offset = indexBuffer.getLong();
+            long length = indexBuffer.getInt();
+            if (offset + length > indexOffset) {
+                throw new IOException("Invalid snapshot segment entry: " + path);
+            }
+            String name = new String(key, StandardCharsets.UTF_8);
+            index.put(name, new long[] {offset, length});
+            keys.add(name);
+        }
+        return new SnapshotSegment(path, data, index, Collections.unmodifiableList(keys));
+    }
+
+    /**
+     * Crea un archivo de reportes. Las entradas se escriben en un archivo temporal que se
+     * publica al confirmarlo.
+     *
+     * @param path ruta del archivo
+     * @return escritor del archivo
+     * @throws IOException si no se puede crear el archivo temporal
+     */
+    public static Writer create(Path path) throws IOException {
+        return new Writer(path);
+    }
+
+    /**
+     * Indica si un archivo es un archivo temporal de una escritura sin confirmar.
+     *
+     * @param path ruta del archivo
+     * @return {@code true} si el archivo es temporal
+     */
+    public static boolean isTemporary(Path path) {
+        return path.getFileName().toString().endsWith(TEMPORARY_EXTENSION);
+    }
+
+    /**
+     * Obtiene la ruta del archivo.
+     *
+     * @return ruta del archivo
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Obtiene las claves de las entradas, en el orden en que se escribieron.
+     *
+     * @return claves de las entradas
+     */
+    public List<String> keys() {
+        return keys;
+    }
+
+    /**
+     * Obtiene el contenido de una entrada sin copiarlo. El fragmento es independiente,
+     * por lo que varios hilos pueden leer el archivo a la vez.
+     *
+     * @param key clave de la entrada
+     * @return contenido de la entrada, si existe
+     */
+    public Optional<ByteBuffer> slice(String key) {
+        long[] position = index.get(key);
+        if (position == null) {
+            return Optional.empty();
+        }
+        return Optional.of(data.slice((int) position[0], (int) position[1]));
+    }
+
+    /**
+     * Escritor de un archivo de reportes.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path path;
+        private final Path temporary;
+        private final DataOutputStream out;
+        private final List<String> keys = new ArrayList<>();
+        private final Set<String> uniqueKeys = new HashSet<>();
+        private final List<long[]> positions = new ArrayList<>();
+        private long size;
+        private boolean finished;
+
+        private Writer(Path path) throws IOException {
+            this.path = path;
+            this.temporary = path.resolveSibling(path.getFileName() + TEMPORARY_EXTENSION);
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)));
+        }
+
+        /**
+         * Agrega una entrada al archivo. Las claves no se pueden repetir.
+         *
+         * @param key clave de la entrada
+         * @param value contenido de la entrada
+         * @throws IOException si no se puede escribir la entrada, la clave ya fue agregada o
+         *         el archivo supera 2 GB
+         */
+        public void append(String key, byte[] value) throws IOException {
+            if (key.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+                throw new IOException("Snapshot segment key is too long: " + key);
+            }
+            if (uniqueKeys.contains(key)) {
+                throw new IOException("Duplicate snapshot segment key: " + key);
+            }
+            if (size + value.length > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot segment exceeds 2 GB: " + path);
+            }
+            out.write(value);
+            uniqueKeys.add(key);
+            keys.add(key);
+            positions.add(new long[] {size, value.length});
+            size += value.length;
+        }
+
+        /**
+         * Indica el número de entradas agregadas.
+         *
+         * @return número de entradas
+         */
+        public int size() {
+            return keys.size();
+        }
+
+        /**
+         * Escribe el índice y el pie, publica el archivo y lo abre para lectura. Si no se
+         * puede publicar, el archivo temporal se elimina.
+         *
+         * @return archivo de reportes publicado
+         * @throws IOException si no se puede escribir o publicar el archivo
+         */
+        public SnapshotSegment commit() throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Snapshot segment already finished: " + path);
+            }
+            try {
+                try (out) {
+                    for (int i = 0; i < keys.size(); i++) {
+                        byte[] key = keys.get(i).getBytes(StandardCharsets.UTF_8);
+                        out.writeShort(key.length);
+                        out.write(key);
+                        out.writeLong(positions.get(i)[0]);
+                        out.writeInt((int) positions.get(i)[1]);
+                    }
+                    out.writeLong(size);
+                    out.writeInt(keys.size());
+                    out.writeInt(MAGIC);
+                }
+                try (FileChannel channel =
+                        FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(temporary, path,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            finished = true;
+            return open(path);
+        }
+
+        /**
+         * Descarta el archivo si no se confirmó.
+         *
+         * @throws IOException si no se puede eliminar el archivo temporal
+         */
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            out.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -1,13 +1,63 @@
 package com.bm_nttdata.report_ms;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.client.AccountClient;
+import com.bm_nttdata.report_ms.client.CreditClient;
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.service.ReportService;
+import com.bm_nttdata.report_ms.service.impl.ReactiveReportAssembler;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
 
-@SpringBootTest
+/**
+ * Comprueba que el contexto de la aplicación arranca en cada modo de cliente sin
+ * servidor de configuración, registro de servicios ni microservicios disponibles.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "account-service.url=localhost:8085",
+    "credit-service.url=localhost:8086",
+    "customer-service.url=localhost:8087"
+})
 class ReportMsApplicationTests {
 
-/*@Test
-void contextLoads() {
-}*/
+    @MockBean
+    private CustomerClient customerClient;
+
+    @MockBean
+    private AccountClient accountClient;
+
+    @MockBean
+    private CreditClient creditClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads() {
+        assertThat(context.getBean(ReportService.class)).isNotNull();
+        assertThat(context.getBeansOfType(ReactiveReportAssembler.class)).isEmpty();
+    }
+
+    @Nested
+    @TestPropertySource(properties = "report.client.mode=REACTIVE")
+    class ReactiveMode {
+
+        @Autowired
+        private ApplicationContext reactiveContext;
 
+        @Test
+        void contextLoadsWithReactiveAssembler() {
+            assertThat(reactiveContext.getBean(ReportService.class)).isNotNull();
+            assertThat(reactiveContext.getBeansOfType(ReactiveReportAssembler.class))
+                    .hasSize(1);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package com.bm_nttdata.report_ms.aggregation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.Test;
+
+class MoneyAccumulatorTest {
+
+    @Test
+    void sumsMixedScalesExactly() {
+        MoneyAccumulator accumulator = new MoneyAccumulator(2, RoundingMode.HALF_EVEN)
+                .add(new BigDecimal("10"))
+                .add(new BigDecimal("0.125"))
+                .addUnscaled(5, 1)
+                .add(null);
+
+        assertThat(accumulator.exactSum()).isEqualTo(new BigDecimal("10.625"));
+        assertThat(accumulator.sum()).isEqualTo(new BigDecimal("10.62"));
+    }
+
+    @Test
+    void roundsWithConfiguredModeOnlyOnResult() {
+        MoneyAccumulator halfUp = new MoneyAccumulator(2, RoundingMode.HALF_UP)
+                .add(new BigDecimal("0.005"))
+                .add(new BigDecimal("0.005"))
+                .add(new BigDecimal("0.005"));
+
+        // Redondear cada monto daría 0.03; la suma exacta 0.015 se redondea una sola vez.
+        assertThat(halfUp.sum()).isEqualTo(new BigDecimal("0.02"));
+        assertThat(halfUp.average(3)).isEqualTo(new BigDecimal("0.01"));
+        assertThat(new MoneyAccumulator(2, RoundingMode.HALF_EVEN)
+                .add(new BigDecimal("0.025")).sum()).isEqualTo(new BigDecimal("0.02"));
+    }
+
+    @Test
+    void averageOfNothingIsZero() {
+        assertThat(new MoneyAccumulator(2, RoundingMode.HALF_EVEN).average(0))
+                .isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void promotesWhenSumOverflowsLong() {
+        MoneyAccumulator accumulator = new MoneyAccumulator(2, RoundingMode.HALF_EVEN)
+                .addUnscaled(Long.MAX_VALUE, 2)
+                .addUnscaled(Long.MAX_VALUE, 2)
+                .add(new BigDecimal("0.01"));
+
+        assertThat(accumulator.exactSum()).isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE, 2)
+                .multiply(BigDecimal.valueOf(2)).add(new BigDecimal("0.01")));
+    }
+
+    @Test
+    void promotesWhenRescalingOverflowsLong() {
+        MoneyAccumulator accumulator = new MoneyAccumulator(2, RoundingMode.HALF_EVEN)
+                .add(new BigDecimal("92233720368547758"))
+                .add(new BigDecimal("0.001"));
+
+        assertThat(accumulator.exactSum()).isEqualTo(new BigDecimal("92233720368547758.001"));
+    }
+
+    @Test
+    void promotesAmountsThatDoNotFitInLong() {
+        BigDecimal large = new BigDecimal("123456789012345678901234.56");
+        BigDecimal manyDecimals = new BigDecimal("0.1234567890123456789");
+        BigDecimal negativeScale = new BigDecimal("1E+3");
+
+        MoneyAccumulator accumulator = new MoneyAccumulator(2, RoundingMode.HALF_EVEN)
+                .add(BigDecimal.ONE)
+                .add(large)
+                .add(manyDecimals)
+                .add(negativeScale);
+
+        assertThat(accumulator.exactSum()).isEqualByComparingTo(
+                BigDecimal.ONE.add(large).add(manyDecimals).add(negativeScale));
+        assertThat(accumulator.sum()).isEqualTo(new BigDecimal("123456789012345678902235.68"));
+    }
+}
@@ -0,0 +1,350 @@
+package com.bm_nttdata.report_ms.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.bm_nttdata.report_ms.config.ReportVersionProperties;
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeStreamRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import com.bm_nttdata.report_ms.service.BalanceReportBatchService;
+import com.bm_nttdata.report_ms.service.FeeRollupService;
+import com.bm_nttdata.report_ms.service.ReportJobService;
+import com.bm_nttdata.report_ms.service.ReportService;
+import com.bm_nttdata.report_ms.store.ReportVersionIndex;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ReportApiDelegateImplTest {
+
+    private static final String BANK_FEES = "/api/v1/reports/bank-fees";
+    private static final String BALANCES = "/api/v1/reports/customers/c1/average-balances";
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+    private static final String IMMUTABLE = "immutable";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ReportService reportService = mock(ReportService.class);
+    private final SettlementProperties settlementProperties = new SettlementProperties();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReportVersionProperties versionProperties = new ReportVersionProperties();
+        ReportApiDelegateImpl delegate = new ReportApiDelegateImpl(
+                reportService,
+                mock(ReportJobService.class),
+                mock(FeeRollupService.class),
+                mock(BalanceReportBatchService.class),
+                new ReportVersionIndex(
+                        objectMapper, versionProperties, new SimpleMeterRegistry()),
+                versionProperties,
+                new SettlementCalendar(settlementProperties),
+                currentRequest(),
+                objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReportApiController(delegate))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        settlementProperties.setDays(1);
+        when(reportService.getBankFeesReport(any(), any())).thenAnswer(invocation ->
+                new BankFeeReportDto()
+                        .startDate(invocation.getArgument(0))
+                        .endDate(invocation.getArgument(1))
+                        .totalFeesAmount(new BigDecimal("12.50"))
+                        .totalFeesNumber(3));
+    }
+
+    @Test
+    void knownClosedVersionIsNotModifiedWithoutGeneratingReport() throws Exception {
+        String version = bankFeesVersion(START, END);
+
+        mockMvc.perform(bankFees(START, END).header(HttpHeaders.IF_NONE_MATCH, version))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString(IMMUTABLE)));
+
+        verify(reportService, times(1)).getBankFeesReport(START, END);
+    }
+
+    @Test
+    void wildcardAndListFormsOfIfNoneMatchAreHonoured() throws Exception {
+        String version = bankFeesVersion(START, END);
+
+        mockMvc.perform(bankFees(START, END).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(bankFees(START, END)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + version))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(bankFees(START, END)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+                        .header(HttpHeaders.IF_NONE_MATCH, version.substring(2)))
+                .andExpect(status().isNotModified());
+
+        verify(reportService, times(1)).getBankFeesReport(START, END);
+    }
+
+    @Test
+    void periodStillSettlingIsRevalidated() throws Exception {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        String version = mockMvc.perform(bankFees(yesterday, yesterday))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        not(containsString(IMMUTABLE))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // Spring responde 304 tras generar de nuevo el reporte.
+        mockMvc.perform(bankFees(yesterday, yesterday).header(HttpHeaders.IF_NONE_MATCH, version))
+                .andExpect(status().isNotModified());
+
+        verify(reportService, times(2)).getBankFeesReport(yesterday, yesterday);
+    }
+
+    @Test
+    void reportWithFailedSectionIsNotImmutable() throws Exception {
+        LocalDate month = LocalDate.of(2024, 1, 1);
+        when(reportService.generateDailyBalanceReport(
+                eq("c1"), eq(month), any(), anyBoolean(), any()))
+                .thenReturn(new DailyBalanceReportDto()
+                        .customerId("c1")
+                        .month(month)
+                        .sections(List.of(
+                                new ReportSectionStatusDto()
+                                        .section(ReportSection.ACCOUNTS)
+                                        .status(ReportSectionStatusDto.StatusEnum.COMPLETE),
+                                new ReportSectionStatusDto()
+                                        .section(ReportSection.CREDITS)
+                                        .status(ReportSectionStatusDto.StatusEnum.FAILED))));
+
+        String version = mockMvc.perform(get(BALANCES)
+                        .param("month", "2024-01-01")
+                        .param("partial", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        not(containsString(IMMUTABLE))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(BALANCES)
+                        .param("month", "2024-01-01")
+                        .param("partial", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, version))
+                .andExpect(status().isNotModified());
+
+        verify(reportService, times(2)).generateDailyBalanceReport(
+                eq("c1"), eq(month), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void previousMonthStillSettlingIsNotImmutable() throws Exception {
+        // El último día del mes anterior queda dentro de los días de asentamiento.
+        settlementProperties.setDays(LocalDate.now().getDayOfMonth());
+        LocalDate month = LocalDate.now().minusMonths(1).withDayOfMonth(1);
+        when(reportService.generateDailyBalanceReport(
+                eq("c1"), eq(month), any(), anyBoolean(), any()))
+                .thenReturn(new DailyBalanceReportDto().customerId("c1").month(month));
+
+        mockMvc.perform(get(BALANCES).param("month", month.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        not(containsString(IMMUTABLE))));
+
+        settlementProperties.setDays(LocalDate.now().getDayOfMonth() - 1);
+        mockMvc.perform(get(BALANCES).param("month", month.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString(IMMUTABLE)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjsonReportCarriesKnownVersion() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Consumer<BankFeeStreamRecordDto>>getArgument(2).accept(
+                    new BankFeeStreamRecordDto()
+                            .recordType(BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY));
+            return null;
+        }).when(reportService).streamBankFeesReport(any(), any(), any(Consumer.class));
+
+        // Sin versión conocida, el reporte se transmite sin cabeceras de versión.
+        mockMvc.perform(bankFees(START, END).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(content().string(containsString("SUMMARY")));
+
+        String version = bankFeesVersion(START, END);
+        mockMvc.perform(bankFees(START, END).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString(IMMUTABLE)))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        mockMvc.perform(bankFees(START, END)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, version))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version));
+
+        verify(reportService, times(2))
+                .streamBankFeesReport(eq(START), eq(END), any(Consumer.class));
+        verify(reportService, times(1)).getBankFeesReport(START, END);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjsonReportStreamsRecordsInOrderAndEndsWithSummary() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BankFeeStreamRecordDto> sink = invocation.getArgument(2);
+            sink.accept(accountFeeRecord("a1"));
+            sink.accept(accountFeeRecord("a2"));
+            sink.accept(accountFeeRecord("a3"));
+            sink.accept(new BankFeeStreamRecordDto()
+                    .recordType(BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY)
+                    .startDate(START)
+                    .endDate(END)
+                    .totalFeesAmount(new BigDecimal("3.00"))
+                    .totalFeesNumber(3));
+            return null;
+        }).when(reportService).streamBankFeesReport(any(), any(), any(Consumer.class));
+
+        List<BankFeeStreamRecordDto> records = ndjsonRecords(
+                mockMvc.perform(bankFees(START, END).accept(MediaType.APPLICATION_NDJSON))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                        .andReturn().getResponse().getContentAsString());
+
+        assertThat(records).extracting(BankFeeStreamRecordDto::getRecordType).containsExactly(
+                BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE,
+                BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE,
+                BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE,
+                BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY);
+        assertThat(records.subList(0, 3))
+                .extracting(record -> record.getAccountFee().getAccountId())
+                .containsExactly("a1", "a2", "a3");
+        BankFeeStreamRecordDto summary = records.get(3);
+        assertThat(summary.getTotalFeesAmount()).isEqualByComparingTo("3.00");
+        assertThat(summary.getTotalFeesNumber()).isEqualTo(3);
+        verify(reportService, times(0)).getBankFeesReport(START, END);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjsonReportFailingAfterPartialOutputEndsWithoutSummary() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BankFeeStreamRecordDto> sink = invocation.getArgument(2);
+            sink.accept(accountFeeRecord("a1"));
+            sink.accept(accountFeeRecord("a2"));
+            throw new ServiceException("Account service unavailable");
+        }).when(reportService).streamBankFeesReport(any(), any(), any(Consumer.class));
+
+        List<BankFeeStreamRecordDto> records = ndjsonRecords(
+                mockMvc.perform(bankFees(START, END).accept(MediaType.APPLICATION_NDJSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+
+        assertThat(records).extracting(record -> record.getAccountFee().getAccountId())
+                .containsExactly("a1", "a2");
+        assertThat(records).noneMatch(record -> record.getRecordType()
+                == BankFeeStreamRecordDto.RecordTypeEnum.SUMMARY);
+    }
+
+    private static BankFeeStreamRecordDto accountFeeRecord(String accountId) {
+        return new BankFeeStreamRecordDto()
+                .recordType(BankFeeStreamRecordDto.RecordTypeEnum.ACCOUNT_FEE)
+                .accountFee(new AccountFeeDto()
+                        .accountId(accountId)
+                        .numberOfFees(1)
+                        .totalFees(new BigDecimal("1.00")));
+    }
+
+    /**
+     * Lee el cuerpo de la respuesta línea por línea, un registro NDJSON por línea.
+     */
+    private List<BankFeeStreamRecordDto> ndjsonRecords(String body) throws Exception {
+        List<BankFeeStreamRecordDto> records = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(body))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, BankFeeStreamRecordDto.class));
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Obtiene el reporte en JSON, con lo que su versión queda registrada si el período está
+     * cerrado.
+     */
+    private String bankFeesVersion(LocalDate startDate, LocalDate endDate) throws Exception {
+        return mockMvc.perform(bankFees(startDate, endDate))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString(IMMUTABLE)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static MockHttpServletRequestBuilder bankFees(LocalDate startDate, LocalDate endDate) {
+        return get(BANK_FEES)
+                .param("startDate", startDate.toString())
+                .param("endDate", endDate.toString());
+    }
+
+    /**
+     * Solicitud que delega en la solicitud en curso, como el proxy que inyecta Spring.
+     */
+    private static NativeWebRequest currentRequest() {
+        return (NativeWebRequest) Proxy.newProxyInstance(
+                NativeWebRequest.class.getClassLoader(),
+                new Class<?>[] {NativeWebRequest.class},
+                (proxy, method, args) -> {
+                    ServletRequestAttributes attributes = (ServletRequestAttributes)
+                            RequestContextHolder.currentRequestAttributes();
+                    try {
+                        return method.invoke(new ServletWebRequest(
+                                attributes.getRequest(), attributes.getResponse()), args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
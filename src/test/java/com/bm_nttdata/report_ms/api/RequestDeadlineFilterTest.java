@@ -0,0 +1,58 @@
+package com.bm_nttdata.report_ms.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.DeadlineProperties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestDeadlineFilterTest {
+
+    private final DeadlineProperties properties = new DeadlineProperties();
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(properties);
+
+    @Test
+    void balanceReportGetsTheRequestedDeadline() throws Exception {
+        MockHttpServletRequest request = request(
+                "/api/v1/reports/customers/c1/average-balances");
+        request.addHeader("X-Request-Timeout", "2s");
+
+        Deadline deadline = deadlineSeenBy(request);
+
+        assertThat(deadline.isBounded()).isTrue();
+        assertThat(deadline.remainingMillis()).isBetween(1L, TimeUnit.SECONDS.toMillis(2));
+    }
+
+    @Test
+    void bankFeeReportsAreNotBounded() throws Exception {
+        assertThat(deadlineSeenBy(request("/api/v1/reports/bank-fees")).isBounded()).isFalse();
+        assertThat(deadlineSeenBy(request("/api/v1/reports/bank-fees/summary")).isBounded())
+                .isFalse();
+        assertThat(deadlineSeenBy(request("/api/v1/reports/customers/average-balances/batch"))
+                .isBounded()).isFalse();
+    }
+
+    @Test
+    void configuredPathsAreBounded() throws Exception {
+        properties.getPaths().add("/**/reports/bank-fees/summary");
+
+        assertThat(deadlineSeenBy(request("/api/v1/reports/bank-fees/summary")).isBounded())
+                .isTrue();
+    }
+
+    private Deadline deadlineSeenBy(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(Deadline.current()));
+        assertThat(Deadline.current()).isSameAs(Deadline.NONE);
+        return seen.get();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
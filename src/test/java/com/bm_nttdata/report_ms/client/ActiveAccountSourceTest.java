@@ -0,0 +1,91 @@
+package com.bm_nttdata.report_ms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.config.AccountPagingProperties;
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.AccountPageDto;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActiveAccountSourceTest {
+
+    private final AccountClient accountClient = mock(AccountClient.class);
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private ActiveAccountSource source;
+
+    @BeforeEach
+    void setUp() {
+        AccountPagingProperties properties = new AccountPagingProperties();
+        properties.setEnabled(true);
+        properties.setSize(2);
+        source = new ActiveAccountSource(accountClient,
+                new FanOutExecutor(pool, new FanOutProperties()), properties,
+                new ReportMetrics(new SimpleMeterRegistry()));
+        when(accountClient.getAccountsPage(eq("ACTIVE"), isNull(), eq(2)))
+                .thenReturn(page("c1", "a1", "a2"));
+        when(accountClient.getAccountsPage("ACTIVE", "c1", 2)).thenReturn(page("c2", "a3", "a4"));
+        when(accountClient.getAccountsPage("ACTIVE", "c2", 2)).thenReturn(page(null, "a5"));
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void accountsArePagedAcrossPageBoundariesInOrder() {
+        List<String> ids = new ArrayList<>();
+        for (AccountDto account : source.activeAccounts("bank_fees")) {
+            ids.add(account.getId());
+        }
+
+        assertThat(ids).containsExactly("a1", "a2", "a3", "a4", "a5");
+        verify(accountClient).getAccountsPage("ACTIVE", "c2", 2);
+    }
+
+    @Test
+    void eachTraversalStartsFromTheFirstPage() {
+        Iterable<AccountDto> accounts = source.activeAccounts("bank_fees");
+
+        assertThat(accounts).hasSize(5);
+        assertThat(accounts).hasSize(5);
+    }
+
+    @Test
+    void abandonedTraversalStopsFetchingPages() {
+        Iterator<AccountDto> iterator = source.activeAccounts("bank_fees").iterator();
+
+        assertThat(iterator.next().getId()).isEqualTo("a1");
+        ((CloseableIterator<AccountDto>) iterator).close();
+
+        assertThat(iterator.hasNext()).isFalse();
+        verify(accountClient, never()).getAccountsPage(any(), eq("c2"), anyInt());
+    }
+
+    static AccountPageDto page(String nextCursor, String... ids) {
+        List<AccountDto> accounts = new ArrayList<>();
+        for (String id : ids) {
+            accounts.add(AccountDto.builder().id(id).accountType("SAVINGS").build());
+        }
+        return AccountPageDto.builder().accounts(accounts).nextCursor(nextCursor).build();
+    }
+}
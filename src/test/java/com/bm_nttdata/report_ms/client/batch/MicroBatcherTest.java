@@ -0,0 +1,129 @@
+package com.bm_nttdata.report_ms.client.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void flushesWhenBatchIsFull() throws Exception {
+        // Con una ventana larga, solo el tamaño del lote puede provocar el envío.
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 3, echo());
+
+        CompletableFuture<String> first = batcher.load("2024-01", "a");
+        CompletableFuture<String> second = batcher.load("2024-01", "b");
+        assertThat(batches).isEmpty();
+        CompletableFuture<String> third = batcher.load("2024-01", "c");
+
+        assertThat(batches).containsExactly(List.of("a", "b", "c"));
+        assertThat(List.of(first.get(), second.get(), third.get()))
+                .containsExactly("value-a", "value-b", "value-c");
+    }
+
+    @Test
+    void flushesWhenWindowCloses() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(50), 100, echo());
+
+        CompletableFuture<String> first = batcher.load("2024-01", "a");
+        CompletableFuture<String> second = batcher.load("2024-01", "b");
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("value-a");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("value-b");
+        assertThat(batches).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void groupsAreBatchedSeparately() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 2, echo());
+
+        final CompletableFuture<String> january = batcher.load("2024-01", "a");
+        final CompletableFuture<String> february = batcher.load("2024-02", "a");
+        assertThat(batches).isEmpty();
+        batcher.load("2024-01", "b");
+        batcher.load("2024-02", "b");
+
+        assertThat(batches).containsExactly(List.of("a", "b"), List.of("a", "b"));
+        assertThat(january.get()).isEqualTo("value-a");
+        assertThat(february.get()).isEqualTo("value-a");
+    }
+
+    @Test
+    void repeatedIdsShareOneEntry() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(20), 100, echo());
+
+        CompletableFuture<String> first = batcher.load("2024-01", "a");
+        CompletableFuture<String> second = batcher.load("2024-01", "a");
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("value-a");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("value-a");
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    void idsMissingFromResponseFail() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 2,
+                (group, ids) -> Map.of("a", "value-a"));
+
+        CompletableFuture<String> present = batcher.load("2024-01", "a");
+        CompletableFuture<String> missing = batcher.load("2024-01", "b");
+
+        assertThat(present.get()).isEqualTo("value-a");
+        assertThatThrownBy(missing::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("b");
+    }
+
+    @Test
+    void loaderErrorFailsEveryWaiter() {
+        IllegalStateException failure = new IllegalStateException("batch endpoint down");
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 2,
+                (group, ids) -> {
+                    throw failure;
+                });
+
+        CompletableFuture<String> first = batcher.load("2024-01", "a");
+        CompletableFuture<String> second = batcher.load("2024-01", "b");
+
+        assertThatThrownBy(first::get).hasCause(failure);
+        assertThatThrownBy(second::get).hasCause(failure);
+    }
+
+    private MicroBatcher<String, String> batcher(
+            Duration window,
+            int maxBatchSize,
+            BiFunction<String, List<String>, Map<String, String>> loader) {
+        return new MicroBatcher<>("test", window, maxBatchSize, (group, ids) -> {
+            batches.add(List.copyOf(ids));
+            return loader.apply(group, ids);
+        }, scheduler, Runnable::run);
+    }
+
+    private static BiFunction<String, List<String>, Map<String, String>> echo() {
+        return (group, ids) -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> "value-" + id));
+    }
+}
@@ -0,0 +1,168 @@
+package com.bm_nttdata.report_ms.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bm_nttdata.report_ms.client.ProductType;
+import com.bm_nttdata.report_ms.config.DailyBalanceCacheProperties;
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DailyBalanceCacheTest {
+
+    private static final LocalDate CLOSED_MONTH = LocalDate.of(2024, 1, 1);
+
+    private final SettlementProperties settlementProperties = new SettlementProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DailyBalanceCache cache = new DailyBalanceCache(new DailyBalanceCacheProperties(),
+            new SettlementCalendar(settlementProperties), meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadsOnceAndServesFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        DailyBalanceSeries series = series("100.00");
+
+        cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> {
+            loads.incrementAndGet();
+            return series;
+        });
+        DailyBalanceSeries cached = cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> {
+            loads.incrementAndGet();
+            return DailyBalanceSeries.EMPTY;
+        });
+
+        assertThat(cached).isSameAs(series);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getIfPresent(ProductType.ACCOUNT, "a1", CLOSED_MONTH)).isSameAs(series);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        IllegalStateException failure = new IllegalStateException("missing from batch");
+
+        assertThatThrownBy(() -> cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(cache.getIfPresent(ProductType.ACCOUNT, "a1", CLOSED_MONTH)).isNull();
+        DailyBalanceSeries series = series("10.00");
+        assertThat(cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> series))
+                .isSameAs(series);
+    }
+
+    @Test
+    void previousMonthStaysShortLivedUntilSettled() {
+        // El último día del mes anterior queda dentro de los días de asentamiento.
+        settlementProperties.setDays(LocalDate.now().getDayOfMonth());
+        LocalDate previousMonth = LocalDate.now().minusMonths(1);
+
+        cache.put(ProductType.ACCOUNT, "a1", previousMonth, series("1.00"));
+        settlementProperties.setDays(LocalDate.now().getDayOfMonth() - 1);
+        cache.put(ProductType.ACCOUNT, "a2", previousMonth, series("2.00"));
+
+        assertThat(cacheSize("current")).isEqualTo(1);
+        assertThat(cacheSize("closed")).isEqualTo(1);
+    }
+
+    @Test
+    void loadFailingWithAnErrorReleasesTheEntry() {
+        AssertionError failure = new AssertionError("loader crashed");
+
+        assertThatThrownBy(() -> cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        DailyBalanceSeries series = series("20.00");
+        assertThat(cache.get(ProductType.ACCOUNT, "a1", CLOSED_MONTH, () -> series))
+                .isSameAs(series);
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        DailyBalanceSeries series = series("5.00");
+
+        final CompletableFuture<DailyBalanceSeries> leader = CompletableFuture.supplyAsync(
+                () -> cache.get(ProductType.CREDIT, "c1", CLOSED_MONTH, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return series;
+                }), executor);
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<DailyBalanceSeries> follower = CompletableFuture.supplyAsync(
+                () -> cache.get(ProductType.CREDIT, "c1", CLOSED_MONTH, () -> {
+                    loads.incrementAndGet();
+                    return DailyBalanceSeries.EMPTY;
+                }), executor);
+
+        // Mientras la carga está en curso, la entrada no se ofrece como presente.
+        assertThat(cache.getIfPresent(ProductType.CREDIT, "c1", CLOSED_MONTH)).isNull();
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isSameAs(series);
+        assertThat(follower.get(1, TimeUnit.SECONDS)).isSameAs(series);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void slowLoadDoesNotBlockOtherEntries() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(
+                () -> cache.get(ProductType.ACCOUNT, "slow", CLOSED_MONTH, () -> {
+                    loading.countDown();
+                    await(release);
+                    return DailyBalanceSeries.EMPTY;
+                }), executor);
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        DailyBalanceSeries series = series("1.00");
+        for (int i = 0; i < 100; i++) {
+            String id = "fast-" + i;
+            assertThat(cache.get(ProductType.ACCOUNT, id, CLOSED_MONTH, () -> series))
+                    .isSameAs(series);
+        }
+        release.countDown();
+    }
+
+    private double cacheSize(String period) {
+        return meterRegistry.get("cache.size").tag("period", period).gauge().value();
+    }
+
+    private static DailyBalanceSeries series(String amount) {
+        return DailyBalanceSeries.of(List.of(new DailyBalanceDto()
+                .balanceDate(CLOSED_MONTH)
+                .balanceAmount(new BigDecimal(amount))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
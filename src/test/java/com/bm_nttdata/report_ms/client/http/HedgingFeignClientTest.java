@@ -0,0 +1,222 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.bm_nttdata.report_ms.config.HedgingProperties;
+import feign.Client;
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class HedgingFeignClientTest {
+
+    private static final String HEDGE_THREAD = "test-hedge";
+    private static final Request.Options OPTIONS = new Request.Options();
+    private static final MethodMetadata METADATA =
+            new Contract.Default().parseAndValidateMetadata(AccountApi.class).get(0);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HedgingProperties properties = new HedgingProperties();
+    private final ExecutorService executor =
+            Executors.newCachedThreadPool(task -> new Thread(task, HEDGE_THREAD));
+    private final AtomicInteger hedges = new AtomicInteger();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private volatile Client primary;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinSamples(1);
+        properties.setWindow(Duration.ZERO);
+        properties.setMinDelay(Duration.ofMillis(20));
+        properties.setMaxDelay(Duration.ofMillis(20));
+        primary = (request, options) -> response(request, "primary");
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fastPrimaryRunsOnCallerThreadWithoutHedge() throws Exception {
+        HedgingFeignClient client = client();
+        warmUp(client);
+
+        final String caller = Thread.currentThread().getName();
+        primary = (request, options) -> {
+            assertThat(Thread.currentThread().getName()).isEqualTo(caller);
+            return response(request, "primary");
+        };
+
+        assertThat(client.execute(request(), OPTIONS).reason()).isEqualTo("primary");
+        Thread.sleep(50);
+        assertThat(hedges).hasValue(0);
+        assertThat(outcome("not_hedged")).isEqualTo(2);
+    }
+
+    @Test
+    void firstSuccessfulResponseWinsAndCancelsPrimary() throws Exception {
+        HedgingFeignClient client = client();
+        warmUp(client);
+
+        // La llamada original solo termina cuando el respaldo la cancela.
+        Call call = mock(Call.class);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(call).cancel();
+        primary = (request, options) -> {
+            InFlightCall.register(call);
+            try {
+                cancelled.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Canceled");
+        };
+
+        Response response = client.execute(request(), OPTIONS);
+
+        assertThat(response.reason()).isEqualTo("hedge");
+        assertThat(cancelled.getCount()).isZero();
+        assertThat(outcome("hedge_won")).isEqualTo(1);
+    }
+
+    @Test
+    void slowPrimaryIsUsedWhenHedgeFails() throws Exception {
+        HedgingFeignClient client = client(request -> {
+            throw new IOException("hedge failed");
+        });
+        warmUp(client);
+        primary = (request, options) -> {
+            awaitHedgeDecision();
+            return response(request, "primary");
+        };
+
+        assertThat(client.execute(request(), OPTIONS).reason()).isEqualTo("primary");
+        assertThat(hedges).hasValue(1);
+    }
+
+    @Test
+    void hedgesStopWhenBudgetIsExhausted() throws Exception {
+        properties.setBudgetRatio(0);
+        properties.setBudgetBurst(1);
+        HedgingFeignClient client = client();
+        warmUp(client);
+        primary = (request, options) -> {
+            awaitHedgeDecision();
+            return response(request, "primary");
+        };
+
+        assertThat(client.execute(request(), OPTIONS).reason()).isEqualTo("hedge");
+        assertThat(client.execute(request(), OPTIONS).reason()).isEqualTo("primary");
+
+        assertThat(hedges).hasValue(1);
+        assertThat(outcome("hedge_won")).isEqualTo(1);
+        assertThat(outcome("budget_exhausted")).isEqualTo(1);
+    }
+
+    private HedgingFeignClient client() {
+        return client(request -> response(request, "hedge"));
+    }
+
+    private HedgingFeignClient client(HedgeResponder hedge) {
+        Client delegate = (request, options) -> {
+            if (Thread.currentThread().getName().equals(HEDGE_THREAD)) {
+                hedges.incrementAndGet();
+                return hedge.respond(request);
+            }
+            return primary.execute(request, options);
+        };
+        @SuppressWarnings("unchecked")
+        ObjectProvider<org.springframework.cloud.client.discovery.DiscoveryClient> discovery =
+                mock(ObjectProvider.class);
+        return new HedgingFeignClient(delegate, properties, executor, discovery, meterRegistry);
+    }
+
+    /**
+     * Registra una latencia para que la operación tenga un umbral de respaldo.
+     */
+    private void warmUp(HedgingFeignClient client) throws IOException {
+        client.execute(request(), OPTIONS);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("report.hedge.requests")
+                .tag("client", "account-ms")
+                .tag("operation", "getAllDailyBalances")
+                .tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static Request request() {
+        String url = "http://account-ms/accounts/balances";
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(METADATA);
+        template.feignTarget(new Target.HardCodedTarget<>(
+                AccountApi.class, "account-ms", "http://account-ms"));
+        return Request.create(Request.HttpMethod.GET, url, Map.of(), null,
+                StandardCharsets.UTF_8, template);
+    }
+
+    private static Response response(Request request, String reason) {
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .reason(reason)
+                .headers(Map.of())
+                .build();
+    }
+
+    /**
+     * Mantiene la llamada original en curso hasta que se envía el respaldo o se descarta
+     * por falta de presupuesto.
+     */
+    private void awaitHedgeDecision() {
+        final int hedgesBefore = hedges.get();
+        final double exhaustedBefore = outcome("budget_exhausted");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (hedges.get() == hedgesBefore && outcome("budget_exhausted") == exhaustedBefore
+                && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface HedgeResponder {
+        Response respond(Request request) throws IOException;
+    }
+
+    private interface AccountApi {
+        @RequestLine("GET /accounts/balances")
+        List<Object> getAllDailyBalances();
+    }
+}
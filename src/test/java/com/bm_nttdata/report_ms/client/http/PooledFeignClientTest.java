@@ -0,0 +1,117 @@
+package com.bm_nttdata.report_ms.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bm_nttdata.report_ms.config.HttpClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PooledFeignClientTest {
+
+    private static final Request.Options OPTIONS =
+            new Request.Options(50, TimeUnit.MILLISECONDS, 5, TimeUnit.SECONDS, false);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void limitsCallsInFlightPerDownstream() throws Exception {
+        PooledFeignClient client = client(1);
+
+        final CompletableFuture<Response> first =
+                CompletableFuture.supplyAsync(() -> call(client, "account-ms"));
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("report.http.pool.in.use").tag("client", "account-ms")
+                .gauge().value()).isEqualTo(1);
+
+        assertThatThrownBy(() -> client.execute(request("account-ms"), OPTIONS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Connection limit reached for account-ms");
+
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS).status()).isEqualTo(200);
+        assertThat(client.execute(request("account-ms"), OPTIONS).status()).isEqualTo(200);
+        assertThat(meterRegistry.get("report.http.pool.in.use").tag("client", "account-ms")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    void downstreamsHaveSeparateLimits() throws Exception {
+        PooledFeignClient client = client(1);
+
+        final CompletableFuture<Response> busy =
+                CompletableFuture.supplyAsync(() -> call(client, "account-ms"));
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final CompletableFuture<Response> other =
+                CompletableFuture.supplyAsync(() -> call(client, "credit-ms"));
+        release.countDown();
+
+        assertThat(other.get(1, TimeUnit.SECONDS).status()).isEqualTo(200);
+        assertThat(busy.get(1, TimeUnit.SECONDS).status()).isEqualTo(200);
+    }
+
+    private PooledFeignClient client(int maxConnections) {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getDefaults().setMaxConnections(maxConnections);
+        return new PooledFeignClient(properties, meterRegistry);
+    }
+
+    private Response call(PooledFeignClient client, String clientName) {
+        try {
+            return client.execute(request(clientName), OPTIONS);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Request request(String clientName) {
+        String url = "http://localhost:" + server.getAddress().getPort();
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(Object.class, clientName, url));
+        return Request.create(Request.HttpMethod.GET, url + "/accounts", Map.of(), null,
+                StandardCharsets.UTF_8, template);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void scopeTakesDeadlineOfOpeningThread() {
+        FanOutExecutor executor = new FanOutExecutor(pool, new FanOutProperties());
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+        FanOutScope scope = deadline.call(executor::openScope);
+
+        assertThat(scope.deadline()).isSameAs(deadline);
+        assertThat(executor.openScope().deadline()).isSameAs(Deadline.NONE);
+    }
+
+    @Test
+    void sequentialModeRunsTasksOnCallerThread() {
+        FanOutProperties properties = new FanOutProperties();
+        properties.setMode(FanOutProperties.Mode.SEQUENTIAL);
+        FanOutExecutor executor = new FanOutExecutor(pool, properties);
+
+        assertThat(executor.openScope().submit(Thread::currentThread))
+                .isCompletedWithValue(Thread.currentThread());
+    }
+
+    @Test
+    void parallelModeRunsTasksOnPool() {
+        FanOutExecutor executor = new FanOutExecutor(pool, new FanOutProperties());
+
+        Thread worker = FanOutScope.await(executor.openScope().submit(Thread::currentThread));
+
+        assertThat(worker).isNotSameAs(Thread.currentThread());
+    }
+}
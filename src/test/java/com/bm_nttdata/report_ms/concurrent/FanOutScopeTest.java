@@ -0,0 +1,206 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutScopeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void limitsTasksInFlight() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        FanOutScope scope = FanOutScope.parallel(executor, 2, Deadline.NONE);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            futures.add(scope.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        assertThat(futures.stream().map(FanOutScope::await).toList())
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void mapOrderedKeepsInputOrder() {
+        FanOutScope scope = FanOutScope.parallel(executor, 4, Deadline.NONE);
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        List<Integer> results = FanOutScope.await(scope.mapOrdered(items, item -> {
+            // Los primeros elementos terminan al final.
+            sleep(20 - item);
+            return item * 10;
+        }));
+
+        assertThat(results).isEqualTo(items.stream().map(item -> item * 10).toList());
+    }
+
+    @Test
+    void awaitPropagatesOriginalException() {
+        FanOutScope scope = FanOutScope.parallel(executor, 2, Deadline.NONE);
+        IllegalStateException failure = new IllegalStateException("downstream failed");
+
+        CompletableFuture<Object> future = scope.submit(() -> {
+            throw failure;
+        });
+
+        assertThatThrownBy(() -> FanOutScope.await(future)).isSameAs(failure);
+    }
+
+    @Test
+    void mapOrderedFailsWhenAnyTaskFails() {
+        FanOutScope scope = FanOutScope.parallel(executor, 2, Deadline.NONE);
+
+        CompletableFuture<List<Integer>> results = scope.mapOrdered(List.of(1, 2, 3), item -> {
+            if (item == 2) {
+                throw new IllegalArgumentException("item " + item);
+            }
+            return item;
+        });
+
+        assertThatThrownBy(results::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectedTasksFailAndReleaseTheirPlace() {
+        AtomicInteger launches = new AtomicInteger();
+        // Rechaza la primera y la tercera tarea, como un pool saturado.
+        Executor saturated = command -> {
+            if (launches.incrementAndGet() % 2 == 1) {
+                throw new RejectedExecutionException("queue full");
+            }
+            executor.execute(command);
+        };
+        FanOutScope scope = FanOutScope.parallel(saturated, 1, Deadline.NONE);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int value = i;
+            futures.add(scope.submit(() -> value));
+        }
+
+        assertThatThrownBy(() -> FanOutScope.await(futures.get(0)))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("saturated");
+        assertThat(FanOutScope.await(futures.get(1))).isEqualTo(1);
+        assertThatThrownBy(() -> FanOutScope.await(futures.get(2)))
+                .isInstanceOf(ServiceException.class);
+        assertThat(FanOutScope.await(futures.get(3))).isEqualTo(3);
+    }
+
+    @Test
+    void sequentialScopeRunsOnCallerThread() {
+        FanOutScope scope = FanOutScope.sequential(Deadline.NONE);
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> future = scope.submit(Thread::currentThread);
+
+        assertThat(future).isCompletedWithValue(caller);
+    }
+
+    @Test
+    void closeCancelsPendingTasksAndLetsRunningOnesFinish() throws InterruptedException {
+        FanOutScope scope = FanOutScope.parallel(executor, 1, Deadline.NONE);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean pendingRan = new AtomicBoolean();
+
+        final CompletableFuture<String> running = scope.submit(() -> {
+            started.countDown();
+            await(release);
+            return "done";
+        });
+        final CompletableFuture<String> pending = scope.submit(() -> {
+            pendingRan.set(true);
+            return "pending";
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        scope.close();
+        release.countDown();
+
+        assertThat(FanOutScope.await(running)).isEqualTo("done");
+        assertThat(pending).isCancelled();
+        assertThat(scope.submit(() -> "late")).isCancelled();
+        assertThat(pendingRan).isFalse();
+    }
+
+    @Test
+    void tasksRunWithScopeDeadline() {
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+        FanOutScope scope = FanOutScope.parallel(executor, 2, deadline);
+
+        assertThat(FanOutScope.await(scope.submit(Deadline::current))).isSameAs(deadline);
+    }
+
+    @Test
+    void tasksAreNotRunAfterDeadlineExpires() {
+        AtomicBoolean ran = new AtomicBoolean();
+        FanOutScope scope = FanOutScope.parallel(executor, 2, Deadline.after(Duration.ZERO));
+
+        CompletableFuture<Boolean> future = scope.submit(() -> ran.getAndSet(true));
+
+        assertThatThrownBy(() -> FanOutScope.await(future))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void awaitStopsWhenCallerDeadlineExpires() {
+        CompletableFuture<String> never = new CompletableFuture<>();
+
+        assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(50))
+                .call(() -> FanOutScope.await(never)))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.bm_nttdata.report_ms.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight =
+            new SingleFlight<>("test", 10, meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsShareOneComputation() throws Exception {
+        final CompletableFuture<String> leader = async(() -> singleFlight.execute("key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "report";
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<String> waiter = async(() -> singleFlight.execute("key", () -> {
+            computations.incrementAndGet();
+            return "other";
+        }));
+        awaitShared(1);
+
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("report");
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo("report");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void failureIsDeliveredToEveryWaiter() throws Exception {
+        IllegalStateException failure = new IllegalStateException("downstream failed");
+        final CompletableFuture<String> leader = async(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<String> waiter =
+                async(() -> singleFlight.execute("key", () -> "other"));
+        awaitShared(1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> waiter.get(1, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    void keyIsReleasedAfterCompletion() {
+        assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute("key", () -> "third")).isEqualTo("third");
+
+        assertThat(meterRegistry.get("report.single.flight.in.flight").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void waiterStopsAtItsOwnDeadline() throws Exception {
+        final CompletableFuture<String> leader = async(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "report";
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(50))
+                .call(() -> singleFlight.execute("key", () -> "other")))
+                .isInstanceOf(DeadlineExceededException.class);
+
+        release.countDown();
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("report");
+    }
+
+    @Test
+    void waiterRetriesWhenOnlyTheLeaderDeadlineExpired() throws Exception {
+        final CompletableFuture<String> leader = async(() -> singleFlight.execute("key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            throw new DeadlineExceededException("leader deadline exceeded");
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // Un proceso sin plazo, como un trabajo en segundo plano, se une al cálculo.
+        final CompletableFuture<String> waiter = async(() -> singleFlight.execute("key", () -> {
+            computations.incrementAndGet();
+            return "report";
+        }));
+        awaitShared(1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo("report");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void requestsBypassSharingWhenLimitIsReached() throws Exception {
+        SingleFlight<String, String> bounded = new SingleFlight<>("bounded", 1, meterRegistry);
+        final CompletableFuture<String> leader = async(() -> bounded.execute("first", () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(bounded.execute("second", () -> "second")).isEqualTo("second");
+
+        release.countDown();
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(meterRegistry.get("report.single.flight.requests")
+                .tag("name", "bounded").tag("outcome", "bypassed").counter().count())
+                .isEqualTo(1);
+    }
+
+    private CompletableFuture<String> async(Supplier<String> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private void awaitShared(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("report.single.flight.requests")
+                .tag("name", "test").tag("outcome", "shared").counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bm_nttdata.report_ms.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DailyBalanceSeriesTest {
+
+    private static final String DENSE = """
+            [{"balanceDate":"2024-01-01","balanceAmount":100.5},
+             {"balanceDate":"2024-01-02","balanceAmount":200},
+             {"balanceDate":"2024-01-03","balanceAmount":-0.25,"currency":"PEN"}]
+            """;
+    private static final String SPARSE = """
+            [{"balanceDate":"2024-01-10","balanceAmount":"12.30"},
+             {"balanceDate":"2024-01-01","balanceAmount":1},
+             {"balanceDate":null,"balanceAmount":3},
+             {"balanceAmount":4}]
+            """;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    void decodesDenseSeriesIntoUnscaledAmounts() throws Exception {
+        DailyBalanceSeries series = objectMapper.readValue(DENSE, DailyBalanceSeries.class);
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.hasUnscaledAmounts()).isTrue();
+        assertThat(series.scale()).isEqualTo(2);
+        assertThat(series.unscaledAmount(0)).isEqualTo(10050);
+        assertThat(series.unscaledAmount(1)).isEqualTo(20000);
+        assertThat(series.unscaledAmount(2)).isEqualTo(-25);
+        assertThat(series.date(0)).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(series.date(2)).isEqualTo(LocalDate.of(2024, 1, 3));
+        assertThat(series.amount(0)).isEqualTo(new BigDecimal("100.50"));
+    }
+
+    @Test
+    void decodesSparseSeriesWithMissingDates() throws Exception {
+        DailyBalanceSeries series = objectMapper.readValue(SPARSE, DailyBalanceSeries.class);
+
+        assertThat(series.size()).isEqualTo(4);
+        assertThat(series.hasUnscaledAmounts()).isTrue();
+        assertThat(series.date(0)).isEqualTo(LocalDate.of(2024, 1, 10));
+        assertThat(series.date(1)).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(series.date(2)).isNull();
+        assertThat(series.date(3)).isNull();
+        assertThat(series.amount(0)).isEqualTo(new BigDecimal("12.30"));
+        assertThat(series.amount(3)).isEqualTo(new BigDecimal("4.00"));
+    }
+
+    @Test
+    void nullAndEmptyInputDecodeToEmptySeries() throws Exception {
+        assertThat(objectMapper.readValue("[]", DailyBalanceSeries.class).size()).isZero();
+        assertThat(objectMapper.readValue("null", DailyBalanceSeries.class))
+                .isSameAs(DailyBalanceSeries.EMPTY);
+        assertThat(objectMapper.readValue("{\"dailyBalances\":null}", Holder.class)
+                .dailyBalances).isSameAs(DailyBalanceSeries.EMPTY);
+    }
+
+    @Test
+    void promotesAmountsThatDoNotFitInLong() throws Exception {
+        DailyBalanceSeries series = objectMapper.readValue("""
+                [{"balanceDate":"2024-01-01","balanceAmount":1.5},
+                 {"balanceDate":"2024-01-02","balanceAmount":123456789012345678901234.5},
+                 {"balanceDate":"2024-01-03","balanceAmount":null}]
+                """, DailyBalanceSeries.class);
+
+        assertThat(series.hasUnscaledAmounts()).isFalse();
+        assertThat(series.amount(0)).isEqualByComparingTo("1.5");
+        assertThat(series.amount(1)).isEqualTo(new BigDecimal("123456789012345678901234.5"));
+        assertThat(series.amount(2)).isNull();
+    }
+
+    @Test
+    void viewMatchesListDecoding() throws Exception {
+        for (String json : List.of(DENSE, SPARSE)) {
+            List<DailyBalanceDto> expected =
+                    objectMapper.readValue(json, new TypeReference<List<DailyBalanceDto>>() { });
+
+            List<DailyBalanceDto> decoded =
+                    objectMapper.readValue(json, DailyBalanceSeries.class).asDailyBalances();
+
+            assertThat(decoded).usingRecursiveComparison()
+                    .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                    .isEqualTo(expected);
+            assertThat(DailyBalanceSeries.of(expected).asDailyBalances())
+                    .usingRecursiveComparison()
+                    .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                    .isEqualTo(expected);
+        }
+    }
+
+    private static final class Holder {
+        public DailyBalanceSeries dailyBalances;
+    }
+}
@@ -0,0 +1,158 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.config.BalanceReportBatchProperties;
+import com.bm_nttdata.report_ms.exception.ApiInvalidRequestException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.service.ReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BalanceReportBatchServiceImplTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2024, 1, 1);
+
+    private final ReportService reportService = mock(ReportService.class);
+    private final BalanceReportBatchProperties properties = new BalanceReportBatchProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private BalanceReportBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setParallelism(2);
+        service = newService(executor);
+        when(reportService.generateDailyBalanceReport(
+                anyString(), eq(MONTH), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> new DailyBalanceReportDto()
+                        .customerId(invocation.getArgument(0))
+                        .month(MONTH));
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void failingCustomerIsReportedWhileTheOthersComplete() {
+        when(reportService.generateDailyBalanceReport(
+                eq("c2"), eq(MONTH), any(), anyBoolean(), any()))
+                .thenThrow(new ServiceException("credits unavailable"));
+
+        List<DailyBalanceReportBatchRecordDto> records = stream(request("c1", "c2", "c3"));
+
+        assertThat(records).extracting(DailyBalanceReportBatchRecordDto::getCustomerId)
+                .containsExactly("c1", "c2", "c3");
+        assertThat(records).extracting(DailyBalanceReportBatchRecordDto::getStatus)
+                .containsExactly(
+                        DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE,
+                        DailyBalanceReportBatchRecordDto.StatusEnum.FAILED,
+                        DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE);
+        assertThat(records.get(1).getError()).isEqualTo("credits unavailable");
+        assertThat(records.get(1).getReport()).isNull();
+        assertThat(records.get(2).getReport().getCustomerId()).isEqualTo("c3");
+    }
+
+    @Test
+    void customerExceedingItsTimeoutIsReportedAsFailed() {
+        properties.setCustomerTimeout(Duration.ofMillis(50));
+        when(reportService.generateDailyBalanceReport(
+                eq("slow"), eq(MONTH), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    // El reporte comprueba su plazo entre etapas, como el camino real.
+                    TimeUnit.MILLISECONDS.sleep(200);
+                    Deadline.current().check("accounts");
+                    return new DailyBalanceReportDto().customerId("slow");
+                });
+
+        List<DailyBalanceReportBatchRecordDto> records = stream(request("slow", "c1"));
+
+        assertThat(records.get(0).getStatus())
+                .isEqualTo(DailyBalanceReportBatchRecordDto.StatusEnum.FAILED);
+        assertThat(records.get(0).getError()).isEqualTo("Request deadline exceeded");
+        assertThat(records.get(1).getStatus())
+                .isEqualTo(DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE);
+    }
+
+    @Test
+    void batchOverMaxCustomersIsRejectedBeforeTheFirstRecord() {
+        properties.setMaxCustomers(2);
+        List<DailyBalanceReportBatchRecordDto> records = new ArrayList<>();
+
+        assertThatThrownBy(() -> service.streamDailyBalanceReports(
+                request("c1", "c2", "c3"), records::add))
+                .isInstanceOf(ApiInvalidRequestException.class)
+                .hasMessageContaining("at most 2");
+
+        assertThat(records).isEmpty();
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void repeatedCustomersAreGeneratedOnce() {
+        List<DailyBalanceReportBatchRecordDto> records = stream(request("c1", "c2", "c1"));
+
+        assertThat(records).extracting(DailyBalanceReportBatchRecordDto::getCustomerId)
+                .containsExactly("c1", "c2");
+    }
+
+    @Test
+    void customerRejectedBySaturatedWorkersIsReportedAsFailed() {
+        service = newService(task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        List<DailyBalanceReportBatchRecordDto> records = stream(request("c1"));
+
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.getStatus())
+                    .isEqualTo(DailyBalanceReportBatchRecordDto.StatusEnum.FAILED);
+            assertThat(record.getError()).isEqualTo("Batch workers are saturated");
+        });
+        verifyNoInteractions(reportService);
+    }
+
+    private BalanceReportBatchServiceImpl newService(Executor workers) {
+        return new BalanceReportBatchServiceImpl(reportService, mock(CustomerClient.class),
+                workers, properties, new ReportMetrics(new SimpleMeterRegistry()));
+    }
+
+    private List<DailyBalanceReportBatchRecordDto> stream(
+            DailyBalanceReportBatchRequestDto request) {
+        List<DailyBalanceReportBatchRecordDto> records = new ArrayList<>();
+        service.streamDailyBalanceReports(request, records::add);
+        return records;
+    }
+
+    private static DailyBalanceReportBatchRequestDto request(String... customerIds) {
+        return new DailyBalanceReportBatchRequestDto()
+                .customerIds(List.of(customerIds))
+                .month(MONTH);
+    }
+}
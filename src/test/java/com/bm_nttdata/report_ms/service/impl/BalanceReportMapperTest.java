@@ -0,0 +1,122 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditBalanceDto;
+import com.bm_nttdata.report_ms.model.CreditCardBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoCredits;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+
+class BalanceReportMapperTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2024, 1, 1);
+
+    private final BalanceReportMapper mapper = new BalanceReportMapper(
+            new AggregationKernel(new AggregationProperties()),
+            new ReportMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void summaryOfSnapshotKeepsOnlyRequestedSectionsWithoutDailyBalances() {
+        DailyBalanceReportDto report = mapper.fromSnapshot(snapshot(), MONTH.plusDays(14),
+                EnumSet.of(ReportSection.CUSTOMER, ReportSection.CREDITS), ReportView.SUMMARY);
+
+        assertThat(report.getMonth()).isEqualTo(MONTH.plusDays(14));
+        assertThat(report.getCustomerName()).isEqualTo("Ana");
+        assertThat(report.getAccounts()).isNull();
+        assertThat(report.getCredits().getCreditCards()).isNull();
+        CreditBalanceDto credit = report.getCredits().getCredits().get(0);
+        assertThat(credit.getDailyBalances()).isNull();
+        assertThat(credit.getAverageDailyBalance()).isEqualByComparingTo("500.00");
+        assertThat(report.getSections())
+                .extracting(ReportSectionStatusDto::getSection, ReportSectionStatusDto::getStatus)
+                .containsExactly(
+                        status(ReportSection.CUSTOMER, ReportSectionStatusDto.StatusEnum.COMPLETE),
+                        status(ReportSection.ACCOUNTS,
+                                ReportSectionStatusDto.StatusEnum.NOT_REQUESTED),
+                        status(ReportSection.CREDITS, ReportSectionStatusDto.StatusEnum.COMPLETE),
+                        status(ReportSection.CREDIT_CARDS,
+                                ReportSectionStatusDto.StatusEnum.NOT_REQUESTED));
+    }
+
+    @Test
+    void fullSnapshotKeepsDailyBalancesAndDropsUnrequestedCustomer() {
+        DailyBalanceReportDto report = mapper.fromSnapshot(snapshot(), MONTH,
+                EnumSet.of(ReportSection.ACCOUNTS, ReportSection.CREDIT_CARDS),
+                ReportView.FULL);
+
+        assertThat(report.getCustomerName()).isNull();
+        assertThat(report.getCustomerType()).isNull();
+        assertThat(report.getAccounts().getSavings().get(0).getDailyBalances()).hasSize(1);
+        assertThat(report.getCredits().getCredits()).isNull();
+        assertThat(report.getCredits().getCreditCards().get(0).getDailyBalances()).hasSize(1);
+    }
+
+    @Test
+    void summaryOfSnapshotDropsAccountDailyBalances() {
+        DailyBalanceReportDto report = mapper.fromSnapshot(snapshot(), MONTH,
+                EnumSet.allOf(ReportSection.class), ReportView.SUMMARY);
+
+        AccountBalanceDto savings = report.getAccounts().getSavings().get(0);
+        assertThat(savings.getDailyBalances()).isNull();
+        assertThat(savings.getAverageBalance()).isEqualByComparingTo("100.00");
+        assertThat(report.getCredits().getCreditCards().get(0).getDailyBalances()).isNull();
+    }
+
+    private static Tuple status(
+            ReportSection section, ReportSectionStatusDto.StatusEnum status) {
+        return tuple(section, status);
+    }
+
+    private static DailyBalanceReportDto snapshot() {
+        DailyBalanceReportDtoAccounts accounts = new DailyBalanceReportDtoAccounts();
+        accounts.setSavings(List.of(new AccountBalanceDto()
+                .accountId("a1")
+                .accountType(AccountBalanceDto.AccountTypeEnum.SAVINGS)
+                .dailyBalances(daily("100.00"))
+                .averageBalance(new BigDecimal("100.00"))));
+        accounts.setChecking(new ArrayList<>());
+        accounts.setFixedTerm(new ArrayList<>());
+        accounts.setSavingsVip(new ArrayList<>());
+        accounts.setCheckingPyme(new ArrayList<>());
+        DailyBalanceReportDtoCredits credits = new DailyBalanceReportDtoCredits()
+                .credits(List.of(new CreditBalanceDto()
+                        .creditId("cr1")
+                        .dailyBalances(daily("500.00"))
+                        .averageDailyBalance(new BigDecimal("500.00"))))
+                .creditCards(List.of(new CreditCardBalanceDto()
+                        .creditCardId("cc1")
+                        .dailyBalances(daily("20.00"))
+                        .averageDailyBalance(new BigDecimal("20.00"))));
+        return new DailyBalanceReportDto()
+                .customerId("c1")
+                .customerName("Ana")
+                .customerType("PERSONAL")
+                .month(MONTH)
+                .accounts(accounts)
+                .credits(credits);
+    }
+
+    private static List<DailyBalanceDto> daily(String amount) {
+        return List.of(new DailyBalanceDto()
+                .balanceDate(MONTH)
+                .balanceAmount(new BigDecimal(amount)));
+    }
+}
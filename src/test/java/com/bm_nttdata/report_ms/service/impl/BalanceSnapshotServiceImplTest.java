@@ -0,0 +1,109 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.config.BalanceSnapshotProperties;
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRecordDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportBatchRequestDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.service.BalanceReportBatchService;
+import com.bm_nttdata.report_ms.store.BalanceSnapshotStore;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BalanceSnapshotServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private final CustomerClient customerClient = mock(CustomerClient.class);
+    private final BalanceReportBatchService balanceReportBatchService =
+            mock(BalanceReportBatchService.class);
+    private final BalanceSnapshotProperties properties = new BalanceSnapshotProperties();
+    private final SettlementProperties settlementProperties = new SettlementProperties();
+    private BalanceSnapshotStore store;
+    private BalanceSnapshotServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setReportsPerSecond(0);
+        settlementProperties.setDays(1);
+        store = new BalanceSnapshotStore(new ObjectMapper().findAndRegisterModules(), properties);
+        store.init();
+        service = new BalanceSnapshotServiceImpl(customerClient, balanceReportBatchService,
+                store, properties, new SettlementCalendar(settlementProperties));
+    }
+
+    @Test
+    void completedChunksSurviveLaterFailures() {
+        List<String> customerIds = IntStream.range(0, 150).mapToObj(i -> "c" + i).toList();
+        when(customerClient.getCustomers()).thenReturn(customerIds.stream()
+                .map(id -> CustomerDto.builder().id(id).build())
+                .toList());
+        doAnswer(invocation -> {
+            DailyBalanceReportBatchRequestDto request = invocation.getArgument(0);
+            Consumer<DailyBalanceReportBatchRecordDto> sink = invocation.getArgument(1);
+            for (String customerId : request.getCustomerIds()) {
+                if (customerId.equals("c120")) {
+                    throw new ServiceException("downstream unavailable");
+                }
+                sink.accept(new DailyBalanceReportBatchRecordDto()
+                        .customerId(customerId)
+                        .status(DailyBalanceReportBatchRecordDto.StatusEnum.COMPLETE)
+                        .report(new DailyBalanceReportDto().customerId(customerId)));
+            }
+            return null;
+        }).when(balanceReportBatchService).streamDailyBalanceReports(any(), any());
+
+        service.precomputeClosedMonth();
+
+        YearMonth month = lastClosedMonth();
+        assertThat(store.contains("c0", month)).isTrue();
+        assertThat(store.contains("c99", month)).isTrue();
+        assertThat(store.contains("c100", month)).isFalse();
+        assertThat(store.contains("c149", month)).isFalse();
+    }
+
+    @Test
+    void monthsOutsideTheRetentionAreEvicted() {
+        properties.setRetainedMonths(2);
+        YearMonth month = lastClosedMonth();
+        for (YearMonth stored : List.of(month.minusMonths(2), month.minusMonths(1))) {
+            try (BalanceSnapshotStore.SegmentWriter segment = store.openSegment(stored)) {
+                segment.append("c1", new DailyBalanceReportDto().customerId("c1"));
+                segment.commit();
+            }
+        }
+        when(customerClient.getCustomers()).thenReturn(List.of());
+
+        service.precomputeClosedMonth();
+
+        assertThat(store.contains("c1", month.minusMonths(2))).isFalse();
+        assertThat(store.contains("c1", month.minusMonths(1))).isTrue();
+    }
+
+    private static YearMonth lastClosedMonth() {
+        // Con un día de asentamiento, el mes anterior cierra al terminar el día 1.
+        return YearMonth.from(LocalDate.now().minusDays(1)).minusMonths(1);
+    }
+}
@@ -0,0 +1,257 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.aggregation.MoneyAccumulator;
+import com.bm_nttdata.report_ms.client.CloseableIterator;
+import com.bm_nttdata.report_ms.client.ProductDataGateway;
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import com.bm_nttdata.report_ms.config.FeeCollectionProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FeeCollectionEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    private static final List<AccountDto> FIXTURE_ACCOUNTS = List.of(
+            account("s1", "SAVINGS"), account("c1", "CHECKING"), account("s2", "SAVINGS"),
+            account("l1", "LOAN"), account("f1", "FIXED_TERM"), account("v1", "SAVINGS_VIP"),
+            account("p1", "CHECKING_PYME"), account("s3", "SAVINGS"), account("c2", "CHECKING"));
+
+    private final ProductDataGateway productDataGateway = mock(ProductDataGateway.class);
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private FeeCollectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        FeeCollectionProperties properties = new FeeCollectionProperties();
+        properties.setParallelism(2);
+        engine = new FeeCollectionEngine(productDataGateway,
+                new FanOutExecutor(pool, new FanOutProperties()), properties,
+                new AggregationKernel(new AggregationProperties()));
+        when(productDataGateway.getAccountFees(anyString(), any(), any())).thenReturn(
+                List.of(new FeeDetailDto().date(START).feeAmount(new BigDecimal("1.00"))));
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void streamClosesAccountTraversalWhenTheSinkFails() {
+        TrackedAccounts accounts = new TrackedAccounts(account("a1"), account("a2"),
+                account("a3"), account("a4"));
+
+        assertThatThrownBy(() -> engine.stream(accounts, START, END, accountFee -> {
+            throw new IllegalStateException("client disconnected");
+        })).isInstanceOf(ServiceException.class);
+
+        assertThat(accounts.closed).isTrue();
+    }
+
+    @Test
+    void collectClosesAccountTraversal() {
+        TrackedAccounts accounts = new TrackedAccounts(account("a1"), account("a2"));
+
+        engine.collect(accounts, START, END, (completed, total) -> { });
+
+        assertThat(accounts.closed).isTrue();
+    }
+
+    @Test
+    void collectMatchesTheOriginalReportForFixedFixture() {
+        Map<String, List<FeeDetailDto>> fees = new LinkedHashMap<>();
+        fees.put("s1", fees(fee(START, "10.25"), fee(END, "0.75")));
+        fees.put("c1", fees(fee(START.plusDays(3), "3.10")));
+        fees.put("s2", fees(fee(null, "4.40"), fee(START.plusDays(9), "1.05")));
+        fees.put("l1", fees(fee(START, "99.99")));
+        fees.put("f1", fees(fee(START.plusDays(14), "12.00")));
+        fees.put("v1", fees(fee(null, "0.01"), fee(null, "0.02"), fee(END, "7.77")));
+        fees.put("p1", fees(fee(START.plusDays(1), "25.50")));
+        fees.put("s3", fees());
+        fees.put("c2", fees(fee(START.plusDays(20), "2.90"), fee(null, "0.10")));
+        fees.forEach((accountId, accountFees) -> when(
+                productDataGateway.getAccountFees(eq(accountId), any(), any()))
+                .thenReturn(accountFees));
+
+        BankFeeReportDtoAccountFees accountFees =
+                engine.collect(FIXTURE_ACCOUNTS, START, END, (completed, total) -> { });
+
+        assertMatchesOriginal(accountFees, fees);
+        assertThat(ids(accountFees.getSavings())).containsExactly("s1", "s2");
+        assertThat(ids(accountFees.getChecking())).containsExactly("c1", "c2");
+        assertThat(totalFeeAmount(accountFees)).isEqualByComparingTo("67.85");
+    }
+
+    @Test
+    void collectSkipsNullAmountsThatTheOriginalReportRejected() {
+        when(productDataGateway.getAccountFees(eq("s1"), any(), any()))
+                .thenReturn(fees(fee(START, "5.00"), fee(START.plusDays(1), null)));
+        when(productDataGateway.getAccountFees(eq("c1"), any(), any()))
+                .thenReturn(fees(fee(null, "2.50")));
+
+        BankFeeReportDtoAccountFees accountFees = engine.collect(
+                List.of(account("s1", "SAVINGS"), account("c1", "CHECKING")),
+                START, END, (completed, total) -> { });
+
+        AccountFeeDto savings = accountFees.getSavings().get(0);
+        assertThat(savings.getNumberOfFees()).isEqualTo(2);
+        assertThat(savings.getTotalFees()).isEqualByComparingTo("5.00");
+        assertThat(totalFeeAmount(accountFees)).isEqualByComparingTo("7.50");
+        assertThatThrownBy(() -> originalTotal(savings.getFeeDetails()))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    /**
+     * Compara el resultado con el cálculo del reporte original: cuentas agrupadas por tipo
+     * en el orden de entrada, sin las cuentas sin comisiones y con sumas exactas.
+     */
+    private void assertMatchesOriginal(
+            BankFeeReportDtoAccountFees accountFees, Map<String, List<FeeDetailDto>> fees) {
+        List<List<AccountFeeDto>> groups = List.of(accountFees.getSavings(),
+                accountFees.getChecking(), accountFees.getFixedTerm(),
+                accountFees.getSavingsVip(), accountFees.getCheckingPyme());
+        AccountFeeDto.AccountTypeEnum[] accountTypes = AccountFeeDto.AccountTypeEnum.values();
+        BigDecimal originalTotalFeeAmount = BigDecimal.ZERO;
+        for (int i = 0; i < accountTypes.length; i++) {
+            List<AccountFeeDto> expected = originalAccountFees(accountTypes[i], fees);
+            List<AccountFeeDto> actual = groups.get(i);
+            assertThat(ids(actual)).isEqualTo(ids(expected));
+            for (int j = 0; j < expected.size(); j++) {
+                assertThat(actual.get(j).getAccountType()).isEqualTo(accountTypes[i]);
+                assertThat(actual.get(j).getCustomerId()).isEqualTo("c1");
+                assertThat(actual.get(j).getFeeDetails())
+                        .isEqualTo(expected.get(j).getFeeDetails());
+                assertThat(actual.get(j).getNumberOfFees())
+                        .isEqualTo(expected.get(j).getNumberOfFees());
+                assertThat(actual.get(j).getTotalFees())
+                        .isEqualByComparingTo(expected.get(j).getTotalFees());
+                originalTotalFeeAmount = originalTotalFeeAmount.add(
+                        originalTotal(expected.get(j).getFeeDetails()));
+            }
+        }
+        assertThat(totalFeeAmount(accountFees)).isEqualByComparingTo(originalTotalFeeAmount);
+    }
+
+    private static List<AccountFeeDto> originalAccountFees(
+            AccountFeeDto.AccountTypeEnum accountType, Map<String, List<FeeDetailDto>> fees) {
+        List<AccountFeeDto> accountFees = new ArrayList<>();
+        for (AccountDto account : FIXTURE_ACCOUNTS) {
+            List<FeeDetailDto> feeList = fees.get(account.getId());
+            if (account.getAccountType().equals(accountType.getValue()) && !feeList.isEmpty()) {
+                accountFees.add(new AccountFeeDto()
+                        .accountId(account.getId())
+                        .feeDetails(feeList)
+                        .numberOfFees(feeList.size())
+                        .totalFees(originalTotal(feeList)));
+            }
+        }
+        return accountFees;
+    }
+
+    private static BigDecimal originalTotal(List<FeeDetailDto> feeList) {
+        return feeList.stream()
+                .map(FeeDetailDto::getFeeAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Suma los montos de todas las comisiones como lo hace el servicio de reportes.
+     */
+    private static BigDecimal totalFeeAmount(BankFeeReportDtoAccountFees accountFees) {
+        MoneyAccumulator accumulator =
+                new AggregationKernel(new AggregationProperties()).accumulator();
+        for (List<AccountFeeDto> group : List.of(accountFees.getSavings(),
+                accountFees.getChecking(), accountFees.getFixedTerm(),
+                accountFees.getSavingsVip(), accountFees.getCheckingPyme())) {
+            for (AccountFeeDto accountFee : group) {
+                accountFee.getFeeDetails().forEach(fee -> accumulator.add(fee.getFeeAmount()));
+            }
+        }
+        return accumulator.sum();
+    }
+
+    private static List<String> ids(List<AccountFeeDto> accountFees) {
+        return accountFees.stream().map(AccountFeeDto::getAccountId).toList();
+    }
+
+    private static List<FeeDetailDto> fees(FeeDetailDto... fees) {
+        return Arrays.asList(fees);
+    }
+
+    private static FeeDetailDto fee(LocalDate date, String amount) {
+        return new FeeDetailDto().date(date)
+                .feeAmount(amount == null ? null : new BigDecimal(amount));
+    }
+
+    private static AccountDto account(String id) {
+        return account(id, "SAVINGS");
+    }
+
+    private static AccountDto account(String id, String accountType) {
+        return AccountDto.builder().id(id).customerId("c1").accountType(accountType).build();
+    }
+
+    /**
+     * Cuentas cuyo recorrido registra si se cerró.
+     */
+    private static final class TrackedAccounts implements Iterable<AccountDto> {
+
+        private final List<AccountDto> accounts;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private TrackedAccounts(AccountDto... accounts) {
+            this.accounts = List.of(accounts);
+        }
+
+        @Override
+        public Iterator<AccountDto> iterator() {
+            Iterator<AccountDto> delegate = accounts.iterator();
+            return new CloseableIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !closed.get() && delegate.hasNext();
+                }
+
+                @Override
+                public AccountDto next() {
+                    return delegate.next();
+                }
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            };
+        }
+    }
+}
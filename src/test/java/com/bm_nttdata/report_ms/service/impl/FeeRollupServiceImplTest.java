@@ -0,0 +1,152 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.client.ActiveAccountSource;
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.config.FeeRollupProperties;
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.FeeRollupDto;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.AccountTypeFeeSummaryDto;
+import com.bm_nttdata.report_ms.model.BankFeeSummaryDto;
+import com.bm_nttdata.report_ms.model.FeeDetailDto;
+import com.bm_nttdata.report_ms.store.FeeRollupStore;
+import com.bm_nttdata.report_ms.store.SettlementCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FeeRollupServiceImplTest {
+
+    private final ActiveAccountSource activeAccountSource = mock(ActiveAccountSource.class);
+    private final FeeCollectionEngine feeCollectionEngine = mock(FeeCollectionEngine.class);
+    private final FeeRollupStore feeRollupStore = mock(FeeRollupStore.class);
+    private final FeeRollupProperties properties = new FeeRollupProperties();
+    private final SettlementProperties settlementProperties = new SettlementProperties();
+    private final FeeRollupServiceImpl service = new FeeRollupServiceImpl(
+            activeAccountSource, feeCollectionEngine, feeRollupStore, properties,
+            new SettlementCalendar(settlementProperties),
+            new AggregationKernel(new AggregationProperties()),
+            new ReportMetrics(new SimpleMeterRegistry()));
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        settlementProperties.setDays(1);
+        when(activeAccountSource.activeAccounts(any())).thenReturn(List.<AccountDto>of());
+        when(feeRollupStore.find(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void skipsUndatedFeesAndRoundsLikeTheFeeReport() {
+        LocalDate day = LocalDate.now().minusDays(2);
+        streamFees(new AccountFeeDto()
+                .accountId("a1")
+                .accountType(AccountFeeDto.AccountTypeEnum.SAVINGS)
+                .feeDetails(List.of(
+                        fee(day, "0.005"), fee(day, "0.005"), fee(null, "100.00"))));
+
+        BankFeeSummaryDto summary = service.getBankFeesSummary(day, day);
+
+        AccountTypeFeeSummaryDto savings = summary.getAccountTypes().get(0);
+        assertThat(savings.getAccountType())
+                .isEqualTo(AccountTypeFeeSummaryDto.AccountTypeEnum.SAVINGS);
+        assertThat(savings.getTotalFeesAmount()).isEqualByComparingTo("0.01");
+        assertThat(savings.getTotalFeesAmount().scale()).isEqualTo(2);
+        assertThat(savings.getTotalFeesNumber()).isEqualTo(2L);
+        assertThat(summary.getTotalFeesAmount()).isEqualTo(new BigDecimal("0.01"));
+        assertThat(summary.getTotalFeesNumber()).isEqualTo(2L);
+    }
+
+    @Test
+    void storesOnlyTheMostRecentMissingDays() {
+        properties.setFillMaxDays(2);
+        LocalDate startDate = LocalDate.now().minusDays(6);
+        LocalDate endDate = LocalDate.now().minusDays(2);
+        streamFees();
+
+        BankFeeSummaryDto summary = service.getBankFeesSummary(startDate, endDate);
+
+        ArgumentCaptor<FeeRollupDto> saved = ArgumentCaptor.forClass(FeeRollupDto.class);
+        verify(feeRollupStore, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(FeeRollupDto::getDate)
+                .containsExactly(endDate.minusDays(1), endDate);
+        // Los tres días más antiguos se consultan en línea, en un solo rango.
+        verify(feeCollectionEngine).stream(
+                any(), eq(startDate), eq(startDate.plusDays(2)), any());
+        assertThat(summary.getLiveDays()).isEqualTo(5);
+        assertThat(summary.getRolledUpDays()).isZero();
+    }
+
+    @Test
+    void doesNotStoreDaysWithinTheSettlementLag() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        streamFees();
+
+        BankFeeSummaryDto summary = service.getBankFeesSummary(yesterday, yesterday);
+
+        verify(feeRollupStore, never()).find(any());
+        verify(feeRollupStore, never()).save(any());
+        verify(feeCollectionEngine).stream(any(), eq(yesterday), eq(yesterday), any());
+        assertThat(summary.getLiveDays()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduledRollupStartsBeforeTheSettlementLag() {
+        properties.setBackfillDays(2);
+        final LocalDate lastClosedDay = LocalDate.now().minusDays(2);
+        streamFees();
+
+        service.rollUpClosedDays();
+
+        ArgumentCaptor<FeeRollupDto> saved = ArgumentCaptor.forClass(FeeRollupDto.class);
+        verify(feeRollupStore, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(FeeRollupDto::getDate)
+                .containsExactly(lastClosedDay.minusDays(1), lastClosedDay);
+    }
+
+    @Test
+    void disabledRollupsAreNeitherScheduledNorStored() {
+        properties.setEnabled(false);
+        LocalDate day = LocalDate.now().minusDays(3);
+        streamFees();
+
+        service.rollUpClosedDays();
+        BankFeeSummaryDto summary = service.getBankFeesSummary(day, day);
+
+        verify(feeRollupStore, never()).save(any());
+        verify(feeCollectionEngine).stream(any(), eq(day), eq(day), any());
+        assertThat(summary.getLiveDays()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamFees(AccountFeeDto... accountFees) {
+        doAnswer(invocation -> {
+            Consumer<AccountFeeDto> sink = invocation.getArgument(3);
+            List.of(accountFees).forEach(sink);
+            return null;
+        }).when(feeCollectionEngine).stream(any(), any(), any(), any(Consumer.class));
+    }
+
+    private static FeeDetailDto fee(LocalDate date, String amount) {
+        return new FeeDetailDto().date(date).feeAmount(new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,222 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bm_nttdata.report_ms.aggregation.AggregationKernel;
+import com.bm_nttdata.report_ms.client.AccountClient;
+import com.bm_nttdata.report_ms.client.ActiveAccountSource;
+import com.bm_nttdata.report_ms.client.CreditClient;
+import com.bm_nttdata.report_ms.client.CustomerClient;
+import com.bm_nttdata.report_ms.client.ProductDataGateway;
+import com.bm_nttdata.report_ms.client.cache.DailyBalanceCache;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveAccountClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCreditClient;
+import com.bm_nttdata.report_ms.client.reactive.ReactiveCustomerClient;
+import com.bm_nttdata.report_ms.concurrent.FanOutExecutor;
+import com.bm_nttdata.report_ms.config.AggregationProperties;
+import com.bm_nttdata.report_ms.config.CoalescingProperties;
+import com.bm_nttdata.report_ms.config.DeadlineProperties;
+import com.bm_nttdata.report_ms.config.FanOutProperties;
+import com.bm_nttdata.report_ms.dto.AccountDto;
+import com.bm_nttdata.report_ms.dto.CreditCardDto;
+import com.bm_nttdata.report_ms.dto.CreditDto;
+import com.bm_nttdata.report_ms.dto.CustomerDto;
+import com.bm_nttdata.report_ms.dto.DailyBalanceSeries;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.metrics.ReportMetrics;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import com.bm_nttdata.report_ms.model.ReportView;
+import com.bm_nttdata.report_ms.store.BalanceSnapshotStore;
+import com.bm_nttdata.report_ms.store.BankFeeSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Mono;
+
+/**
+ * Comprueba que el modo reactivo genera el mismo reporte de saldos diarios que el modo
+ * bloqueante a partir de los mismos datos de los microservicios.
+ */
+class ReactiveReportAssemblerTest {
+
+    private static final String CLIENT = "c1";
+    private static final LocalDate MONTH = LocalDate.of(2024, 1, 1);
+    private static final Set<ReportSection> ALL = EnumSet.allOf(ReportSection.class);
+
+    private static final CustomerDto CUSTOMER =
+            CustomerDto.builder().id(CLIENT).name("Ana").customerType("PERSONAL").build();
+    private static final List<AccountDto> ACCOUNTS = List.of(
+            account("s1", "SAVINGS"), account("k1", "CHECKING"), account("l1", "LOAN"),
+            account("s2", "SAVINGS"), account("v1", "SAVINGS_VIP"),
+            account("p1", "CHECKING_PYME"));
+    private static final List<CreditDto> CREDITS = List.of(
+            CreditDto.builder().id("cr1").customerId(CLIENT).creditType("PERSONAL").build(),
+            CreditDto.builder().id("cr2").customerId(CLIENT).creditType("PERSONAL").build());
+    private static final List<CreditCardDto> CREDIT_CARDS = List.of(
+            CreditCardDto.builder().id("cc1").customerId(CLIENT).cardType("PERSONAL").build());
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final CustomerClient customerClient = mock(CustomerClient.class);
+    private final AccountClient accountClient = mock(AccountClient.class);
+    private final CreditClient creditClient = mock(CreditClient.class);
+    private final ProductDataGateway productDataGateway = mock(ProductDataGateway.class);
+    private final ReactiveCustomerClient reactiveCustomerClient =
+            mock(ReactiveCustomerClient.class);
+    private final ReactiveAccountClient reactiveAccountClient = mock(ReactiveAccountClient.class);
+    private final ReactiveCreditClient reactiveCreditClient = mock(ReactiveCreditClient.class);
+    private final ReportMetrics reportMetrics = new ReportMetrics(new SimpleMeterRegistry());
+    private final BalanceReportMapper balanceReportMapper = new BalanceReportMapper(
+            new AggregationKernel(new AggregationProperties()), reportMetrics);
+
+    private ReportServiceImpl blocking;
+    private ReportServiceImpl reactive;
+
+    @BeforeEach
+    void setUp() {
+        when(customerClient.getCustomerById(CLIENT)).thenReturn(CUSTOMER);
+        when(accountClient.getCustomerAccounts(CLIENT)).thenReturn(ACCOUNTS);
+        when(creditClient.getCustomerCredits(CLIENT)).thenReturn(CREDITS);
+        when(creditClient.getCustomerCreditCards(CLIENT)).thenReturn(CREDIT_CARDS);
+        when(productDataGateway.getAccountDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> dailyBalances(invocation.getArgument(0)));
+        when(productDataGateway.getCreditDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> dailyBalances(invocation.getArgument(0)));
+        when(productDataGateway.getCreditCardDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> dailyBalances(invocation.getArgument(0)));
+
+        when(reactiveCustomerClient.getCustomerById(CLIENT)).thenReturn(Mono.just(CUSTOMER));
+        when(reactiveAccountClient.getCustomerAccounts(CLIENT)).thenReturn(Mono.just(ACCOUNTS));
+        when(reactiveCreditClient.getCustomerCredits(CLIENT)).thenReturn(Mono.just(CREDITS));
+        when(reactiveCreditClient.getCustomerCreditCards(CLIENT))
+                .thenReturn(Mono.just(CREDIT_CARDS));
+        when(reactiveAccountClient.getAllDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> Mono.just(dailyBalances(invocation.getArgument(0))));
+        when(reactiveCreditClient.getAllCreditDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> Mono.just(dailyBalances(invocation.getArgument(0))));
+        when(reactiveCreditClient.getAllCreditCardDailyBalances(anyString(), any()))
+                .thenAnswer(invocation -> Mono.just(dailyBalances(invocation.getArgument(0))));
+
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        blocking = reportService(null);
+        reactive = reportService(new ReactiveReportAssembler(reactiveCustomerClient,
+                reactiveAccountClient, reactiveCreditClient, mock(DailyBalanceCache.class),
+                balanceReportMapper, fanOutProperties, reportMetrics));
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void fullReportMatchesBlockingMode() {
+        DailyBalanceReportDto expected = blocking.generateDailyBalanceReport(
+                CLIENT, MONTH, ALL, false, ReportView.FULL);
+
+        DailyBalanceReportDto actual = reactive.generateDailyBalanceReport(
+                CLIENT, MONTH, ALL, false, ReportView.FULL);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.getAccounts().getSavings()).hasSize(2);
+        assertThat(expected.getAccounts().getSavings().get(0).getDailyBalances()).hasSize(3);
+        assertThat(expected.getCredits().getCredits()).hasSize(2);
+        assertThat(expected.getSections()).extracting(ReportSectionStatusDto::getStatus)
+                .containsOnly(ReportSectionStatusDto.StatusEnum.COMPLETE);
+    }
+
+    @Test
+    void summaryOfRequestedSectionsMatchesBlockingMode() {
+        Set<ReportSection> sections = EnumSet.of(ReportSection.CUSTOMER, ReportSection.CREDITS);
+
+        DailyBalanceReportDto expected = blocking.generateDailyBalanceReport(
+                CLIENT, MONTH, sections, false, ReportView.SUMMARY);
+        DailyBalanceReportDto actual = reactive.generateDailyBalanceReport(
+                CLIENT, MONTH, sections, false, ReportView.SUMMARY);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.getAccounts()).isNull();
+        assertThat(expected.getCredits().getCredits().get(0).getDailyBalances()).isNull();
+        assertThat(expected.getCredits().getCredits().get(0).getAverageDailyBalance())
+                .isNotNull();
+    }
+
+    @Test
+    void partialReportWithFailedSectionMatchesBlockingMode() {
+        when(creditClient.getCustomerCredits(CLIENT))
+                .thenThrow(new ServiceException("Credit service unavailable"));
+        when(reactiveCreditClient.getCustomerCredits(CLIENT))
+                .thenReturn(Mono.error(new ServiceException("Credit service unavailable")));
+
+        DailyBalanceReportDto expected = blocking.generateDailyBalanceReport(
+                CLIENT, MONTH, ALL, true, ReportView.FULL);
+        DailyBalanceReportDto actual = reactive.generateDailyBalanceReport(
+                CLIENT, MONTH, ALL, true, ReportView.FULL);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.getSections())
+                .filteredOn(section -> section.getSection() == ReportSection.CREDITS)
+                .extracting(ReportSectionStatusDto::getStatus)
+                .containsExactly(ReportSectionStatusDto.StatusEnum.FAILED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReportServiceImpl reportService(ReactiveReportAssembler assembler) {
+        ObjectProvider<ReactiveReportAssembler> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(assembler);
+        CoalescingProperties coalescingProperties = new CoalescingProperties();
+        coalescingProperties.setEnabled(false);
+        AggregationKernel aggregationKernel = new AggregationKernel(new AggregationProperties());
+        return new ReportServiceImpl(
+                customerClient,
+                accountClient,
+                creditClient,
+                productDataGateway,
+                mock(ActiveAccountSource.class),
+                new FanOutExecutor(pool, new FanOutProperties()),
+                mock(FeeCollectionEngine.class),
+                new ReportRequestCoalescer(coalescingProperties, new SimpleMeterRegistry()),
+                aggregationKernel,
+                balanceReportMapper,
+                mock(BalanceSnapshotStore.class),
+                mock(BankFeeSnapshotStore.class),
+                provider,
+                reportMetrics,
+                new DeadlineProperties());
+    }
+
+    /**
+     * Saldos diarios fijos de un producto, distintos para cada producto.
+     */
+    private static DailyBalanceSeries dailyBalances(String productId) {
+        List<DailyBalanceDto> dailyBalances = new ArrayList<>();
+        BigDecimal base = new BigDecimal(Math.abs(productId.hashCode() % 1000));
+        for (int day = 0; day < 3; day++) {
+            dailyBalances.add(new DailyBalanceDto()
+                    .balanceDate(MONTH.plusDays(day))
+                    .balanceAmount(base.add(new BigDecimal("10.15").multiply(
+                            BigDecimal.valueOf(day)))));
+        }
+        return DailyBalanceSeries.of(dailyBalances);
+    }
+
+    private static AccountDto account(String id, String accountType) {
+        return AccountDto.builder().id(id).customerId(CLIENT).accountType(accountType).build();
+    }
+}
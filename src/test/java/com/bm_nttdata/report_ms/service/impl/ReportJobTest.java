@@ -0,0 +1,29 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.model.ReportJobDto;
+import org.junit.jupiter.api.Test;
+
+class ReportJobTest {
+
+    @Test
+    void progressDoesNotOverflowOnLargeReports() {
+        ReportJob job = new ReportJob("job-1", ReportJobDto.ReportTypeEnum.BANK_FEES);
+
+        job.updateProgress(30_000_000, 40_000_000);
+
+        assertThat(job.toDto().getProgress()).isEqualTo(75);
+    }
+
+    @Test
+    void progressStaysBelowCompleteUntilJobFinishes() {
+        ReportJob job = new ReportJob("job-1", ReportJobDto.ReportTypeEnum.BANK_FEES);
+
+        job.updateProgress(10, 10);
+        assertThat(job.toDto().getProgress()).isEqualTo(99);
+
+        job.complete();
+        assertThat(job.toDto().getProgress()).isEqualTo(100);
+    }
+}
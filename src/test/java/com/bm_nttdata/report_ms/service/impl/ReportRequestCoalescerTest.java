@@ -0,0 +1,133 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.config.CoalescingProperties;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReportRequestCoalescerTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2024, 1, 1);
+    private static final Set<ReportSection> ALL = EnumSet.allOf(ReportSection.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger generated = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalRequestsShareOneReport() throws Exception {
+        ReportRequestCoalescer coalescer = coalescer(true);
+        DailyBalanceReportDto report = new DailyBalanceReportDto().customerId("c1");
+
+        final CompletableFuture<DailyBalanceReportDto> leader = CompletableFuture.supplyAsync(
+                () -> coalescer.balanceReport("c1", MONTH, ALL, false, ReportView.FULL, () -> {
+                    generated.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return report;
+                }), executor);
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<DailyBalanceReportDto> waiter = CompletableFuture.supplyAsync(
+                () -> coalescer.balanceReport("c1", MONTH, ALL, false, ReportView.FULL,
+                        this::generate), executor);
+        awaitShared();
+        // Una proyección distinta es otro reporte y no se comparte.
+        final DailyBalanceReportDto summary = coalescer.balanceReport(
+                "c1", MONTH, ALL, false, ReportView.SUMMARY, this::generate);
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isSameAs(report);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isSameAs(report);
+        assertThat(summary).isNotSameAs(report);
+        assertThat(generated).hasValue(2);
+    }
+
+    @Test
+    void requestsForAnyDayOfTheSameMonthShareOneReport() throws Exception {
+        ReportRequestCoalescer coalescer = coalescer(true);
+        DailyBalanceReportDto report = new DailyBalanceReportDto().customerId("c1");
+
+        final CompletableFuture<DailyBalanceReportDto> leader = CompletableFuture.supplyAsync(
+                () -> coalescer.balanceReport("c1", MONTH, ALL, false, ReportView.FULL, () -> {
+                    generated.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return report;
+                }), executor);
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<DailyBalanceReportDto> waiter = CompletableFuture.supplyAsync(
+                () -> coalescer.balanceReport("c1", MONTH.withDayOfMonth(15), ALL, false,
+                        ReportView.FULL, this::generate), executor);
+        awaitShared();
+        // El mes siguiente es otro reporte y no se comparte.
+        final DailyBalanceReportDto nextMonth = coalescer.balanceReport(
+                "c1", MONTH.plusMonths(1), ALL, false, ReportView.FULL, this::generate);
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isSameAs(report);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isSameAs(report);
+        assertThat(nextMonth).isNotSameAs(report);
+        assertThat(generated).hasValue(2);
+    }
+
+    @Test
+    void disabledCoalescingGeneratesEveryRequest() {
+        ReportRequestCoalescer coalescer = coalescer(false);
+
+        coalescer.balanceReport("c1", MONTH, ALL, false, ReportView.FULL, this::generate);
+        coalescer.balanceReport("c1", MONTH, ALL, false, ReportView.FULL, this::generate);
+
+        assertThat(generated).hasValue(2);
+    }
+
+    private DailyBalanceReportDto generate() {
+        generated.incrementAndGet();
+        return new DailyBalanceReportDto();
+    }
+
+    private ReportRequestCoalescer coalescer(boolean enabled) {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setEnabled(enabled);
+        return new ReportRequestCoalescer(properties, meterRegistry);
+    }
+
+    private void awaitShared() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("report.single.flight.requests")
+                .tag("name", "balanceReport").tag("outcome", "shared").counter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bm_nttdata.report_ms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bm_nttdata.report_ms.concurrent.Deadline;
+import com.bm_nttdata.report_ms.exception.DeadlineExceededException;
+import com.bm_nttdata.report_ms.exception.ServiceException;
+import com.bm_nttdata.report_ms.model.ReportSection;
+import com.bm_nttdata.report_ms.model.ReportSectionStatusDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class ReportSectionsTest {
+
+    @Test
+    void failingSectionIsMarkedFailedWhileTheOthersAreReturned() {
+        ReportSections sections = new ReportSections(
+                EnumSet.of(ReportSection.ACCOUNTS, ReportSection.CREDITS), true);
+
+        String accounts = sections.await(ReportSection.ACCOUNTS,
+                CompletableFuture.completedFuture("accounts"));
+        String credits = sections.await(ReportSection.CREDITS,
+                CompletableFuture.failedFuture(new ServiceException("credit-ms down")));
+        sections.requireAnyComplete();
+
+        assertThat(accounts).isEqualTo("accounts");
+        assertThat(credits).isNull();
+        assertThat(status(sections, ReportSection.ACCOUNTS).getStatus())
+                .isEqualTo(ReportSectionStatusDto.StatusEnum.COMPLETE);
+        ReportSectionStatusDto failed = status(sections, ReportSection.CREDITS);
+        assertThat(failed.getStatus()).isEqualTo(ReportSectionStatusDto.StatusEnum.FAILED);
+        assertThat(failed.getError()).isEqualTo("credit-ms down");
+    }
+
+    @Test
+    void sectionsNotRequestedAreNeitherLoadedNorReported() {
+        ReportSections sections = new ReportSections(EnumSet.of(ReportSection.CUSTOMER), true);
+        AtomicBoolean loaded = new AtomicBoolean();
+
+        CompletableFuture<String> accounts = sections.start(ReportSection.ACCOUNTS, () -> {
+            loaded.set(true);
+            return CompletableFuture.completedFuture("accounts");
+        });
+        sections.await(ReportSection.CUSTOMER, CompletableFuture.completedFuture("customer"));
+
+        assertThat(loaded).isFalse();
+        assertThat(sections.await(ReportSection.ACCOUNTS, accounts)).isNull();
+        assertThat(sections.statuses()).extracting(ReportSectionStatusDto::getStatus)
+                .containsExactly(
+                        ReportSectionStatusDto.StatusEnum.COMPLETE,
+                        ReportSectionStatusDto.StatusEnum.NOT_REQUESTED,
+                        ReportSectionStatusDto.StatusEnum.NOT_REQUESTED,
+                        ReportSectionStatusDto.StatusEnum.NOT_REQUESTED);
+    }
+
+    @Test
+    void failureOutsidePartialModeIsPropagated() {
+        ReportSections sections = new ReportSections(EnumSet.of(ReportSection.CREDITS), false);
+        ServiceException failure = new ServiceException("credit-ms down");
+
+        assertThatThrownBy(() -> sections.await(ReportSection.CREDITS,
+                CompletableFuture.failedFuture(failure))).isSameAs(failure);
+    }
+
+    @Test
+    void everySectionFailingRaisesServiceError() {
+        ReportSections sections = new ReportSections(
+                EnumSet.of(ReportSection.ACCOUNTS, ReportSection.CREDITS), true);
+
+        sections.await(ReportSection.ACCOUNTS,
+                CompletableFuture.failedFuture(new ServiceException("account-ms down")));
+        sections.await(ReportSection.CREDITS,
+                CompletableFuture.failedFuture(new ServiceException("credit-ms down")));
+
+        assertThatThrownBy(sections::requireAnyComplete)
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("credit-ms down");
+    }
+
+    @Test
+    void everySectionTimingOutRaisesDeadlineError() {
+        ReportSections sections = new ReportSections(EnumSet.of(ReportSection.ACCOUNTS), true);
+
+        sections.await(ReportSection.ACCOUNTS, CompletableFuture.failedFuture(
+                new DeadlineExceededException("Request deadline exceeded")));
+
+        assertThat(status(sections, ReportSection.ACCOUNTS).getError())
+                .isEqualTo("Request deadline exceeded");
+        assertThatThrownBy(sections::requireAnyComplete)
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    void bulkheadRejectionFailsTheSection() {
+        ReportSections sections = new ReportSections(
+                EnumSet.of(ReportSection.CUSTOMER, ReportSection.CREDIT_CARDS), true);
+        BulkheadFullException rejection = BulkheadFullException.createBulkheadFullException(
+                Bulkhead.ofDefaults("credit-ms"));
+
+        Optional<String> customer = sections.<String>collect(
+                ReportSection.CUSTOMER, () -> Mono.just("customer")).block();
+        Optional<String> cards = sections.<String>collect(
+                ReportSection.CREDIT_CARDS, () -> Mono.error(rejection)).block();
+        sections.requireAnyComplete();
+
+        assertThat(customer).contains("customer");
+        assertThat(cards).isEmpty();
+        ReportSectionStatusDto failed = status(sections, ReportSection.CREDIT_CARDS);
+        assertThat(failed.getStatus()).isEqualTo(ReportSectionStatusDto.StatusEnum.FAILED);
+        assertThat(failed.getError()).contains("credit-ms");
+    }
+
+    @Test
+    void expiredDeadlineFailsTheSectionWithoutLoadingIt() {
+        AtomicBoolean loaded = new AtomicBoolean();
+        ReportSections sections;
+        try (Deadline.Binding ignored = Deadline.after(Duration.ofNanos(-1)).bind()) {
+            sections = new ReportSections(EnumSet.of(ReportSection.CREDITS), true);
+        }
+
+        Optional<String> credits = sections.<String>collect(ReportSection.CREDITS, () -> {
+            loaded.set(true);
+            return Mono.just("credits");
+        }).block();
+
+        assertThat(loaded).isFalse();
+        assertThat(credits).isEmpty();
+        assertThat(status(sections, ReportSection.CREDITS).getError())
+                .isEqualTo("Request deadline exceeded");
+        assertThatThrownBy(sections::requireAnyComplete)
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private static ReportSectionStatusDto status(
+            ReportSections sections, ReportSection section) {
+        return sections.statuses().stream()
+                .filter(status -> status.getSection() == section)
+                .findFirst()
+                .orElseThrow();
+    }
+}
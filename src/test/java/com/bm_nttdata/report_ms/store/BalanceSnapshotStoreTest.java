@@ -0,0 +1,107 @@
+package com.bm_nttdata.report_ms.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.config.BalanceSnapshotProperties;
+import com.bm_nttdata.report_ms.model.AccountBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDto;
+import com.bm_nttdata.report_ms.model.DailyBalanceReportDtoAccounts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BalanceSnapshotStoreTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+
+    @TempDir
+    Path directory;
+
+    private final BalanceSnapshotProperties properties = new BalanceSnapshotProperties();
+    private BalanceSnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        store = newStore();
+    }
+
+    @Test
+    void committedReportsAreFoundAfterRestart() throws IOException {
+        try (BalanceSnapshotStore.SegmentWriter segment = store.openSegment(MONTH)) {
+            segment.append("c1", report("c1", "150.25"));
+            segment.append("c2", report("c2", "10.00"));
+            segment.commit();
+        }
+
+        BalanceSnapshotStore restarted = newStore();
+
+        DailyBalanceReportDto found =
+                restarted.find("c1", MONTH.atDay(15)).orElseThrow();
+        assertThat(found.getCustomerId()).isEqualTo("c1");
+        AccountBalanceDto savings = found.getAccounts().getSavings().get(0);
+        assertThat(savings.getAverageBalance()).isEqualByComparingTo("150.25");
+        assertThat(savings.getDailyBalances()).hasSize(1);
+        assertThat(restarted.contains("c2", MONTH)).isTrue();
+        assertThat(restarted.find("c3", MONTH.atDay(1))).isEmpty();
+        assertThat(restarted.find("c1", MONTH.plusMonths(1).atDay(1))).isEmpty();
+    }
+
+    @Test
+    void uncommittedSegmentIsNotVisible() throws IOException {
+        try (BalanceSnapshotStore.SegmentWriter segment = store.openSegment(MONTH)) {
+            segment.append("c1", report("c1", "1.00"));
+        }
+
+        assertThat(store.find("c1", MONTH.atDay(1))).isEmpty();
+        assertThat(newStore().contains("c1", MONTH)).isFalse();
+    }
+
+    @Test
+    void monthsBeforeTheOldestRetainedAreEvicted() throws IOException {
+        for (YearMonth month : List.of(MONTH.minusMonths(1), MONTH, MONTH.plusMonths(1))) {
+            try (BalanceSnapshotStore.SegmentWriter segment = store.openSegment(month)) {
+                segment.append("c1", report("c1", "1.00"));
+                segment.commit();
+            }
+        }
+
+        store.evictBefore(MONTH);
+
+        assertThat(store.contains("c1", MONTH.minusMonths(1))).isFalse();
+        assertThat(store.contains("c1", MONTH)).isTrue();
+        assertThat(store.contains("c1", MONTH.plusMonths(1))).isTrue();
+        assertThat(Files.exists(directory.resolve(MONTH.minusMonths(1).toString()))).isFalse();
+    }
+
+    private BalanceSnapshotStore newStore() throws IOException {
+        BalanceSnapshotStore snapshotStore =
+                new BalanceSnapshotStore(new ObjectMapper().findAndRegisterModules(), properties);
+        snapshotStore.init();
+        return snapshotStore;
+    }
+
+    static DailyBalanceReportDto report(String customerId, String average) {
+        DailyBalanceReportDtoAccounts accounts = new DailyBalanceReportDtoAccounts();
+        accounts.setSavings(List.of(new AccountBalanceDto()
+                .accountId(customerId + "-a1")
+                .accountType(AccountBalanceDto.AccountTypeEnum.SAVINGS)
+                .dailyBalances(List.of(new DailyBalanceDto()
+                        .balanceDate(MONTH.atDay(1))
+                        .balanceAmount(new BigDecimal(average))))
+                .averageBalance(new BigDecimal(average))));
+        return new DailyBalanceReportDto()
+                .customerId(customerId)
+                .month(MONTH.atDay(1))
+                .accounts(accounts);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bm_nttdata.report_ms.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bm_nttdata.report_ms.config.BankFeeSnapshotProperties;
+import com.bm_nttdata.report_ms.config.SettlementProperties;
+import com.bm_nttdata.report_ms.model.AccountFeeDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDto;
+import com.bm_nttdata.report_ms.model.BankFeeReportDtoAccountFees;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BankFeeSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private BankFeeSnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        BankFeeSnapshotProperties properties = new BankFeeSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        SettlementProperties settlementProperties = new SettlementProperties();
+        settlementProperties.setDays(1);
+        store = new BankFeeSnapshotStore(new ObjectMapper().findAndRegisterModules(),
+                properties, new SettlementCalendar(settlementProperties));
+        store.init();
+    }
+
+    @Test
+    void periodIsClosedOnlyAfterSettlementDays() {
+        LocalDate today = LocalDate.now();
+
+        assertThat(store.isClosed(today)).isFalse();
+        assertThat(store.isClosed(today.minusDays(1))).isFalse();
+        assertThat(store.isClosed(today.minusDays(2))).isTrue();
+    }
+
+    @Test
+    void settledPeriodIsSavedAndRead() {
+        LocalDate endDate = LocalDate.now().minusDays(2);
+        LocalDate startDate = endDate.minusDays(6);
+
+        store.save(report(startDate, endDate));
+
+        BankFeeReportDto saved = store.find(startDate, endDate).orElseThrow();
+        assertThat(saved.getTotalFeesAmount()).isEqualByComparingTo("1.50");
+        assertThat(saved.getAccountFees().getSavings())
+                .extracting(AccountFeeDto::getAccountId).containsExactly("a1");
+    }
+
+    @Test
+    void periodStillSettlingIsNotSaved() {
+        LocalDate endDate = LocalDate.now().minusDays(1);
+        LocalDate startDate = endDate.minusDays(6);
+
+        store.save(report(startDate, endDate));
+
+        assertThat(store.find(startDate, endDate)).isEmpty();
+        assertThat(store.stream(startDate, endDate, accountFee -> { })).isEmpty();
+    }
+
+    private static BankFeeReportDto report(LocalDate startDate, LocalDate endDate) {
+        BankFeeReportDtoAccountFees accountFees = new BankFeeReportDtoAccountFees();
+        accountFees.setSavings(new ArrayList<>(List.of(new AccountFeeDto()
+                .accountId("a1")
+                .accountType(AccountFeeDto.AccountTypeEnum.SAVINGS))));
+        accountFees.setChecking(new ArrayList<>());
+        accountFees.setFixedTerm(new ArrayList<>());
+        accountFees.setSavingsVip(new ArrayList<>());
+        accountFees.setCheckingPyme(new ArrayList<>());
+        return new BankFeeReportDto()
+                .startDate(startDate)
+                .endDate(endDate)
+                .accountFees(accountFees)
+                .totalFeesAmount(new BigDecimal("1.50"))
+                .totalFeesNumber(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.bm_nttdata.report_ms.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void committedEntriesCanBeReadBack() throws IOException {
+        Path path = directory.resolve("2024-01.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("summary", bytes("totals"));
+            writer.append("cuenta-ñ", bytes("fees of account ñ"));
+            writer.append("empty", new byte[0]);
+            assertThat(writer.size()).isEqualTo(3);
+            writer.commit();
+        }
+
+        SnapshotSegment segment = SnapshotSegment.open(path);
+
+        assertThat(segment.path()).isEqualTo(path);
+        assertThat(segment.keys()).containsExactly("summary", "cuenta-ñ", "empty");
+        assertThat(text(segment.slice("summary").orElseThrow())).isEqualTo("totals");
+        assertThat(text(segment.slice("cuenta-ñ").orElseThrow()))
+                .isEqualTo("fees of account ñ");
+        assertThat(segment.slice("empty").orElseThrow().remaining()).isZero();
+        assertThat(segment.slice("missing")).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).noneMatch(SnapshotSegment::isTemporary);
+        }
+    }
+
+    @Test
+    void slicesAreIndependent() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("first"));
+            writer.commit();
+        }
+        SnapshotSegment segment = SnapshotSegment.open(path);
+
+        ByteBuffer first = segment.slice("a").orElseThrow();
+        first.get(new byte[2]);
+
+        assertThat(text(segment.slice("a").orElseThrow())).isEqualTo("first");
+    }
+
+    @Test
+    void uncommittedWriteIsDiscarded() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("value"));
+        }
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void failedPublishDeletesTheTemporaryFile() throws IOException {
+        // Un directorio no vacío en la ruta final impide el renombrado.
+        Path path = directory.resolve("segment.seg");
+        Files.createDirectories(path.resolve("occupied"));
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("value"));
+
+            assertThatThrownBy(writer::commit).isInstanceOf(IOException.class);
+            try (var files = Files.list(directory)) {
+                assertThat(files).noneMatch(SnapshotSegment::isTemporary);
+            }
+            assertThatThrownBy(writer::commit).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void duplicateKeysAreRejected() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("first"));
+
+            assertThatThrownBy(() -> writer.append("a", bytes("second")))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Duplicate");
+            assertThat(writer.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void corruptFooterIsRejected() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("value"));
+            writer.commit();
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 0xCAFEBABE),
+                    size - Integer.BYTES);
+        }
+
+        assertThatThrownBy(() -> SnapshotSegment.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("footer");
+    }
+
+    @Test
+    void indexPointingPastDataIsRejected() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        try (SnapshotSegment.Writer writer = SnapshotSegment.create(path)) {
+            writer.append("a", bytes("value"));
+            writer.commit();
+        }
+        // El índice empieza tras los 5 bytes de la entrada: longitud de la clave, clave,
+        // posición y tamaño. Se agranda el tamaño de la entrada.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 1000),
+                    5 + Short.BYTES + 1 + Long.BYTES);
+        }
+
+        assertThatThrownBy(() -> SnapshotSegment.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("entry");
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path path = directory.resolve("segment.seg");
+        Files.write(path, new byte[] {1, 2, 3});
+
+        assertThatThrownBy(() -> SnapshotSegment.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("size");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}